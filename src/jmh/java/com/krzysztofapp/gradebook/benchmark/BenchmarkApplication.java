@@ -0,0 +1,36 @@
+package com.krzysztofapp.gradebook.benchmark;
+
+import com.krzysztofapp.gradebook.SpringBootGradebookApp;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts the gradebook without the web layer against an in-memory H2, so every benchmark fork gets a fresh schema.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(Map<String, Object> properties) {
+
+        Map<String, Object> benchmarkProperties = new HashMap<>();
+        benchmarkProperties.put("spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        benchmarkProperties.put("spring.h2.console.enabled", "false");
+        benchmarkProperties.put("spring.jpa.properties.hibernate.show_sql", "false");
+        benchmarkProperties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        benchmarkProperties.put("spring.jpa.properties.hibernate.use_sql_comments", "false");
+        benchmarkProperties.put("logging.level.root", "WARN");
+        benchmarkProperties.putAll(properties);
+
+        return new SpringApplicationBuilder(SpringBootGradebookApp.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(benchmarkProperties)
+                .run();
+    }
+}
@@ -0,0 +1,181 @@
+package com.krzysztofapp.gradebook.benchmark;
+
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectType;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Insert throughput (rows/s) of the three high volume entities.
+ *
+ * idIncrementSize=1 with jdbcBatchSize=1 sends one INSERT round trip per row, like the old IDENTITY mapping did;
+ * idIncrementSize=50 with jdbcBatchSize=50 is the pooled sequence setup used by the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityInsertBenchmark {
+
+    private static final int ROWS_PER_TRANSACTION = 100;
+
+    @Param({"1", "50"})
+    public String idIncrementSize;
+
+    @Param({"1", "50"})
+    public String jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long teacherId;
+
+    private Long classYearId;
+
+    private Long subjectId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+
+        this.context = BenchmarkApplication.start(Map.of(
+                "spring.jpa.properties.gradebook.id.increment_size", this.idIncrementSize,
+                "spring.jpa.properties.hibernate.jdbc.batch_size", this.jdbcBatchSize));
+        this.entityManagerFactory = this.context.getBean(EntityManagerFactory.class);
+
+        inTransaction(em -> {
+            TeacherEntity teacher = new TeacherEntity();
+            teacher.setFirstName("Jan");
+            teacher.setLastName("Kowalski");
+            em.persist(teacher);
+
+            ClassYearEntity classYear = new ClassYearEntity();
+            classYear.setClassLevel(1);
+            classYear.setClassName("A");
+            classYear.setClassYear("2022");
+            em.persist(classYear);
+
+            SubjectEntity subject = newSubject(classYear, teacher);
+            em.persist(subject);
+
+            em.flush();
+            this.teacherId = teacher.getId();
+            this.classYearId = classYear.getId();
+            this.subjectId = subject.getId();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        this.context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void insertGrades() {
+
+        inTransaction(em -> {
+            TeacherEntity teacher = em.getReference(TeacherEntity.class, this.teacherId);
+            StudentEntity student = newStudent(em.getReference(ClassYearEntity.class, this.classYearId));
+            em.persist(student);
+            SubjectEntity subject = em.getReference(SubjectEntity.class, this.subjectId);
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                GradeEntity grade = new GradeEntity();
+                grade.setTeacherEntity(teacher);
+                grade.setStudentEntity(student);
+                grade.setSubjectEntity(subject);
+                grade.setValue(i % 6 + 1);
+                grade.setWeight(BigDecimal.valueOf(i % 9 + 1));
+                grade.setGradeType(GradeType.values()[i % GradeType.values().length]);
+                grade.setComment("Benchmark grade");
+                grade.setDateOfGrade(LocalDate.of(2022, 9, 1).plusDays(i));
+                em.persist(grade);
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void insertStudents() {
+
+        inTransaction(em -> {
+            ClassYearEntity classYear = em.getReference(ClassYearEntity.class, this.classYearId);
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                em.persist(newStudent(classYear));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void insertSubjects() {
+
+        inTransaction(em -> {
+            ClassYearEntity classYear = em.getReference(ClassYearEntity.class, this.classYearId);
+            TeacherEntity teacher = em.getReference(TeacherEntity.class, this.teacherId);
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                em.persist(newSubject(classYear, teacher));
+            }
+        });
+    }
+
+    private StudentEntity newStudent(ClassYearEntity classYear) {
+
+        StudentEntity student = new StudentEntity();
+        student.setFirstName("Kamil");
+        student.setLastName("Komar");
+        student.setAge(10);
+        student.setClassYearEntity(classYear);
+        return student;
+    }
+
+    private SubjectEntity newSubject(ClassYearEntity classYear, TeacherEntity teacher) {
+
+        SubjectEntity subject = new SubjectEntity();
+        subject.setSubjectType(SubjectType.MATHEMATICS);
+        subject.setName("MATHEMATICS_1A");
+        subject.setClassYear(classYear);
+        subject.setTeacherEntity(teacher);
+        return subject;
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+
+        EntityManager em = this.entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            work.accept(em);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+}
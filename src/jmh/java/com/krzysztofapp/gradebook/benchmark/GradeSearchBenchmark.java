@@ -0,0 +1,215 @@
+package com.krzysztofapp.gradebook.benchmark;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectType;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency (us/op) of one grade search over 500 grades, allocation per search comes from the gc profiler
+ * (gc.alloc.rate.norm).
+ *
+ * criteria is the former findByCriteria: a CriteriaQuery built, rendered and looked up in the plan cache on every
+ * call, with numeric values inlined as literals. template is GradeRepo.findByCriteria, which only binds the values
+ * to the JPQL cached for the filled filters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradeSearchBenchmark {
+
+    private static final int STUDENTS = 10;
+
+    private static final int DAYS = 10;
+
+    private static final List<GradeType> GRADE_TYPES = List.of(GradeType.B, GradeType.C, GradeType.D, GradeType.E, GradeType.F);
+
+    @Param({"student", "studentAndDates", "allFilters"})
+    public String filters;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager em;
+
+    private GradeRepo gradeRepo;
+
+    private GradeSearchCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+
+        this.context = BenchmarkApplication.start(Map.of());
+        EntityManagerFactory entityManagerFactory = this.context.getBean(EntityManagerFactory.class);
+        this.em = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.gradeRepo = this.context.getBean(GradeRepo.class);
+
+        EntityManager setupEm = entityManagerFactory.createEntityManager();
+        List<Long> studentIds = new ArrayList<>();
+        Long subjectId;
+        try {
+            setupEm.getTransaction().begin();
+            TeacherEntity teacher = new TeacherEntity();
+            teacher.setFirstName("Jan");
+            teacher.setLastName("Kowalski");
+            setupEm.persist(teacher);
+            ClassYearEntity classYear = new ClassYearEntity();
+            classYear.setClassLevel(1);
+            classYear.setClassName("A");
+            classYear.setClassYear("2022");
+            setupEm.persist(classYear);
+            SubjectEntity subject = new SubjectEntity();
+            subject.setSubjectType(SubjectType.MATHEMATICS);
+            subject.setName("MATHEMATICS_1A");
+            subject.setClassYear(classYear);
+            subject.setTeacherEntity(teacher);
+            setupEm.persist(subject);
+            for (int s = 0; s < STUDENTS; s++) {
+                StudentEntity student = new StudentEntity();
+                student.setFirstName("Kamil");
+                student.setLastName("Komar");
+                student.setAge(10);
+                student.setClassYearEntity(classYear);
+                setupEm.persist(student);
+                for (int day = 0; day < DAYS; day++) {
+                    for (int t = 0; t < GRADE_TYPES.size(); t++) {
+                        GradeEntity grade = new GradeEntity();
+                        grade.setTeacherEntity(teacher);
+                        grade.setStudentEntity(student);
+                        grade.setSubjectEntity(subject);
+                        grade.setValue((day + t) % 4 + 2);
+                        grade.setWeight(BigDecimal.valueOf(t + 1));
+                        grade.setGradeType(GRADE_TYPES.get(t));
+                        grade.setDateOfGrade(LocalDate.of(2022, 9, 1).plusDays(day));
+                        setupEm.persist(grade);
+                    }
+                }
+                studentIds.add(student.getId());
+            }
+            setupEm.getTransaction().commit();
+            subjectId = subject.getId();
+        } finally {
+            setupEm.close();
+        }
+
+        this.criteria = new GradeSearchCriteria();
+        this.criteria.setStudentEntityId(studentIds.get(STUDENTS / 2));
+        if (!"student".equals(this.filters)) {
+            this.criteria.setCreatedDateFrom(LocalDate.of(2022, 9, 3));
+            this.criteria.setCreatedDateTo(LocalDate.of(2022, 9, 7));
+        }
+        if ("allFilters".equals(this.filters)) {
+            this.criteria.setGradeType(GradeType.D);
+            this.criteria.setSubjectEntityId(subjectId);
+            this.criteria.setValueFrom(2);
+            this.criteria.setValueTo(5);
+            this.criteria.setWeightFrom(BigDecimal.ONE);
+            this.criteria.setWeightTo(BigDecimal.valueOf(5));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<GradeEto> criteria() {
+
+        CriteriaBuilder query = this.em.getCriteriaBuilder();
+        CriteriaQuery<GradeEto> criteriaquery = query.createQuery(GradeEto.class);
+        Root<GradeEntity> grade = criteriaquery.from(GradeEntity.class);
+        List<Predicate> predicates = createPredicates(query, grade, this.criteria);
+
+        criteriaquery.select(selectGradeEto(query, grade))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(query.asc(grade.get("id")));
+
+        return this.em.createQuery(criteriaquery).getResultList();
+    }
+
+    @Benchmark
+    public List<GradeEto> template() {
+
+        return this.gradeRepo.findByCriteria(this.criteria);
+    }
+
+    private CompoundSelection<GradeEto> selectGradeEto(CriteriaBuilder query, Root<GradeEntity> grade) {
+
+        return query.construct(GradeEto.class, grade.get("id"), grade.get("version"), grade.get("createDate"), grade.get("updateDate"),
+                grade.get("value"), grade.get("weight"), grade.get("gradeType"), grade.get("comment"), grade.get("dateOfGrade"),
+                grade.get("teacherEntity").get("id"), grade.get("subjectEntity").get("id"), grade.get("studentEntity").get("id"));
+    }
+
+    private List<Predicate> createPredicates(CriteriaBuilder query, Root<GradeEntity> grade, GradeSearchCriteria criteria) {
+
+        List<Predicate> predicates = new ArrayList<Predicate>();
+
+        if(criteria.getGradeType() != null) {
+            predicates.add(query.equal(grade.get("gradeType"), criteria.getGradeType()));
+        }
+        if(criteria.getStudentEntityId() != null) {
+            predicates.add(query.equal(grade.get("studentEntity"), criteria.getStudentEntityId()));
+        }
+        if(criteria.getSubjectEntityId() != null) {
+            predicates.add(query.equal(grade.get("subjectEntity"), criteria.getSubjectEntityId()));
+        }
+        if(criteria.getValueFrom() != null) {
+            predicates.add(query.greaterThanOrEqualTo(grade.get("value"), criteria.getValueFrom()));
+        }
+        if(criteria.getValueTo() != null) {
+            predicates.add(query.lessThanOrEqualTo(grade.get("value"), criteria.getValueTo()));
+        }
+        if(criteria.getCreatedDateFrom() != null) {
+            predicates.add(query.greaterThanOrEqualTo(grade.get("dateOfGrade"), criteria.getCreatedDateFrom()));
+        }
+        if(criteria.getCreatedDateTo() != null) {
+            predicates.add(query.lessThanOrEqualTo(grade.get("dateOfGrade"), criteria.getCreatedDateTo()));
+        }
+        if(criteria.getWeightFrom() != null) {
+            predicates.add(query.greaterThanOrEqualTo(grade.get("weight"), criteria.getWeightFrom()));
+        }
+        if(criteria.getWeightTo() != null) {
+            predicates.add(query.lessThanOrEqualTo(grade.get("weight"), criteria.getWeightTo()));
+        }
+
+        return predicates;
+    }
+}
@@ -0,0 +1,102 @@
+package com.krzysztofapp.gradebook.benchmark;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.StudentEto;
+import com.krzysztofapp.gradebook.domain.mapper.GradeMapper;
+import com.krzysztofapp.gradebook.domain.mapper.StudentMapper;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost (us/op) of mapping a list of entities to ETOs, without the database. size 25 is one class of students or a
+ * student's grades in one subject, 600 the students of a school or a class's grades in one subject over a semester.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"25", "600"})
+    public int size;
+
+    private List<GradeEntity> gradeEntities;
+
+    private List<StudentEntity> studentEntities;
+
+    @Setup
+    public void setUp() {
+
+        TeacherEntity teacher = new TeacherEntity();
+        teacher.setId(1L);
+        ClassYearEntity classYear = new ClassYearEntity();
+        classYear.setId(1L);
+        SubjectEntity subject = new SubjectEntity();
+        subject.setId(1L);
+        subject.setTeacherEntity(teacher);
+        subject.setClassYear(classYear);
+
+        this.studentEntities = new ArrayList<>(this.size);
+        for (int s = 0; s < this.size; s++) {
+            StudentEntity student = new StudentEntity();
+            student.setId(s + 1L);
+            student.setVersion(0L);
+            student.setFirstName("Kamil");
+            student.setLastName("Komar");
+            student.setAge(12);
+            student.setClassYearEntity(classYear);
+            this.studentEntities.add(student);
+        }
+
+        this.gradeEntities = new ArrayList<>(this.size);
+        for (int g = 0; g < this.size; g++) {
+            GradeEntity grade = new GradeEntity();
+            grade.setId(g + 1L);
+            grade.setVersion(0L);
+            grade.setValue(g % 6 + 1);
+            grade.setWeight(BigDecimal.valueOf(g % 3 + 1));
+            grade.setGradeType(GradeType.values()[g % GradeType.values().length]);
+            grade.setComment(g % 6 == 0 ? "Missing homework" : null);
+            grade.setDateOfGrade(LocalDate.of(2022, 9, 1).plusDays(g % 90));
+            grade.setTeacherEntity(teacher);
+            grade.setSubjectEntity(subject);
+            grade.setStudentEntity(this.studentEntities.get(g % this.size));
+            this.gradeEntities.add(grade);
+        }
+    }
+
+    @Benchmark
+    public List<GradeEto> gradeList() {
+
+        return GradeMapper.mapToETOList(this.gradeEntities);
+    }
+
+    @Benchmark
+    public List<StudentEto> studentList() {
+
+        return StudentMapper.mapToETOList(this.studentEntities);
+    }
+}
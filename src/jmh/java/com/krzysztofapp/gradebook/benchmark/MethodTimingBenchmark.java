@@ -0,0 +1,127 @@
+package com.krzysztofapp.gradebook.benchmark;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectType;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import com.krzysztofapp.gradebook.service.GradeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost (ns/op) of the method timing aspect, the same calls with gradebook.metrics.method-timing.enabled on and off.
+ *
+ * cachedWeightedAverage is one service call answered from the weighted average cache, so the aspect's share is as
+ * large as it gets. findGradeById is a service call plus a repository query against H2. Both run on 4 threads, the
+ * timers are shared the way they are under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MethodTimingBenchmark {
+
+    @Param({"true", "false"})
+    public String timing;
+
+    private ConfigurableApplicationContext context;
+
+    private GradeService gradeService;
+
+    private Long studentId;
+
+    private Long subjectId;
+
+    private Long gradeId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+
+        this.context = BenchmarkApplication.start(Map.of("gradebook.metrics.method-timing.enabled", this.timing));
+        this.gradeService = this.context.getBean(GradeService.class);
+
+        EntityManager setupEm = this.context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            setupEm.getTransaction().begin();
+            TeacherEntity teacher = new TeacherEntity();
+            teacher.setFirstName("Jan");
+            teacher.setLastName("Kowalski");
+            setupEm.persist(teacher);
+            ClassYearEntity classYear = new ClassYearEntity();
+            classYear.setClassLevel(1);
+            classYear.setClassName("A");
+            classYear.setClassYear("2022");
+            setupEm.persist(classYear);
+            SubjectEntity subject = new SubjectEntity();
+            subject.setSubjectType(SubjectType.MATHEMATICS);
+            subject.setName("MATHEMATICS_1A");
+            subject.setClassYear(classYear);
+            subject.setTeacherEntity(teacher);
+            setupEm.persist(subject);
+            StudentEntity student = new StudentEntity();
+            student.setFirstName("Kamil");
+            student.setLastName("Komar");
+            student.setAge(10);
+            student.setClassYearEntity(classYear);
+            setupEm.persist(student);
+            setupEm.getTransaction().commit();
+            this.studentId = student.getId();
+            this.subjectId = subject.getId();
+        } finally {
+            setupEm.close();
+        }
+
+        GradeEto grade = new GradeEto();
+        grade.setStudentEntityId(this.studentId);
+        grade.setSubjectEntityId(this.subjectId);
+        grade.setValue(4);
+        grade.setWeight(BigDecimal.valueOf(2));
+        grade.setGradeType(GradeType.D);
+        grade.setDateOfGrade(LocalDate.of(2022, 9, 1));
+        this.gradeId = this.gradeService.createNew(grade).getId();
+        this.gradeService.getWeightedAverage(this.studentId, this.subjectId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Double cachedWeightedAverage() {
+
+        return this.gradeService.getWeightedAverage(this.studentId, this.subjectId);
+    }
+
+    @Benchmark
+    public GradeEto findGradeById() {
+
+        return this.gradeService.findGradeById(this.gradeId);
+    }
+}
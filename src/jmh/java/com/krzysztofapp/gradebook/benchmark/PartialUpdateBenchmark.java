@@ -0,0 +1,96 @@
+package com.krzysztofapp.gradebook.benchmark;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.mapper.EntityPatcher;
+import com.krzysztofapp.gradebook.domain.mapper.GradeMapper;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost (ns/op) of applying one PATCH body to a grade, without the database.
+ *
+ * reflection is the former partialUpdate path: entity to ETO, findField/setAccessible/setField per key and the
+ * ETO mapped back into a new entity. patcher applies the same body to the entity with the precompiled setters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartialUpdateBenchmark {
+
+    private static final EntityPatcher<GradeEntity> GRADE_PATCHER = EntityPatcher.of(GradeEto.class, GradeEntity.class);
+
+    private GradeEntity grade;
+
+    private Map<String, Object> updateInfo;
+
+    @Setup
+    public void setUp() {
+
+        TeacherEntity teacher = new TeacherEntity();
+        teacher.setId(1L);
+        SubjectEntity subject = new SubjectEntity();
+        subject.setId(1L);
+        subject.setTeacherEntity(teacher);
+        StudentEntity student = new StudentEntity();
+        student.setId(1L);
+
+        this.grade = new GradeEntity();
+        this.grade.setId(1L);
+        this.grade.setVersion(0L);
+        this.grade.setValue(3);
+        this.grade.setWeight(BigDecimal.ONE);
+        this.grade.setGradeType(GradeType.F);
+        this.grade.setDateOfGrade(LocalDate.parse("2022-12-12"));
+        this.grade.setTeacherEntity(teacher);
+        this.grade.setSubjectEntity(subject);
+        this.grade.setStudentEntity(student);
+
+        this.updateInfo = new LinkedHashMap<>();
+        this.updateInfo.put("value", 5);
+        this.updateInfo.put("comment", "Corrected after appeal");
+        this.updateInfo.put("gradeType", GradeType.B);
+    }
+
+    @Benchmark
+    public GradeEntity reflection() {
+
+        GradeEto gradeEto = GradeMapper.mapToETO(this.grade);
+        this.updateInfo.forEach((key, value) -> {
+            Field field = ReflectionUtils.findField(GradeEto.class, key);
+            field.setAccessible(true);
+            ReflectionUtils.setField(field, gradeEto, value);
+        });
+        return GradeMapper.mapToEntity(gradeEto);
+    }
+
+    @Benchmark
+    public GradeEntity patcher() {
+
+        GRADE_PATCHER.apply(this.grade, this.updateInfo);
+        return this.grade;
+    }
+}
@@ -0,0 +1,104 @@
+package com.krzysztofapp.gradebook.benchmark;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectType;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.service.generator.GeneratedSchool;
+import com.krzysztofapp.gradebook.service.generator.SchoolDataGenerator;
+import com.krzysztofapp.gradebook.service.generator.SchoolDataSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency (us/op) of GradeRepo.findByCriteria against a school from {@link SchoolDataGenerator} in H2, for the
+ * searches the gradebook serves most: one student in one subject, one student in all subjects for a month and one
+ * grade type on one day across the school.
+ *
+ * scale school is one school year of 24 classes and 600 students with about 60,000 grades. -p scale=production loads
+ * the generator defaults (2,000 students, 5 years, 10M grades) and needs a heap of several GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchoolGradeSearchBenchmark {
+
+    @Param({"studentSubject", "studentMonth", "dayAndType"})
+    public String search;
+
+    @Param({"school"})
+    public String scale;
+
+    private ConfigurableApplicationContext context;
+
+    private GradeRepo gradeRepo;
+
+    private GradeSearchCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+
+        this.context = BenchmarkApplication.start(Map.of());
+        this.gradeRepo = this.context.getBean(GradeRepo.class);
+
+        SchoolDataSpec spec = new SchoolDataSpec();
+        if ("school".equals(this.scale)) {
+            spec.setStudents(600);
+            spec.setTeachers(30);
+            spec.setClassYears(24);
+            spec.setYears(1);
+            spec.setFirstYear(2022);
+            spec.setGrades(60_000);
+        }
+        GeneratedSchool school = this.context.getBean(SchoolDataGenerator.class).generate(spec);
+
+        Long classYearId = school.getClassYearIds().get(school.getClassYearIds().size() / 2);
+        List<Long> students = school.getStudentIds(classYearId);
+        LocalDate yearStart = LocalDate.of(spec.getFirstYear(), 9, 1);
+        this.criteria = new GradeSearchCriteria();
+        if ("studentSubject".equals(this.search)) {
+            this.criteria.setStudentEntityId(students.get(students.size() / 2));
+            this.criteria.setSubjectEntityId(school.getSubjectIds(classYearId).get(SubjectType.MATHEMATICS));
+        } else if ("studentMonth".equals(this.search)) {
+            this.criteria.setStudentEntityId(students.get(students.size() / 2));
+            this.criteria.setCreatedDateFrom(yearStart);
+            this.criteria.setCreatedDateTo(yearStart.plusMonths(1).minusDays(1));
+        } else {
+            this.criteria.setGradeType(GradeType.D);
+            this.criteria.setCreatedDateFrom(yearStart.plusDays(13));
+            this.criteria.setCreatedDateTo(yearStart.plusDays(13));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<GradeEto> findByCriteria() {
+
+        return this.gradeRepo.findByCriteria(this.criteria);
+    }
+}
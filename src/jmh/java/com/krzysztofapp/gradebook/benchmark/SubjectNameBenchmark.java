@@ -0,0 +1,50 @@
+package com.krzysztofapp.gradebook.benchmark;
+
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectType;
+import com.krzysztofapp.gradebook.persistence.entity.utils.SubjectUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost (ns/op) of SubjectUtils.setCustomName, run for every new subject and for all subjects of a class
+ * year whose level or name changes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubjectNameBenchmark {
+
+    private ClassYearEntity classYear;
+
+    private SubjectType subjectType;
+
+    @Setup
+    public void setUp() {
+
+        this.classYear = new ClassYearEntity();
+        this.classYear.setClassLevel(4);
+        this.classYear.setClassName("B");
+        this.classYear.setClassYear("2022");
+        this.subjectType = SubjectType.MATHEMATICS;
+    }
+
+    @Benchmark
+    public String setCustomName() {
+
+        return SubjectUtils.setCustomName(this.classYear, this.subjectType);
+    }
+}
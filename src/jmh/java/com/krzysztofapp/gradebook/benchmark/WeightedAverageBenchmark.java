@@ -0,0 +1,75 @@
+package com.krzysztofapp.gradebook.benchmark;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.service.impl.GradeRules;
+import org.apache.commons.math3.util.Precision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost (ns/op) of a weighted average over the grades of one student in one subject, without the database.
+ *
+ * doubleStreams is the former getWeightedAverage: two streams converting every BigDecimal weight to double.
+ * bigDecimalSums adds up the exact sums GradeRules gives the STUDENT_SUBJECT_AGGREGATE row and divides them once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeightedAverageBenchmark {
+
+    @Param({"16", "80"})
+    public int grades;
+
+    private List<GradeEntity> gradeEntities;
+
+    @Setup
+    public void setUp() {
+
+        this.gradeEntities = new ArrayList<>(this.grades);
+        for (int g = 0; g < this.grades; g++) {
+            GradeEntity grade = new GradeEntity();
+            grade.setValue(g % 6 + 1);
+            grade.setWeight(BigDecimal.valueOf(g % 3 + 1));
+            this.gradeEntities.add(grade);
+        }
+    }
+
+    @Benchmark
+    public Double doubleStreams() {
+
+        Double sumOfGrades = this.gradeEntities.stream().mapToDouble(grade -> grade.getValue() * grade.getWeight().doubleValue()).reduce(0, Double::sum);
+        Double totalNumberOfGrades = this.gradeEntities.stream().mapToDouble(grade -> grade.getWeight().intValue()).reduce(0, Double::sum);
+
+        return Precision.round(sumOfGrades / totalNumberOfGrades, 2);
+    }
+
+    @Benchmark
+    public Double bigDecimalSums() {
+
+        BigDecimal weightedSum = BigDecimal.ZERO;
+        BigDecimal weightSum = BigDecimal.ZERO;
+        for (GradeEntity grade : this.gradeEntities) {
+            weightedSum = weightedSum.add(GradeRules.weightedValueOf(grade));
+            weightSum = weightSum.add(GradeRules.weightOf(grade));
+        }
+
+        return Precision.round(weightedSum.doubleValue() / weightSum.doubleValue(), 2);
+    }
+}
@@ -0,0 +1,29 @@
+package com.krzysztofapp.gradebook.controller;
+
+import com.krzysztofapp.gradebook.domain.CacheRegionEto;
+import com.krzysztofapp.gradebook.service.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/rest")
+public class CacheRestController {
+
+    private final CacheService cacheService;
+
+    @Autowired
+    public CacheRestController(final CacheService cacheService) {
+
+        this.cacheService = cacheService;
+    }
+
+    @GetMapping("/cache/regions")
+    public List<CacheRegionEto> getSecondLevelCacheRegions() {
+
+        return this.cacheService.getSecondLevelCacheRegions();
+    }
+}
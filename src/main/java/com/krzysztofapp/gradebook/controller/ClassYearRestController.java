@@ -2,6 +2,7 @@ package com.krzysztofapp.gradebook.controller;
 
 
 import com.krzysztofapp.gradebook.domain.ClassYearEto;
+import com.krzysztofapp.gradebook.domain.ClassYearMatrixEto;
 import com.krzysztofapp.gradebook.service.ClassYearService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +29,12 @@ public class ClassYearRestController {
         return ResponseEntity.ok().body(classYear);
     }
 
+    @GetMapping("/classyear/{id}/matrix")
+    public ClassYearMatrixEto getGradeMatrix(@PathVariable("id") final Long id) {
+
+        return this.classYearService.getGradeMatrix(id);
+    }
+
     @PostMapping("/classyear/new")
     public ClassYearEto addClassYear(@RequestBody ClassYearEto newClassYear) {
 
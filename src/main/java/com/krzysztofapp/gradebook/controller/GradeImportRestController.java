@@ -0,0 +1,61 @@
+package com.krzysztofapp.gradebook.controller;
+
+import com.krzysztofapp.gradebook.domain.GradeImportEto;
+import com.krzysztofapp.gradebook.service.GradeImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/rest")
+public class GradeImportRestController {
+
+    private final GradeImportService gradeImportService;
+
+    @Autowired
+    public GradeImportRestController(final GradeImportService gradeImportService) {
+
+        this.gradeImportService = gradeImportService;
+    }
+
+    @PostMapping(value = "/grades/import", consumes = "text/csv")
+    public GradeImportEto importGrades(final InputStream csv) throws IOException {
+
+        return this.gradeImportService.importGrades(csv);
+    }
+
+    @GetMapping("/grades/imports")
+    public List<GradeImportEto> findAllGradeImports() {
+
+        return this.gradeImportService.findAllImports();
+    }
+
+    @GetMapping("/grades/imports/{id}")
+    public GradeImportEto findGradeImportById(@PathVariable("id") final String id) {
+
+        return this.gradeImportService.findImportById(id);
+    }
+
+    @GetMapping("/grades/imports/{id}/rejects")
+    public ResponseEntity<StreamingResponseBody> downloadRejects(@PathVariable("id") final String id) {
+
+        this.gradeImportService.findImportById(id);
+        StreamingResponseBody body = outputStream -> this.gradeImportService.writeRejects(id, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment").filename("grade_import_" + id + "_rejects.csv").build().toString())
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+}
@@ -1,26 +1,55 @@
 package com.krzysztofapp.gradebook.controller;
 
 
+import com.krzysztofapp.gradebook.domain.CacheStatisticsEto;
+import com.krzysztofapp.gradebook.domain.GradeBulkEto;
+import com.krzysztofapp.gradebook.domain.GradeBulkResultEto;
+import com.krzysztofapp.gradebook.domain.GradeDayRollupEto;
 import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeExportFormat;
+import com.krzysztofapp.gradebook.domain.GradeFilterCriteria;
+import com.krzysztofapp.gradebook.domain.GradePageEto;
 import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
+import com.krzysztofapp.gradebook.domain.GradeStatisticsCriteria;
+import com.krzysztofapp.gradebook.service.GradeAggregateService;
+import com.krzysztofapp.gradebook.service.GradeExportService;
 import com.krzysztofapp.gradebook.service.GradeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/rest")
 public class GradeRestController {
 
     private final GradeService gradeService;
+    private final GradeAggregateService gradeAggregateService;
+    private final GradeExportService gradeExportService;
+
+    private final ObjectWriter gradeWriter;
 
     @Autowired
-    public GradeRestController(final GradeService gradeService) {
+    public GradeRestController(final GradeService gradeService, final GradeAggregateService gradeAggregateService,
+                               final GradeExportService gradeExportService, final ObjectMapper objectMapper) {
 
         this.gradeService = gradeService;
+        this.gradeAggregateService = gradeAggregateService;
+        this.gradeExportService = gradeExportService;
+        this.gradeWriter = objectMapper.writerFor(GradeEto.class);
     }
 
     @GetMapping("/grades/get/{id}")
@@ -37,10 +66,76 @@ public class GradeRestController {
         return this.gradeService.getWeightedAverage(studentId, subjectId);
     }
 
+    @PostMapping("/grades/wgaverage/rebuild")
+    public Long rebuildWeightedAverages() {
+
+        return this.gradeAggregateService.rebuildStudentSubjectAggregates();
+    }
+
+    @GetMapping("/grades/wgaverage/cache/stats")
+    public CacheStatisticsEto getWeightedAverageCacheStatistics() {
+
+        return this.gradeService.getWeightedAverageCacheStatistics();
+    }
+
+    @GetMapping("/grades/statistics/daily")
+    public List<GradeDayRollupEto> getDailyGradeRollup(@RequestBody GradeStatisticsCriteria criteria) {
+
+        return this.gradeService.findDailyGradeRollup(criteria);
+    }
+
+    @PostMapping("/grades/rollup/rebuild")
+    public Integer rebuildDailyGradeRollup() {
+
+        return this.gradeAggregateService.rebuildDailyGradeRollup();
+    }
+
     @GetMapping("/grades/search")
-    public List<GradeEto> findGradesByCriteria(@RequestBody GradeSearchCriteria criteria) {
+    public GradePageEto findGradesByCriteria(@RequestBody GradeSearchCriteria criteria) {
+
+        return this.gradeService.searchGradePageByCriteria(criteria);
+    }
+
+    @GetMapping("/grades/filter")
+    public List<GradeEto> findGradesByFilter(@RequestBody GradeFilterCriteria criteria) {
+
+        return this.gradeService.searchGradesByFilter(criteria);
+    }
 
-        return this.gradeService.searchGradesByCriteria(criteria);
+    @GetMapping(value = "/grades/search/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamGradesByCriteria(@RequestBody GradeSearchCriteria criteria) {
+
+        StreamingResponseBody body = outputStream -> this.gradeService.streamGradesByCriteria(criteria, grade -> {
+            try {
+                outputStream.write(this.gradeWriter.writeValueAsBytes(grade));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().body(body);
+    }
+
+    @GetMapping("/grades/export")
+    public ResponseEntity<StreamingResponseBody> exportGrades(@RequestParam("dateFrom") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate dateFrom,
+                                                              @RequestParam("dateTo") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate dateTo,
+                                                              @RequestParam(value = "format", defaultValue = "CSV") final GradeExportFormat format,
+                                                              @RequestParam(value = "gzip", defaultValue = "false") final boolean gzip) {
+
+        String fileName = "grades_" + dateFrom + "_" + dateTo + "." + format.getFileExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192);
+                this.gradeExportService.exportGrades(dateFrom, dateTo, format, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                this.gradeExportService.exportGrades(dateFrom, dateTo, format, outputStream);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment").filename(fileName).build().toString())
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+                .body(body);
     }
 
     @PostMapping("/grades/new")
@@ -49,6 +144,12 @@ public class GradeRestController {
         return this.gradeService.createNew(newGrade);
     }
 
+    @PostMapping("/grades/new/bulk")
+    public GradeBulkResultEto addGradesForClass(@RequestBody GradeBulkEto newGrades) {
+
+        return this.gradeService.createNewForClass(newGrades);
+    }
+
     @PatchMapping("/grades/update/{id}")
     public GradeEto partialUpdate(@PathVariable("id") final Long id, @RequestBody Map<String, Object> updateInfo) {
         return this.gradeService.partialUpdate(id, updateInfo);
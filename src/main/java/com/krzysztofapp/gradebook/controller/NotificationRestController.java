@@ -0,0 +1,27 @@
+package com.krzysztofapp.gradebook.controller;
+
+import com.krzysztofapp.gradebook.domain.NotificationStatisticsEto;
+import com.krzysztofapp.gradebook.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/rest")
+public class NotificationRestController {
+
+    private final NotificationService notificationService;
+
+    @Autowired
+    public NotificationRestController(final NotificationService notificationService) {
+
+        this.notificationService = notificationService;
+    }
+
+    @GetMapping("/notifications/statistics")
+    public NotificationStatisticsEto getNotificationStatistics() {
+
+        return this.notificationService.getStatistics();
+    }
+}
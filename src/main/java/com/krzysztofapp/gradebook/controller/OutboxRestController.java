@@ -0,0 +1,36 @@
+package com.krzysztofapp.gradebook.controller;
+
+import com.krzysztofapp.gradebook.domain.OutboxStatisticsEto;
+import com.krzysztofapp.gradebook.service.OutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/rest")
+public class OutboxRestController {
+
+    private final OutboxService outboxService;
+
+    @Autowired
+    public OutboxRestController(final OutboxService outboxService) {
+
+        this.outboxService = outboxService;
+    }
+
+    @GetMapping("/outbox/statistics")
+    public OutboxStatisticsEto getOutboxStatistics() {
+
+        return this.outboxService.getStatistics();
+    }
+
+    @PostMapping("/outbox/replay")
+    public Integer replayGradeChanges(@RequestParam("fromId") final Long fromId,
+                                      @RequestParam(value = "studentId", required = false) final Long studentId) {
+
+        return this.outboxService.replay(fromId, studentId);
+    }
+}
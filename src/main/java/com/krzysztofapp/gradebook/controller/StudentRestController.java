@@ -1,6 +1,7 @@
 package com.krzysztofapp.gradebook.controller;
 
-import com.krzysztofapp.gradebook.domain.GradeContext;
+import com.krzysztofapp.gradebook.domain.GradeDayCountEto;
+import com.krzysztofapp.gradebook.domain.GradeStatisticsCriteria;
 import com.krzysztofapp.gradebook.domain.StudentEto;
 import com.krzysztofapp.gradebook.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,10 +38,11 @@ public class StudentRestController {
     }
 
     @GetMapping("/students/numberOfStudents")
-    public Integer getNumberOfStudentsWithGradeAtDay(@RequestBody GradeContext gradeContext) {
+    public List<GradeDayCountEto> getNumberOfStudentsWithGradePerDay(@RequestBody GradeStatisticsCriteria criteria) {
 
-        return this.studentService.getNumberOfStudents(gradeContext);
+        return this.studentService.countStudentsWithGrades(criteria);
     }
+
     @PostMapping("/students/new")
     public StudentEto addStudent(@RequestBody StudentEto newStudent) {
 
@@ -0,0 +1,74 @@
+package com.krzysztofapp.gradebook.domain;
+
+public class CacheRegionEto {
+
+    private String regionName;
+
+    private Long maximumSize;
+
+    private Long expireAfterWriteSeconds;
+
+    private Long size;
+
+    private Long hitCount;
+
+    private Long missCount;
+
+    private Long putCount;
+
+    public String getRegionName() {
+        return this.regionName;
+    }
+
+    public void setRegionName(String regionName) {
+        this.regionName = regionName;
+    }
+
+    public Long getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    public void setMaximumSize(Long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Long getExpireAfterWriteSeconds() {
+        return this.expireAfterWriteSeconds;
+    }
+
+    public void setExpireAfterWriteSeconds(Long expireAfterWriteSeconds) {
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+
+    public Long getSize() {
+        return this.size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public Long getHitCount() {
+        return this.hitCount;
+    }
+
+    public void setHitCount(Long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public Long getMissCount() {
+        return this.missCount;
+    }
+
+    public void setMissCount(Long missCount) {
+        this.missCount = missCount;
+    }
+
+    public Long getPutCount() {
+        return this.putCount;
+    }
+
+    public void setPutCount(Long putCount) {
+        this.putCount = putCount;
+    }
+}
@@ -0,0 +1,74 @@
+package com.krzysztofapp.gradebook.domain;
+
+public class CacheStatisticsEto {
+
+    private Long size;
+
+    private Long hitCount;
+
+    private Long missCount;
+
+    private Double hitRate;
+
+    private Long evictionCount;
+
+    private Long loadCount;
+
+    private Double averageLoadPenaltyNanos;
+
+    public Long getSize() {
+        return this.size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public Long getHitCount() {
+        return this.hitCount;
+    }
+
+    public void setHitCount(Long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public Long getMissCount() {
+        return this.missCount;
+    }
+
+    public void setMissCount(Long missCount) {
+        this.missCount = missCount;
+    }
+
+    public Double getHitRate() {
+        return this.hitRate;
+    }
+
+    public void setHitRate(Double hitRate) {
+        this.hitRate = hitRate;
+    }
+
+    public Long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    public void setEvictionCount(Long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    public Long getLoadCount() {
+        return this.loadCount;
+    }
+
+    public void setLoadCount(Long loadCount) {
+        this.loadCount = loadCount;
+    }
+
+    public Double getAverageLoadPenaltyNanos() {
+        return this.averageLoadPenaltyNanos;
+    }
+
+    public void setAverageLoadPenaltyNanos(Double averageLoadPenaltyNanos) {
+        this.averageLoadPenaltyNanos = averageLoadPenaltyNanos;
+    }
+}
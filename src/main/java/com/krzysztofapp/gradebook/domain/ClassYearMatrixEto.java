@@ -0,0 +1,79 @@
+package com.krzysztofapp.gradebook.domain;
+
+/**
+ * Weighted averages of a whole class in columnar form. Rows are students, columns are subjects and the cell of
+ * student {@code row} and subject {@code column} sits at {@code row * subjectIds.length + column} of
+ * {@link #getWeightedAverages()} and {@link #getGradeCounts()}. Cells with a grade count of 0 have no average.
+ */
+public class ClassYearMatrixEto {
+
+    private Long classYearId;
+
+    private long[] studentIds;
+
+    private String[] studentNames;
+
+    private long[] subjectIds;
+
+    private String[] subjectNames;
+
+    private double[] weightedAverages;
+
+    private int[] gradeCounts;
+
+    public Long getClassYearId() {
+        return this.classYearId;
+    }
+
+    public void setClassYearId(Long classYearId) {
+        this.classYearId = classYearId;
+    }
+
+    public long[] getStudentIds() {
+        return this.studentIds;
+    }
+
+    public void setStudentIds(long[] studentIds) {
+        this.studentIds = studentIds;
+    }
+
+    public String[] getStudentNames() {
+        return this.studentNames;
+    }
+
+    public void setStudentNames(String[] studentNames) {
+        this.studentNames = studentNames;
+    }
+
+    public long[] getSubjectIds() {
+        return this.subjectIds;
+    }
+
+    public void setSubjectIds(long[] subjectIds) {
+        this.subjectIds = subjectIds;
+    }
+
+    public String[] getSubjectNames() {
+        return this.subjectNames;
+    }
+
+    public void setSubjectNames(String[] subjectNames) {
+        this.subjectNames = subjectNames;
+    }
+
+    public double[] getWeightedAverages() {
+        return this.weightedAverages;
+    }
+
+    public void setWeightedAverages(double[] weightedAverages) {
+        this.weightedAverages = weightedAverages;
+    }
+
+    public int[] getGradeCounts() {
+        return this.gradeCounts;
+    }
+
+    public void setGradeCounts(int[] gradeCounts) {
+        this.gradeCounts = gradeCounts;
+    }
+}
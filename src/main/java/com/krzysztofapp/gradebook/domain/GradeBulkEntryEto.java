@@ -0,0 +1,34 @@
+package com.krzysztofapp.gradebook.domain;
+
+public class GradeBulkEntryEto {
+
+    private Long studentEntityId;
+
+    private Integer value;
+
+    private String comment;
+
+    public Long getStudentEntityId() {
+        return this.studentEntityId;
+    }
+
+    public void setStudentEntityId(Long studentEntityId) {
+        this.studentEntityId = studentEntityId;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public void setValue(Integer value) {
+        this.value = value;
+    }
+
+    public String getComment() {
+        return this.comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+}
@@ -0,0 +1,43 @@
+package com.krzysztofapp.gradebook.domain;
+
+public class GradeBulkErrorEto {
+
+    private Integer position;
+
+    private Long studentEntityId;
+
+    private String message;
+
+    public GradeBulkErrorEto() {
+    }
+
+    public GradeBulkErrorEto(Integer position, Long studentEntityId, String message) {
+        this.position = position;
+        this.studentEntityId = studentEntityId;
+        this.message = message;
+    }
+
+    public Integer getPosition() {
+        return this.position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    public Long getStudentEntityId() {
+        return this.studentEntityId;
+    }
+
+    public void setStudentEntityId(Long studentEntityId) {
+        this.studentEntityId = studentEntityId;
+    }
+
+    public String getMessage() {
+        return this.message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,67 @@
+package com.krzysztofapp.gradebook.domain;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import org.hibernate.validator.constraints.Range;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class GradeBulkEto {
+
+    @NotNull
+    private Long subjectEntityId;
+
+    private GradeType gradeType;
+
+    @NotNull
+    private LocalDate dateOfGrade;
+
+    @Range(min = 1, max = 9, message = "Grade weight must be between 1 and 9")
+    private BigDecimal weight;
+
+    @NotEmpty
+    private List<GradeBulkEntryEto> entries;
+
+    public Long getSubjectEntityId() {
+        return this.subjectEntityId;
+    }
+
+    public void setSubjectEntityId(Long subjectEntityId) {
+        this.subjectEntityId = subjectEntityId;
+    }
+
+    public GradeType getGradeType() {
+        return this.gradeType;
+    }
+
+    public void setGradeType(GradeType gradeType) {
+        this.gradeType = gradeType;
+    }
+
+    public LocalDate getDateOfGrade() {
+        return this.dateOfGrade;
+    }
+
+    public void setDateOfGrade(LocalDate dateOfGrade) {
+        this.dateOfGrade = dateOfGrade;
+    }
+
+    public BigDecimal getWeight() {
+        return this.weight;
+    }
+
+    public void setWeight(BigDecimal weight) {
+        this.weight = weight;
+    }
+
+    public List<GradeBulkEntryEto> getEntries() {
+        return this.entries;
+    }
+
+    public void setEntries(List<GradeBulkEntryEto> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,27 @@
+package com.krzysztofapp.gradebook.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GradeBulkResultEto {
+
+    private List<GradeEto> createdGrades = new ArrayList<>();
+
+    private List<GradeBulkErrorEto> errors = new ArrayList<>();
+
+    public List<GradeEto> getCreatedGrades() {
+        return this.createdGrades;
+    }
+
+    public void setCreatedGrades(List<GradeEto> createdGrades) {
+        this.createdGrades = createdGrades;
+    }
+
+    public List<GradeBulkErrorEto> getErrors() {
+        return this.errors;
+    }
+
+    public void setErrors(List<GradeBulkErrorEto> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,47 @@
+package com.krzysztofapp.gradebook.domain;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+
+import java.time.LocalDate;
+
+public class GradeDayCountEto {
+
+    private LocalDate dateOfGrade;
+
+    private GradeType gradeType;
+
+    private Long studentCount;
+
+    public GradeDayCountEto() {
+    }
+
+    public GradeDayCountEto(LocalDate dateOfGrade, GradeType gradeType, Long studentCount) {
+        this.dateOfGrade = dateOfGrade;
+        this.gradeType = gradeType;
+        this.studentCount = studentCount;
+    }
+
+    public LocalDate getDateOfGrade() {
+        return this.dateOfGrade;
+    }
+
+    public void setDateOfGrade(LocalDate dateOfGrade) {
+        this.dateOfGrade = dateOfGrade;
+    }
+
+    public GradeType getGradeType() {
+        return this.gradeType;
+    }
+
+    public void setGradeType(GradeType gradeType) {
+        this.gradeType = gradeType;
+    }
+
+    public Long getStudentCount() {
+        return this.studentCount;
+    }
+
+    public void setStudentCount(Long studentCount) {
+        this.studentCount = studentCount;
+    }
+}
@@ -0,0 +1,80 @@
+package com.krzysztofapp.gradebook.domain;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+
+import java.time.LocalDate;
+
+public class GradeDayRollupEto {
+
+    private LocalDate dateOfGrade;
+
+    private GradeType gradeType;
+
+    private Long subjectId;
+
+    private Long classYearId;
+
+    private Long gradeCount;
+
+    private Long studentCount;
+
+    public GradeDayRollupEto() {
+    }
+
+    public GradeDayRollupEto(LocalDate dateOfGrade, GradeType gradeType, Long subjectId, Long classYearId, Long gradeCount, Long studentCount) {
+        this.dateOfGrade = dateOfGrade;
+        this.gradeType = gradeType;
+        this.subjectId = subjectId;
+        this.classYearId = classYearId;
+        this.gradeCount = gradeCount;
+        this.studentCount = studentCount;
+    }
+
+    public LocalDate getDateOfGrade() {
+        return this.dateOfGrade;
+    }
+
+    public void setDateOfGrade(LocalDate dateOfGrade) {
+        this.dateOfGrade = dateOfGrade;
+    }
+
+    public GradeType getGradeType() {
+        return this.gradeType;
+    }
+
+    public void setGradeType(GradeType gradeType) {
+        this.gradeType = gradeType;
+    }
+
+    public Long getSubjectId() {
+        return this.subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public Long getClassYearId() {
+        return this.classYearId;
+    }
+
+    public void setClassYearId(Long classYearId) {
+        this.classYearId = classYearId;
+    }
+
+    public Long getGradeCount() {
+        return this.gradeCount;
+    }
+
+    public void setGradeCount(Long gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+
+    public Long getStudentCount() {
+        return this.studentCount;
+    }
+
+    public void setStudentCount(Long studentCount) {
+        this.studentCount = studentCount;
+    }
+}
@@ -6,6 +6,7 @@ import org.hibernate.validator.constraints.Range;
 import javax.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 public class GradeEto extends AbstractEto {
 
@@ -31,6 +32,26 @@ public class GradeEto extends AbstractEto {
     @NotNull
     private Long studentEntityId;
 
+    public GradeEto() {
+    }
+
+    //Dev Note: used by the JPQL constructor expressions in GradeRepo, keep the argument order in sync with them
+    public GradeEto(Long id, Long version, LocalDateTime createDate, LocalDateTime updateDate, Integer value, BigDecimal weight,
+                    GradeType gradeType, String comment, LocalDate dateOfGrade, Long teacherEntityId, Long subjectEntityId, Long studentEntityId) {
+        setId(id);
+        setVersion(version);
+        setCreateDate(createDate);
+        setUpdateDate(updateDate);
+        this.value = value;
+        this.weight = weight;
+        this.gradeType = gradeType;
+        this.comment = comment;
+        this.dateOfGrade = dateOfGrade;
+        this.teacherEntityId = teacherEntityId;
+        this.subjectEntityId = subjectEntityId;
+        this.studentEntityId = studentEntityId;
+    }
+
     public Integer getValue() {
         return this.value;
     }
@@ -0,0 +1,24 @@
+package com.krzysztofapp.gradebook.domain;
+
+public enum GradeExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+
+    private final String fileExtension;
+
+    GradeExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public String getFileExtension() {
+        return this.fileExtension;
+    }
+}
@@ -0,0 +1,118 @@
+package com.krzysztofapp.gradebook.domain;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One exported grade, the CSV columns follow the field order.
+ */
+public class GradeExportRow {
+
+    private Long id;
+
+    private LocalDate dateOfGrade;
+
+    private GradeType gradeType;
+
+    private Integer value;
+
+    private BigDecimal weight;
+
+    private Long studentId;
+
+    private Long subjectId;
+
+    private Long teacherId;
+
+    private String comment;
+
+    public GradeExportRow() {
+    }
+
+    public GradeExportRow(Long id, LocalDate dateOfGrade, GradeType gradeType, Integer value, BigDecimal weight, Long studentId,
+                          Long subjectId, Long teacherId, String comment) {
+        this.id = id;
+        this.dateOfGrade = dateOfGrade;
+        this.gradeType = gradeType;
+        this.value = value;
+        this.weight = weight;
+        this.studentId = studentId;
+        this.subjectId = subjectId;
+        this.teacherId = teacherId;
+        this.comment = comment;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDateOfGrade() {
+        return this.dateOfGrade;
+    }
+
+    public void setDateOfGrade(LocalDate dateOfGrade) {
+        this.dateOfGrade = dateOfGrade;
+    }
+
+    public GradeType getGradeType() {
+        return this.gradeType;
+    }
+
+    public void setGradeType(GradeType gradeType) {
+        this.gradeType = gradeType;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public void setValue(Integer value) {
+        this.value = value;
+    }
+
+    public BigDecimal getWeight() {
+        return this.weight;
+    }
+
+    public void setWeight(BigDecimal weight) {
+        this.weight = weight;
+    }
+
+    public Long getStudentId() {
+        return this.studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getSubjectId() {
+        return this.subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public Long getTeacherId() {
+        return this.teacherId;
+    }
+
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    public String getComment() {
+        return this.comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+}
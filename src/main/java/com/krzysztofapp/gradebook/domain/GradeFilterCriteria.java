@@ -0,0 +1,154 @@
+package com.krzysztofapp.gradebook.domain;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Grade search with lists of students, subjects and grade types, the class year and teacher the grades belong to and
+ * a sort order, so one request replaces a search per student or subject.
+ */
+public class GradeFilterCriteria {
+
+    List<Long> studentEntityIds;
+
+    List<Long> subjectEntityIds;
+
+    List<GradeType> gradeTypes;
+
+    Long classYearId;
+
+    Long teacherId;
+
+    Integer valueFrom;
+
+    Integer valueTo;
+
+    BigDecimal weightFrom;
+
+    BigDecimal weightTo;
+
+    LocalDate createdDateFrom;
+
+    LocalDate createdDateTo;
+
+    GradeSortField sortBy;
+
+    Boolean sortDescending;
+
+    Integer limit;
+
+    public List<Long> getStudentEntityIds() {
+        return this.studentEntityIds;
+    }
+
+    public void setStudentEntityIds(List<Long> studentEntityIds) {
+        this.studentEntityIds = studentEntityIds;
+    }
+
+    public List<Long> getSubjectEntityIds() {
+        return this.subjectEntityIds;
+    }
+
+    public void setSubjectEntityIds(List<Long> subjectEntityIds) {
+        this.subjectEntityIds = subjectEntityIds;
+    }
+
+    public List<GradeType> getGradeTypes() {
+        return this.gradeTypes;
+    }
+
+    public void setGradeTypes(List<GradeType> gradeTypes) {
+        this.gradeTypes = gradeTypes;
+    }
+
+    public Long getClassYearId() {
+        return this.classYearId;
+    }
+
+    public void setClassYearId(Long classYearId) {
+        this.classYearId = classYearId;
+    }
+
+    public Long getTeacherId() {
+        return this.teacherId;
+    }
+
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    public Integer getValueFrom() {
+        return this.valueFrom;
+    }
+
+    public void setValueFrom(Integer valueFrom) {
+        this.valueFrom = valueFrom;
+    }
+
+    public Integer getValueTo() {
+        return this.valueTo;
+    }
+
+    public void setValueTo(Integer valueTo) {
+        this.valueTo = valueTo;
+    }
+
+    public BigDecimal getWeightFrom() {
+        return this.weightFrom;
+    }
+
+    public void setWeightFrom(BigDecimal weightFrom) {
+        this.weightFrom = weightFrom;
+    }
+
+    public BigDecimal getWeightTo() {
+        return this.weightTo;
+    }
+
+    public void setWeightTo(BigDecimal weightTo) {
+        this.weightTo = weightTo;
+    }
+
+    public LocalDate getCreatedDateFrom() {
+        return this.createdDateFrom;
+    }
+
+    public void setCreatedDateFrom(LocalDate createdDateFrom) {
+        this.createdDateFrom = createdDateFrom;
+    }
+
+    public LocalDate getCreatedDateTo() {
+        return this.createdDateTo;
+    }
+
+    public void setCreatedDateTo(LocalDate createdDateTo) {
+        this.createdDateTo = createdDateTo;
+    }
+
+    public GradeSortField getSortBy() {
+        return this.sortBy;
+    }
+
+    public void setSortBy(GradeSortField sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public Boolean getSortDescending() {
+        return this.sortDescending;
+    }
+
+    public void setSortDescending(Boolean sortDescending) {
+        this.sortDescending = sortDescending;
+    }
+
+    public Integer getLimit() {
+        return this.limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,160 @@
+package com.krzysztofapp.gradebook.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one CSV grade import, the queue depths show which stage holds the import back while it runs.
+ * Every parsed row ends up written or rejected, rejected rows are listed in the import's rejects report.
+ */
+public class GradeImportEto {
+
+    private String importId;
+
+    private GradeImportState state;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private Long parsedCount;
+
+    private Long validatedCount;
+
+    private Long resolvedCount;
+
+    private Long writtenCount;
+
+    private Long rejectedCount;
+
+    private Double rowsPerSecond;
+
+    private Integer validationQueueDepth;
+
+    private Integer resolutionQueueDepth;
+
+    private Integer writeQueueDepth;
+
+    private Integer queueCapacity;
+
+    private String failure;
+
+    public String getImportId() {
+        return this.importId;
+    }
+
+    public void setImportId(String importId) {
+        this.importId = importId;
+    }
+
+    public GradeImportState getState() {
+        return this.state;
+    }
+
+    public void setState(GradeImportState state) {
+        this.state = state;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return this.startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return this.finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getParsedCount() {
+        return this.parsedCount;
+    }
+
+    public void setParsedCount(Long parsedCount) {
+        this.parsedCount = parsedCount;
+    }
+
+    public Long getValidatedCount() {
+        return this.validatedCount;
+    }
+
+    public void setValidatedCount(Long validatedCount) {
+        this.validatedCount = validatedCount;
+    }
+
+    public Long getResolvedCount() {
+        return this.resolvedCount;
+    }
+
+    public void setResolvedCount(Long resolvedCount) {
+        this.resolvedCount = resolvedCount;
+    }
+
+    public Long getWrittenCount() {
+        return this.writtenCount;
+    }
+
+    public void setWrittenCount(Long writtenCount) {
+        this.writtenCount = writtenCount;
+    }
+
+    public Long getRejectedCount() {
+        return this.rejectedCount;
+    }
+
+    public void setRejectedCount(Long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public Double getRowsPerSecond() {
+        return this.rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(Double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public Integer getValidationQueueDepth() {
+        return this.validationQueueDepth;
+    }
+
+    public void setValidationQueueDepth(Integer validationQueueDepth) {
+        this.validationQueueDepth = validationQueueDepth;
+    }
+
+    public Integer getResolutionQueueDepth() {
+        return this.resolutionQueueDepth;
+    }
+
+    public void setResolutionQueueDepth(Integer resolutionQueueDepth) {
+        this.resolutionQueueDepth = resolutionQueueDepth;
+    }
+
+    public Integer getWriteQueueDepth() {
+        return this.writeQueueDepth;
+    }
+
+    public void setWriteQueueDepth(Integer writeQueueDepth) {
+        this.writeQueueDepth = writeQueueDepth;
+    }
+
+    public Integer getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    public void setQueueCapacity(Integer queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public String getFailure() {
+        return this.failure;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+}
@@ -0,0 +1,8 @@
+package com.krzysztofapp.gradebook.domain;
+
+public enum GradeImportState {
+
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,112 @@
+package com.krzysztofapp.gradebook.domain;
+
+import java.time.LocalDate;
+
+public class GradeNotificationEto {
+
+    private Long gradeId;
+
+    private Long studentId;
+
+    private String studentFirstName;
+
+    private String studentLastName;
+
+    private String parentEmail;
+
+    private String subjectName;
+
+    private Integer value;
+
+    private LocalDate dateOfGrade;
+
+    private String comment;
+
+    public GradeNotificationEto() {
+    }
+
+    public GradeNotificationEto(Long gradeId, Long studentId, String studentFirstName, String studentLastName, String parentEmail,
+                                String subjectName, Integer value, LocalDate dateOfGrade, String comment) {
+        this.gradeId = gradeId;
+        this.studentId = studentId;
+        this.studentFirstName = studentFirstName;
+        this.studentLastName = studentLastName;
+        this.parentEmail = parentEmail;
+        this.subjectName = subjectName;
+        this.value = value;
+        this.dateOfGrade = dateOfGrade;
+        this.comment = comment;
+    }
+
+    public Long getGradeId() {
+        return this.gradeId;
+    }
+
+    public void setGradeId(Long gradeId) {
+        this.gradeId = gradeId;
+    }
+
+    public Long getStudentId() {
+        return this.studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentFirstName() {
+        return this.studentFirstName;
+    }
+
+    public void setStudentFirstName(String studentFirstName) {
+        this.studentFirstName = studentFirstName;
+    }
+
+    public String getStudentLastName() {
+        return this.studentLastName;
+    }
+
+    public void setStudentLastName(String studentLastName) {
+        this.studentLastName = studentLastName;
+    }
+
+    public String getParentEmail() {
+        return this.parentEmail;
+    }
+
+    public void setParentEmail(String parentEmail) {
+        this.parentEmail = parentEmail;
+    }
+
+    public String getSubjectName() {
+        return this.subjectName;
+    }
+
+    public void setSubjectName(String subjectName) {
+        this.subjectName = subjectName;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public void setValue(Integer value) {
+        this.value = value;
+    }
+
+    public LocalDate getDateOfGrade() {
+        return this.dateOfGrade;
+    }
+
+    public void setDateOfGrade(LocalDate dateOfGrade) {
+        this.dateOfGrade = dateOfGrade;
+    }
+
+    public String getComment() {
+        return this.comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+}
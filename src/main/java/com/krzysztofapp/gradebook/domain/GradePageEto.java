@@ -0,0 +1,26 @@
+package com.krzysztofapp.gradebook.domain;
+
+import java.util.List;
+
+public class GradePageEto {
+
+    private List<GradeEto> grades;
+
+    private String continuationToken;
+
+    public List<GradeEto> getGrades() {
+        return this.grades;
+    }
+
+    public void setGrades(List<GradeEto> grades) {
+        this.grades = grades;
+    }
+
+    public String getContinuationToken() {
+        return this.continuationToken;
+    }
+
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+}
@@ -25,6 +25,10 @@ public class GradeSearchCriteria {
 
     Long studentEntityId;
 
+    Integer pageSize;
+
+    String continuationToken;
+
     public Integer getValueFrom() {
         return this.valueFrom;
     }
@@ -96,4 +100,20 @@ public class GradeSearchCriteria {
     public void setStudentEntityId(Long studentEntityId) {
         this.studentEntityId = studentEntityId;
     }
+
+    public Integer getPageSize() {
+        return this.pageSize;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getContinuationToken() {
+        return this.continuationToken;
+    }
+
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
 }
@@ -0,0 +1,52 @@
+package com.krzysztofapp.gradebook.domain;
+
+import com.krzysztofapp.gradebook.exceptions.InvalidContinuationTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last grade of a search page in the (dateOfGrade, id) order, handed to clients as an opaque
+ * continuation token.
+ */
+public class GradeSearchCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate dateOfGrade;
+
+    private final Long id;
+
+    public GradeSearchCursor(LocalDate dateOfGrade, Long id) {
+        this.dateOfGrade = dateOfGrade;
+        this.id = id;
+    }
+
+    public static GradeSearchCursor decode(String token) {
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            String date = decoded.substring(0, separator);
+            return new GradeSearchCursor(date.isEmpty() ? null : LocalDate.parse(date), Long.valueOf(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidContinuationTokenException("Continuation token: " + token + " is not valid");
+        }
+    }
+
+    public String encode() {
+
+        String decoded = (this.dateOfGrade == null ? "" : this.dateOfGrade.toString()) + SEPARATOR + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getDateOfGrade() {
+        return this.dateOfGrade;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+}
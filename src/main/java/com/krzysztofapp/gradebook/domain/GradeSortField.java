@@ -0,0 +1,11 @@
+package com.krzysztofapp.gradebook.domain;
+
+public enum GradeSortField {
+    ID,
+    DATE_OF_GRADE,
+    VALUE,
+    WEIGHT,
+    GRADE_TYPE,
+    STUDENT,
+    SUBJECT;
+}
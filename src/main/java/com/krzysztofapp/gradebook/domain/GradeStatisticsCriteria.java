@@ -0,0 +1,39 @@
+package com.krzysztofapp.gradebook.domain;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class GradeStatisticsCriteria {
+
+    LocalDate dateFrom;
+
+    LocalDate dateTo;
+
+    List<GradeType> gradeTypes;
+
+    public LocalDate getDateFrom() {
+        return this.dateFrom;
+    }
+
+    public void setDateFrom(LocalDate dateFrom) {
+        this.dateFrom = dateFrom;
+    }
+
+    public LocalDate getDateTo() {
+        return this.dateTo;
+    }
+
+    public void setDateTo(LocalDate dateTo) {
+        this.dateTo = dateTo;
+    }
+
+    public List<GradeType> getGradeTypes() {
+        return this.gradeTypes;
+    }
+
+    public void setGradeTypes(List<GradeType> gradeTypes) {
+        this.gradeTypes = gradeTypes;
+    }
+}
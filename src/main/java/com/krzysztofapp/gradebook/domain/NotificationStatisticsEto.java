@@ -0,0 +1,74 @@
+package com.krzysztofapp.gradebook.domain;
+
+public class NotificationStatisticsEto {
+
+    private Integer queuedCount;
+
+    private Integer queueCapacity;
+
+    private Integer openDigestCount;
+
+    private Long acceptedCount;
+
+    private Long rejectedCount;
+
+    private Long sentDigestCount;
+
+    private Long failedDigestCount;
+
+    public Integer getQueuedCount() {
+        return this.queuedCount;
+    }
+
+    public void setQueuedCount(Integer queuedCount) {
+        this.queuedCount = queuedCount;
+    }
+
+    public Integer getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    public void setQueueCapacity(Integer queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Integer getOpenDigestCount() {
+        return this.openDigestCount;
+    }
+
+    public void setOpenDigestCount(Integer openDigestCount) {
+        this.openDigestCount = openDigestCount;
+    }
+
+    public Long getAcceptedCount() {
+        return this.acceptedCount;
+    }
+
+    public void setAcceptedCount(Long acceptedCount) {
+        this.acceptedCount = acceptedCount;
+    }
+
+    public Long getRejectedCount() {
+        return this.rejectedCount;
+    }
+
+    public void setRejectedCount(Long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public Long getSentDigestCount() {
+        return this.sentDigestCount;
+    }
+
+    public void setSentDigestCount(Long sentDigestCount) {
+        this.sentDigestCount = sentDigestCount;
+    }
+
+    public Long getFailedDigestCount() {
+        return this.failedDigestCount;
+    }
+
+    public void setFailedDigestCount(Long failedDigestCount) {
+        this.failedDigestCount = failedDigestCount;
+    }
+}
@@ -0,0 +1,64 @@
+package com.krzysztofapp.gradebook.domain;
+
+public class OutboxStatisticsEto {
+
+    private Long pendingCount;
+
+    private Long oldestPendingAgeMillis;
+
+    private Long lastDispatchLagMillis;
+
+    private Long dispatchedCount;
+
+    private Long failedCount;
+
+    private Long deadLetteredCount;
+
+    public Long getPendingCount() {
+        return this.pendingCount;
+    }
+
+    public void setPendingCount(Long pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public Long getOldestPendingAgeMillis() {
+        return this.oldestPendingAgeMillis;
+    }
+
+    public void setOldestPendingAgeMillis(Long oldestPendingAgeMillis) {
+        this.oldestPendingAgeMillis = oldestPendingAgeMillis;
+    }
+
+    public Long getLastDispatchLagMillis() {
+        return this.lastDispatchLagMillis;
+    }
+
+    public void setLastDispatchLagMillis(Long lastDispatchLagMillis) {
+        this.lastDispatchLagMillis = lastDispatchLagMillis;
+    }
+
+    public Long getDispatchedCount() {
+        return this.dispatchedCount;
+    }
+
+    public void setDispatchedCount(Long dispatchedCount) {
+        this.dispatchedCount = dispatchedCount;
+    }
+
+    public Long getFailedCount() {
+        return this.failedCount;
+    }
+
+    public void setFailedCount(Long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public Long getDeadLetteredCount() {
+        return this.deadLetteredCount;
+    }
+
+    public void setDeadLetteredCount(Long deadLetteredCount) {
+        this.deadLetteredCount = deadLetteredCount;
+    }
+}
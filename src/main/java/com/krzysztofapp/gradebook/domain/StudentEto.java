@@ -1,5 +1,6 @@
 package com.krzysztofapp.gradebook.domain;
 
+import javax.validation.constraints.Email;
 import javax.validation.constraints.NotNull;
 
 public class StudentEto extends AbstractEto {
@@ -13,6 +14,9 @@ public class StudentEto extends AbstractEto {
 
     private String lastName;
 
+    @Email
+    private String parentEmail;
+
 
     public Long getClassYearEntityId() {
         return this.classYearEntityId;
@@ -45,4 +49,12 @@ public class StudentEto extends AbstractEto {
     public void setLastName(String lastName) {
         this.lastName = lastName;
     }
+
+    public String getParentEmail() {
+        return this.parentEmail;
+    }
+
+    public void setParentEmail(String parentEmail) {
+        this.parentEmail = parentEmail;
+    }
 }
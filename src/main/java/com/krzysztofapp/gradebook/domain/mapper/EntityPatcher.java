@@ -0,0 +1,142 @@
+package com.krzysztofapp.gradebook.domain.mapper;
+
+import com.krzysztofapp.gradebook.exceptions.InvalidPatchException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Applies PATCH maps keyed by ETO property names directly onto a managed entity.
+ *
+ * Setters are compiled once per ETO/entity pair into lambdas that coerce the JSON value (e.g. an {@code Integer}
+ * for a {@code Long} property, a {@code String} for a {@code LocalDate}) before calling the entity setter. Only
+ * properties that exist with the same type on both classes are patched; other ETO properties (id, version,
+ * timestamps and the {@code ...EntityId} references) are skipped and left to the caller. Unknown keys are rejected.
+ */
+public final class EntityPatcher<T> {
+
+    private static final Set<String> READ_ONLY_PROPERTIES = Set.of("id", "version", "createDate", "updateDate");
+
+    private static final Map<Class<?>, Function<Object, Object>> COERCIONS = Map.of(
+            Long.class, value -> new BigDecimal(value.toString()).longValueExact(),
+            Integer.class, value -> new BigDecimal(value.toString()).intValueExact(),
+            Double.class, value -> Double.valueOf(value.toString()),
+            BigDecimal.class, value -> new BigDecimal(value.toString()),
+            Boolean.class, value -> Boolean.valueOf(value.toString()),
+            String.class, Object::toString,
+            LocalDate.class, value -> LocalDate.parse(value.toString()),
+            LocalDateTime.class, value -> LocalDateTime.parse(value.toString()));
+
+    private final Set<String> etoProperties;
+
+    private final Map<String, BiConsumer<T, Object>> setters;
+
+    private EntityPatcher(Set<String> etoProperties, Map<String, BiConsumer<T, Object>> setters) {
+
+        this.etoProperties = etoProperties;
+        this.setters = setters;
+    }
+
+    public static <T> EntityPatcher<T> of(Class<?> etoClass, Class<T> entityClass) {
+
+        Set<String> etoProperties = new HashSet<>();
+        Map<String, BiConsumer<T, Object>> setters = new HashMap<>();
+        for (PropertyDescriptor etoProperty : BeanUtils.getPropertyDescriptors(etoClass)) {
+            if (etoProperty.getWriteMethod() == null) {
+                continue;
+            }
+            etoProperties.add(etoProperty.getName());
+            PropertyDescriptor entityProperty = BeanUtils.getPropertyDescriptor(entityClass, etoProperty.getName());
+            if (READ_ONLY_PROPERTIES.contains(etoProperty.getName()) || entityProperty == null || entityProperty.getWriteMethod() == null
+                    || entityProperty.getPropertyType() != etoProperty.getPropertyType()) {
+                continue;
+            }
+            setters.put(entityProperty.getName(), compileSetter(entityClass, entityProperty));
+        }
+        return new EntityPatcher<>(Set.copyOf(etoProperties), Map.copyOf(setters));
+    }
+
+    public void apply(T entity, Map<String, Object> patch) {
+
+        patch.forEach((key, value) -> {
+            BiConsumer<T, Object> setter = this.setters.get(key);
+            if (setter != null) {
+                setter.accept(entity, value);
+            } else if (!this.etoProperties.contains(key)) {
+                throw new InvalidPatchException("Property: " + key + " does not exist");
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> V coerce(String propertyName, Object value, Class<V> type) {
+
+        return (V) applyCoercion(propertyName, value, coercionTo(type));
+    }
+
+    private static <T> BiConsumer<T, Object> compileSetter(Class<T> entityClass, PropertyDescriptor property) {
+
+        String propertyName = property.getName();
+        Function<Object, Object> coercion = coercionTo(property.getPropertyType());
+        BiConsumer<T, Object> setter = compileWriteMethod(entityClass, property);
+        return (entity, value) -> setter.accept(entity, applyCoercion(propertyName, value, coercion));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BiConsumer<T, Object> compileWriteMethod(Class<T> entityClass, PropertyDescriptor property) {
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+            MethodHandle writeMethod = lookup.unreflect(property.getWriteMethod());
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class), writeMethod,
+                    MethodType.methodType(void.class, entityClass, ClassUtils.resolvePrimitiveIfNecessary(property.getPropertyType())));
+            return (BiConsumer<T, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Setter of property: " + property.getName() + " in " + entityClass.getSimpleName() + " could not be compiled", e);
+        }
+    }
+
+    private static Object applyCoercion(String propertyName, Object value, Function<Object, Object> coercion) {
+
+        try {
+            return coercion.apply(value);
+        } catch (RuntimeException e) {
+            throw new InvalidPatchException("Value: " + value + " is not valid for property: " + propertyName);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<Object, Object> coercionTo(Class<?> type) {
+
+        boolean primitive = type.isPrimitive();
+        Class<?> boxedType = ClassUtils.resolvePrimitiveIfNecessary(type);
+        Function<Object, Object> conversion = boxedType.isEnum()
+                ? value -> Enum.valueOf((Class) boxedType, value.toString())
+                : COERCIONS.getOrDefault(boxedType, boxedType::cast);
+        return value -> {
+            if (value == null) {
+                if (primitive) {
+                    throw new IllegalArgumentException("Null can't be assigned to " + type.getName());
+                }
+                return null;
+            }
+            return boxedType.isInstance(value) ? value : conversion.apply(value);
+        };
+    }
+}
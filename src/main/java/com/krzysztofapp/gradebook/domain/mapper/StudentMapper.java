@@ -20,6 +20,7 @@ public final class StudentMapper {
         student.setFirstName(entity.getFirstName());
         student.setLastName(entity.getLastName());
         student.setAge(entity.getAge());
+        student.setParentEmail(entity.getParentEmail());
         return student;
     }
 
@@ -34,6 +35,7 @@ public final class StudentMapper {
         entity.setFirstName(studentTo.getFirstName());
         entity.setLastName(studentTo.getLastName());
         entity.setAge(studentTo.getAge());
+        entity.setParentEmail(studentTo.getParentEmail());
 
         return entity;
     }
@@ -0,0 +1,9 @@
+package com.krzysztofapp.gradebook.exceptions;
+
+public class AggregateRebuildAlreadyRunningException extends RuntimeException {
+
+    public AggregateRebuildAlreadyRunningException(String message) {
+
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.krzysztofapp.gradebook.exceptions;
+
+public class ClassYearStillInUseException extends RuntimeException {
+
+    public ClassYearStillInUseException(String message) {
+
+        super(message);
+    }
+}
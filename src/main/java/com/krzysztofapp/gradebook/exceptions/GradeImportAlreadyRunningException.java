@@ -0,0 +1,9 @@
+package com.krzysztofapp.gradebook.exceptions;
+
+public class GradeImportAlreadyRunningException extends RuntimeException {
+
+    public GradeImportAlreadyRunningException(String message) {
+
+        super(message);
+    }
+}
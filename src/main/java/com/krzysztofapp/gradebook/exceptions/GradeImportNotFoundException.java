@@ -0,0 +1,9 @@
+package com.krzysztofapp.gradebook.exceptions;
+
+public class GradeImportNotFoundException extends RuntimeException {
+
+    public GradeImportNotFoundException(String message) {
+
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.krzysztofapp.gradebook.exceptions;
+
+public class InvalidContinuationTokenException extends RuntimeException {
+
+    public InvalidContinuationTokenException(String message) {
+
+        super(message);
+    }
+}
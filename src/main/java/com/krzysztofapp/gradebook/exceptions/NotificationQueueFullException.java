@@ -0,0 +1,9 @@
+package com.krzysztofapp.gradebook.exceptions;
+
+public class NotificationQueueFullException extends RuntimeException {
+
+    public NotificationQueueFullException(String message) {
+
+        super(message);
+    }
+}
@@ -0,0 +1,35 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource in a datasource-proxy that reports every statement, its update count and the rows read from
+ * its ResultSet to {@link QueryCounter}.
+ *
+ * Replaces hibernate.show_sql: counting costs a thread local lookup per statement and per row, the SQL text itself
+ * is only printed when org.hibernate.SQL logs at DEBUG.
+ */
+@Component
+@ConditionalOnProperty(name = "gradebook.metrics.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+        if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        SqlStatementListener listener = new SqlStatementListener();
+        return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .build();
+    }
+}
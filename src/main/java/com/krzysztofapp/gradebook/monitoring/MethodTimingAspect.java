@@ -0,0 +1,105 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service implementations and every repository method, as the timer
+ * gradebook.method tagged with layer, class, method and exception ("none" for calls that returned).
+ *
+ * Call counts and error counts are the timer's count with and without exception="none". Histogram buckets and the
+ * p50/p95/p99 percentiles are switched on for the timer in the management.metrics.distribution properties.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "gradebook.metrics.method-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class MethodTimingAspect {
+
+    public static final String METRIC_NAME = "gradebook.method";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry registry;
+
+    private final Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(final MeterRegistry registry) {
+
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.krzysztofapp.gradebook.service.impl.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        return time(joinPoint, "service", ClassUtils.getUserClass(joinPoint.getTarget()));
+    }
+
+    @Around("this(org.springframework.data.repository.Repository) && !execution(* java.lang.Object.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        return time(joinPoint, "repository", joinPoint.getThis().getClass());
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer, Class<?> type) throws Throwable {
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            timerOf(layer, type, method).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(layer, type, method, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timerOf(String layer, Class<?> type, Method method) {
+
+        Map<Method, Timer> typeTimers = this.timers.get(type);
+        if (typeTimers == null) {
+            typeTimers = this.timers.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+        }
+        Timer timer = typeTimers.get(method);
+        if (timer == null) {
+            timer = typeTimers.computeIfAbsent(method, key -> timer(layer, type, method, NO_EXCEPTION));
+        }
+        return timer;
+    }
+
+    private Timer timer(String layer, Class<?> type, Method method, String exception) {
+
+        return Timer.builder(METRIC_NAME)
+                .tag("layer", layer)
+                .tag("class", nameOf(type))
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(this.registry);
+    }
+
+    private String nameOf(Class<?> type) {
+
+        if (Proxy.isProxyClass(type)) {
+            for (Class<?> implemented : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (Repository.class.isAssignableFrom(implemented) && !implemented.getName().startsWith("org.springframework.")) {
+                    return implemented.getSimpleName();
+                }
+            }
+        }
+        return type.getSimpleName();
+    }
+}
@@ -0,0 +1,83 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What one scope opened through {@link QueryCounter} sent to the database: statements executed (a JDBC batch counts
+ * once), rows read and updated, the time spent in the driver and how often every SELECT text ran.
+ *
+ * A SELECT text running again and again within one scope is the mark of an N+1, a lazy association or a repository
+ * call resolved once per row instead of once for all of them.
+ */
+public class QueryCount {
+
+    private final boolean outermost;
+
+    private final Map<String, Integer> selectExecutions = new HashMap<>();
+
+    private final Map<String, String> selectOrigins = new HashMap<>();
+
+    private int statementCount;
+
+    private long rowCount;
+
+    private long elapsedNanos;
+
+    QueryCount(boolean outermost) {
+        this.outermost = outermost;
+    }
+
+    public int getStatementCount() {
+        return this.statementCount;
+    }
+
+    public long getRowCount() {
+        return this.rowCount;
+    }
+
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return SELECT texts that ran at least minExecutions times, with how often they ran
+     */
+    public Map<String, Integer> getRepeatedSelects(int minExecutions) {
+
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        this.selectExecutions.forEach((sql, executions) -> {
+            if (executions >= minExecutions) {
+                repeated.put(sql, executions);
+            }
+        });
+        return repeated;
+    }
+
+    boolean isOutermost() {
+        return this.outermost;
+    }
+
+    String originOf(String sql) {
+        return this.selectOrigins.get(sql);
+    }
+
+    void statementExecuted(long rows, long elapsedNanos) {
+        this.statementCount++;
+        this.rowCount += rows;
+        this.elapsedNanos += elapsedNanos;
+    }
+
+    void rowRead() {
+        this.rowCount++;
+    }
+
+    int selectExecuted(String sql) {
+        return this.selectExecutions.merge(sql, 1, Integer::sum);
+    }
+
+    void selectRepeated(String sql, String origin) {
+        this.selectOrigins.putIfAbsent(sql, origin);
+    }
+}
@@ -0,0 +1,40 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Counts the statements of every public method of the service implementations, reported under class and method.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "gradebook.metrics.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountAspect {
+
+    private final QueryCountReporter reporter;
+
+    public QueryCountAspect(final QueryCountReporter reporter) {
+
+        this.reporter = reporter;
+    }
+
+    @Around("execution(public * com.krzysztofapp.gradebook.service.impl.*ServiceImpl.*(..))")
+    public Object countService(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        QueryCount count = QueryCounter.open();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            QueryCounter.close(count);
+            this.reporter.report("service", ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName() + "."
+                    + joinPoint.getSignature().getName(), count);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Counts the statements of every HTTP request, reported under the method and URI template of the endpoint it hit.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "gradebook.metrics.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final QueryCountReporter reporter;
+
+    public QueryCountFilter(final QueryCountReporter reporter) {
+
+        this.reporter = reporter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        QueryCount count = QueryCounter.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.close(count);
+            this.reporter.report("request", endpointOf(request), count);
+        }
+    }
+
+    private String endpointOf(HttpServletRequest request) {
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? UNMATCHED : pattern);
+    }
+}
@@ -0,0 +1,94 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a closed {@link QueryCount} as the meters gradebook.sql.statements, gradebook.sql.rows and
+ * gradebook.sql.time tagged with scope (request or service) and name (endpoint or service method).
+ *
+ * A SELECT running repeated-select-threshold times or more within one request, or one service call made outside a
+ * request, is logged as a likely N+1 with the code it came from and counted in gradebook.sql.repeated.
+ */
+@Component
+@ConditionalOnProperty(name = "gradebook.metrics.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountReporter {
+
+    public static final String STATEMENTS_METRIC = "gradebook.sql.statements";
+
+    public static final String ROWS_METRIC = "gradebook.sql.rows";
+
+    public static final String TIME_METRIC = "gradebook.sql.time";
+
+    public static final String REPEATED_METRIC = "gradebook.sql.repeated";
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryCountReporter.class);
+
+    private final MeterRegistry registry;
+
+    private final int repeatedSelectThreshold;
+
+    private final Map<String, ScopeMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryCountReporter(final MeterRegistry registry,
+                              @Value("${gradebook.metrics.sql.repeated-select-threshold:5}") final int repeatedSelectThreshold) {
+
+        this.registry = registry;
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+    }
+
+    public void report(String scope, String name, QueryCount count) {
+
+        ScopeMeters scopeMeters = this.meters.get(scope + ' ' + name);
+        if (scopeMeters == null) {
+            scopeMeters = this.meters.computeIfAbsent(scope + ' ' + name, key -> new ScopeMeters(scope, name));
+        }
+        scopeMeters.statements.record(count.getStatementCount());
+        scopeMeters.rows.record(count.getRowCount());
+        scopeMeters.time.record(count.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (!count.isOutermost()) {
+            return;
+        }
+        Map<String, Integer> repeated = count.getRepeatedSelects(this.repeatedSelectThreshold);
+        if (!repeated.isEmpty()) {
+            scopeMeters.repeated.increment();
+            repeated.forEach((sql, executions) -> LOG.warn("{} {} ran the same SELECT {} times, called from {}: {}",
+                    scope, name, executions, count.originOf(sql), sql));
+        }
+    }
+
+    private final class ScopeMeters {
+
+        private final DistributionSummary statements;
+
+        private final DistributionSummary rows;
+
+        private final Timer time;
+
+        private final Counter repeated;
+
+        private ScopeMeters(String scope, String name) {
+
+            this.statements = DistributionSummary.builder(STATEMENTS_METRIC).tag("scope", scope).tag("name", name)
+                    .register(QueryCountReporter.this.registry);
+            this.rows = DistributionSummary.builder(ROWS_METRIC).tag("scope", scope).tag("name", name)
+                    .register(QueryCountReporter.this.registry);
+            this.time = Timer.builder(TIME_METRIC).tag("scope", scope).tag("name", name)
+                    .register(QueryCountReporter.this.registry);
+            this.repeated = Counter.builder(REPEATED_METRIC).tag("scope", scope).tag("name", name)
+                    .register(QueryCountReporter.this.registry);
+        }
+    }
+}
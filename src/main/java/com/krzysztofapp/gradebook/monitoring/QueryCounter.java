@@ -0,0 +1,119 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scopes of the calling thread that count the statements sent through the proxied DataSource. Scopes nest, a statement
+ * counts in every scope open on its thread: the HTTP request, the service call made by it and whatever a test opened
+ * around both with {@link #record(Runnable)}.
+ */
+public final class QueryCounter {
+
+    private static final String APPLICATION_PACKAGE = "com.krzysztofapp.gradebook.";
+
+    private static final Set<String> COUNTING_CLASSES = Set.of(QueryCounter.class.getName(), SqlStatementListener.class.getName());
+
+    private static final ThreadLocal<OpenScopes> OPEN_SCOPES = ThreadLocal.withInitial(OpenScopes::new);
+
+    private QueryCounter() {
+    }
+
+    public static QueryCount open() {
+
+        Deque<QueryCount> scopes = OPEN_SCOPES.get().scopes;
+        QueryCount count = new QueryCount(scopes.isEmpty());
+        scopes.push(count);
+        return count;
+    }
+
+    public static void close(QueryCount count) {
+
+        OPEN_SCOPES.get().scopes.removeFirstOccurrence(count);
+    }
+
+    public static QueryCount record(Runnable action) {
+
+        QueryCount count = open();
+        try {
+            action.run();
+        } finally {
+            close(count);
+        }
+        return count;
+    }
+
+    static boolean isCounting() {
+
+        return !OPEN_SCOPES.get().scopes.isEmpty();
+    }
+
+    static void statementStarted() {
+
+        OpenScopes open = OPEN_SCOPES.get();
+        if (!open.scopes.isEmpty()) {
+            open.statementStart = System.nanoTime();
+        }
+    }
+
+    static void statementExecuted(List<String> queries, long rows) {
+
+        OpenScopes open = OPEN_SCOPES.get();
+        if (open.scopes.isEmpty()) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - open.statementStart;
+        String origin = null;
+        for (QueryCount count : open.scopes) {
+            count.statementExecuted(rows, elapsedNanos);
+            for (String sql : queries) {
+                if (isSelect(sql) && count.selectExecuted(sql) == 2) {
+                    if (origin == null) {
+                        origin = callerOf();
+                    }
+                    count.selectRepeated(sql, origin);
+                }
+            }
+        }
+    }
+
+    static void rowRead() {
+
+        for (QueryCount count : OPEN_SCOPES.get().scopes) {
+            count.rowRead();
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+
+        int start = 0;
+        if (sql.startsWith("/*")) {
+            int commentEnd = sql.indexOf("*/");
+            start = commentEnd < 0 ? 0 : commentEnd + 2;
+        }
+        while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        return sql.regionMatches(true, start, "select", 0, 6);
+    }
+
+    private static String callerOf() {
+
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !COUNTING_CLASSES.contains(frame.getClassName())
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    private static final class OpenScopes {
+
+        private final Deque<QueryCount> scopes = new ArrayDeque<>();
+
+        private long statementStart;
+    }
+}
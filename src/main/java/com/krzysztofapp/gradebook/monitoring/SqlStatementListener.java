@@ -0,0 +1,67 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feeds the statements of the proxied DataSource into the {@link QueryCounter} scopes of the executing thread. Rows
+ * updated come from the update counts, rows read from every successful ResultSet.next().
+ */
+class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        QueryCounter.statementStarted();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        if (!QueryCounter.isCounting()) {
+            return;
+        }
+        List<String> queries = new ArrayList<>(queryInfoList.size());
+        for (QueryInfo queryInfo : queryInfoList) {
+            queries.add(queryInfo.getQuery());
+        }
+        QueryCounter.statementExecuted(queries, updatedRowsOf(execInfo.getResult()));
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+
+        if (executionContext.getTarget() instanceof ResultSet && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            QueryCounter.rowRead();
+        }
+    }
+
+    private long updatedRowsOf(Object result) {
+
+        long rows = 0;
+        if (result instanceof Number) {
+            rows = ((Number) result).longValue();
+        } else if (result instanceof int[]) {
+            for (int batchRows : (int[]) result) {
+                rows += Math.max(batchRows, 0);
+            }
+        } else if (result instanceof long[]) {
+            for (long batchRows : (long[]) result) {
+                rows += Math.max(batchRows, 0);
+            }
+        }
+        return Math.max(rows, 0);
+    }
+}
@@ -0,0 +1,28 @@
+package com.krzysztofapp.gradebook.persistence.cache;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions. Every region is created up front by
+ * SecondLevelCacheConfiguration, Hibernate is configured to fail on a region that is missing here.
+ */
+public final class CacheRegions {
+
+    public static final String TEACHER = "gradebook.teacher";
+    public static final String TEACHER_SUBJECTS = "gradebook.teacher.subjects";
+    public static final String SUBJECT = "gradebook.subject";
+    public static final String CLASS_YEAR = "gradebook.classyear";
+    public static final String CLASS_YEAR_SUBJECTS = "gradebook.classyear.subjects";
+
+    public static final String SUBJECTS_BY_TEACHER = "gradebook.query.subjects-by-teacher";
+
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final List<String> ENTITY_REGIONS = List.of(TEACHER, TEACHER_SUBJECTS, SUBJECT, CLASS_YEAR, CLASS_YEAR_SUBJECTS);
+
+    public static final List<String> QUERY_REGIONS = List.of(SUBJECTS_BY_TEACHER, QUERY_RESULTS);
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,60 @@
+package com.krzysztofapp.gradebook.persistence.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process JCache (Caffeine) cache manager handed to Hibernate as its second-level cache.
+ *
+ * Reference entities (teachers, subjects, class years) and their subject collections share one size and expiry
+ * setting, cached query results another. The update timestamps region is never bounded, evicting from it could
+ * let a cached query outlive a write to its tables.
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${gradebook.cache.reference.maximum-size:10000}") final long referenceMaximumSize,
+                                                @Value("${gradebook.cache.reference.expire-after-write-seconds:3600}") final long referenceExpireAfterWriteSeconds,
+                                                @Value("${gradebook.cache.query.maximum-size:1000}") final long queryMaximumSize,
+                                                @Value("${gradebook.cache.query.expire-after-write-seconds:600}") final long queryExpireAfterWriteSeconds) {
+
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        CacheRegions.ENTITY_REGIONS.forEach(region -> createCache(cacheManager, region, boundedConfiguration(referenceMaximumSize, referenceExpireAfterWriteSeconds)));
+        CacheRegions.QUERY_REGIONS.forEach(region -> createCache(cacheManager, region, boundedConfiguration(queryMaximumSize, queryExpireAfterWriteSeconds)));
+        createCache(cacheManager, CacheRegions.UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(final CacheManager secondLevelCacheManager) {
+
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    private static void createCache(CacheManager cacheManager, String region, CaffeineConfiguration<Object, Object> configuration) {
+
+        configuration.setStatisticsEnabled(true);
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> boundedConfiguration(long maximumSize, long expireAfterWriteSeconds) {
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(expireAfterWriteSeconds)));
+        return configuration;
+    }
+}
@@ -1,6 +1,7 @@
 package com.krzysztofapp.gradebook.persistence.entity;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
@@ -10,7 +11,8 @@ import java.time.LocalDateTime;
 public abstract class AbstractEntity {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_sequence")
+	@GenericGenerator(name = "pooled_sequence", strategy = "com.krzysztofapp.gradebook.persistence.entity.generator.PooledSequenceGenerator")
 	private Long id;
 
 	@Version
@@ -1,11 +1,19 @@
 package com.krzysztofapp.gradebook.persistence.entity;
 
 
+import com.krzysztofapp.gradebook.persistence.cache.CacheRegions;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import java.util.List;
 
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CLASS_YEAR)
 @Table(name = "CLASS_YEAR")
 public class ClassYearEntity extends AbstractEntity {
 
@@ -13,17 +21,11 @@ public class ClassYearEntity extends AbstractEntity {
     private String className;
     private String classYear;
 
-    @PreRemove
-    public void checkStudentsBeforeRemove() {
-        if (!this.studentList.isEmpty()) {
-            throw new RuntimeException("Can't remove a ClassYear that has students.");
-        }
-    }
-
     @OneToMany(mappedBy = "classYearEntity", cascade = { CascadeType.DETACH, CascadeType.MERGE, CascadeType.REFRESH, CascadeType.PERSIST })
     private List<StudentEntity> studentList;
 
-    @OneToMany(mappedBy = "classYearEntity", cascade = CascadeType.REMOVE)
+    @OneToMany(mappedBy = "classYearEntity")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CLASS_YEAR_SUBJECTS)
     private List<SubjectEntity> subjectList;
 
     public Integer getClassLevel() {
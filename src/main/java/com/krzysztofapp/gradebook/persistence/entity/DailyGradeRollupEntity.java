@@ -0,0 +1,45 @@
+package com.krzysztofapp.gradebook.persistence.entity;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+/**
+ * Number of grades and of distinct graded students per day, grade type and subject, kept up to date by
+ * GradeServiceImpl so daily reports read one row per subject instead of scanning GRADE.
+ */
+@Entity
+@Table(name = "DAILY_GRADE_ROLLUP")
+public class DailyGradeRollupEntity {
+
+    @EmbeddedId
+    private DailyGradeRollupId id;
+
+    private Long gradeCount = 0L;
+
+    private Long studentCount = 0L;
+
+    public DailyGradeRollupId getId() {
+        return this.id;
+    }
+
+    public void setId(DailyGradeRollupId id) {
+        this.id = id;
+    }
+
+    public Long getGradeCount() {
+        return this.gradeCount;
+    }
+
+    public void setGradeCount(Long gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+
+    public Long getStudentCount() {
+        return this.studentCount;
+    }
+
+    public void setStudentCount(Long studentCount) {
+        this.studentCount = studentCount;
+    }
+}
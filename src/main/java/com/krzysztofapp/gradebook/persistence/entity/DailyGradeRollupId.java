@@ -0,0 +1,81 @@
+package com.krzysztofapp.gradebook.persistence.entity;
+
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class DailyGradeRollupId implements Serializable {
+
+    private LocalDate dateOfGrade;
+
+    @Enumerated(EnumType.STRING)
+    private GradeType gradeType;
+
+    private Long subjectId;
+
+    private Long classYearId;
+
+    public DailyGradeRollupId() {
+    }
+
+    public DailyGradeRollupId(LocalDate dateOfGrade, GradeType gradeType, Long subjectId, Long classYearId) {
+        this.dateOfGrade = dateOfGrade;
+        this.gradeType = gradeType;
+        this.subjectId = subjectId;
+        this.classYearId = classYearId;
+    }
+
+    public LocalDate getDateOfGrade() {
+        return this.dateOfGrade;
+    }
+
+    public void setDateOfGrade(LocalDate dateOfGrade) {
+        this.dateOfGrade = dateOfGrade;
+    }
+
+    public GradeType getGradeType() {
+        return this.gradeType;
+    }
+
+    public void setGradeType(GradeType gradeType) {
+        this.gradeType = gradeType;
+    }
+
+    public Long getSubjectId() {
+        return this.subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public Long getClassYearId() {
+        return this.classYearId;
+    }
+
+    public void setClassYearId(Long classYearId) {
+        this.classYearId = classYearId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DailyGradeRollupId)) {
+            return false;
+        }
+        DailyGradeRollupId that = (DailyGradeRollupId) o;
+        return Objects.equals(this.dateOfGrade, that.dateOfGrade) && this.gradeType == that.gradeType
+                && Objects.equals(this.subjectId, that.subjectId) && Objects.equals(this.classYearId, that.classYearId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.dateOfGrade, this.gradeType, this.subjectId, this.classYearId);
+    }
+}
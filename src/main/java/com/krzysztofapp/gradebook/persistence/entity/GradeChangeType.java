@@ -0,0 +1,8 @@
+package com.krzysztofapp.gradebook.persistence.entity;
+
+public enum GradeChangeType {
+
+    CREATED,
+    UPDATED,
+    DELETED
+}
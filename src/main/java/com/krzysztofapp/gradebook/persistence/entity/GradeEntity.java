@@ -1,13 +1,19 @@
 package com.krzysztofapp.gradebook.persistence.entity;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "GRADE")
+@DynamicUpdate
+@Table(name = "GRADE", uniqueConstraints = @UniqueConstraint(name = GradeEntity.UNIQUE_GRADE_PER_DAY,
+        columnNames = { "student_entity_id", "subject_entity_id", "date_of_grade", "grade_type" }))
 public class GradeEntity extends AbstractEntity {
 
+    public static final String UNIQUE_GRADE_PER_DAY = "UK_GRADE_STUDENT_SUBJECT_DAY_TYPE";
+
 
     private Integer value;
 
@@ -15,19 +21,23 @@ public class GradeEntity extends AbstractEntity {
     private BigDecimal weight = BigDecimal.ONE;
 
     @Enumerated(EnumType.STRING)
+    @Column(name = "grade_type")
     private GradeType gradeType;
 
     private String comment;
 
+    @Column(name = "date_of_grade")
     private LocalDate dateOfGrade;
 
     @ManyToOne(fetch = FetchType.LAZY)
     private TeacherEntity teacherEntity;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subject_entity_id")
     private SubjectEntity subjectEntity;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_entity_id")
     private StudentEntity studentEntity;
 
 
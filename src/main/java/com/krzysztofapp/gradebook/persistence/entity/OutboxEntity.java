@@ -0,0 +1,110 @@
+package com.krzysztofapp.gradebook.persistence.entity;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Compact record of one grade change, written in the transaction of the change itself and handed to the
+ * GradeChangeListeners by GradeOutboxDispatcher once committed. Dispatched rows are kept for the retention period so
+ * they can be replayed.
+ */
+@Entity
+@Table(name = "OUTBOX")
+public class OutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_sequence")
+    @GenericGenerator(name = "pooled_sequence", strategy = "com.krzysztofapp.gradebook.persistence.entity.generator.PooledSequenceGenerator")
+    private Long id;
+
+    private Long gradeId;
+
+    private Long studentId;
+
+    private Long subjectId;
+
+    @Enumerated(EnumType.STRING)
+    private GradeChangeType changeType;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime dispatchedAt;
+
+    private Integer attempts = 0;
+
+    private String lastError;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGradeId() {
+        return this.gradeId;
+    }
+
+    public void setGradeId(Long gradeId) {
+        this.gradeId = gradeId;
+    }
+
+    public Long getStudentId() {
+        return this.studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getSubjectId() {
+        return this.subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public GradeChangeType getChangeType() {
+        return this.changeType;
+    }
+
+    public void setChangeType(GradeChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getDispatchedAt() {
+        return this.dispatchedAt;
+    }
+
+    public void setDispatchedAt(LocalDateTime dispatchedAt) {
+        this.dispatchedAt = dispatchedAt;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
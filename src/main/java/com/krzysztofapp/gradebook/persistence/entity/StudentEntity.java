@@ -1,10 +1,13 @@
 package com.krzysztofapp.gradebook.persistence.entity;
 
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import java.util.List;
 
 @Entity
+@DynamicUpdate
 @Table(name = "STUDENT")
 public class StudentEntity extends AbstractEntity {
 
@@ -17,7 +20,9 @@ public class StudentEntity extends AbstractEntity {
 
     private String lastName;
 
-    @OneToMany(mappedBy = "studentEntity", cascade = CascadeType.REMOVE)
+    private String parentEmail;
+
+    @OneToMany(mappedBy = "studentEntity")
     private List<GradeEntity> gradeList;
 
     public ClassYearEntity getClassYearEntity() {
@@ -52,6 +57,14 @@ public class StudentEntity extends AbstractEntity {
         this.lastName = lastName;
     }
 
+    public String getParentEmail() {
+        return this.parentEmail;
+    }
+
+    public void setParentEmail(String parentEmail) {
+        this.parentEmail = parentEmail;
+    }
+
     public List<GradeEntity> getGradeList() {
         return this.gradeList;
     }
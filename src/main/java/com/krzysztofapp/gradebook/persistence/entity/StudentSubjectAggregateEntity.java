@@ -0,0 +1,56 @@
+package com.krzysztofapp.gradebook.persistence.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Read model of the grades of one student in one subject, kept up to date by GradeServiceImpl so the weighted
+ * average is a primary key lookup instead of a scan over GRADE.
+ */
+@Entity
+@Table(name = "STUDENT_SUBJECT_AGGREGATE")
+public class StudentSubjectAggregateEntity {
+
+    @EmbeddedId
+    private StudentSubjectAggregateId id;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal weightedSum = BigDecimal.ZERO;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal weightSum = BigDecimal.ZERO;
+
+    private Long gradeCount = 0L;
+
+    public StudentSubjectAggregateId getId() {
+        return this.id;
+    }
+
+    public void setId(StudentSubjectAggregateId id) {
+        this.id = id;
+    }
+
+    public BigDecimal getWeightedSum() {
+        return this.weightedSum;
+    }
+
+    public void setWeightedSum(BigDecimal weightedSum) {
+        this.weightedSum = weightedSum;
+    }
+
+    public BigDecimal getWeightSum() {
+        return this.weightSum;
+    }
+
+    public void setWeightSum(BigDecimal weightSum) {
+        this.weightSum = weightSum;
+    }
+
+    public Long getGradeCount() {
+        return this.gradeCount;
+    }
+
+    public void setGradeCount(Long gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+}
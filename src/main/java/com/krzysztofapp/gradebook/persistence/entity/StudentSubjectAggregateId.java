@@ -0,0 +1,54 @@
+package com.krzysztofapp.gradebook.persistence.entity;
+
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class StudentSubjectAggregateId implements Serializable {
+
+    private Long studentId;
+
+    private Long subjectId;
+
+    public StudentSubjectAggregateId() {
+    }
+
+    public StudentSubjectAggregateId(Long studentId, Long subjectId) {
+        this.studentId = studentId;
+        this.subjectId = subjectId;
+    }
+
+    public Long getStudentId() {
+        return this.studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getSubjectId() {
+        return this.subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StudentSubjectAggregateId)) {
+            return false;
+        }
+        StudentSubjectAggregateId that = (StudentSubjectAggregateId) o;
+        return Objects.equals(this.studentId, that.studentId) && Objects.equals(this.subjectId, that.subjectId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.studentId, this.subjectId);
+    }
+}
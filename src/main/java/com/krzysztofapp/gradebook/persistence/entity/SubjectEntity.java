@@ -1,9 +1,15 @@
 package com.krzysztofapp.gradebook.persistence.entity;
 
+import com.krzysztofapp.gradebook.persistence.cache.CacheRegions;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SUBJECT)
 @Table(name = "SUBJECT")
 public class SubjectEntity extends AbstractEntity {
 
@@ -21,7 +27,7 @@ public class SubjectEntity extends AbstractEntity {
   @ManyToOne(fetch = FetchType.LAZY)
   private ClassYearEntity classYearEntity;
 
-  @OneToMany(mappedBy = "subjectEntity", cascade = CascadeType.REMOVE)
+  @OneToMany(mappedBy = "subjectEntity")
   private List<GradeEntity> gradeList;
 
   public String getName() {
@@ -1,10 +1,18 @@
 package com.krzysztofapp.gradebook.persistence.entity;
 
+import com.krzysztofapp.gradebook.persistence.cache.CacheRegions;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import java.util.List;
 
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TEACHER)
 @Table(name = "TEACHER")
 public class TeacherEntity extends AbstractEntity {
 
@@ -15,6 +23,7 @@ public class TeacherEntity extends AbstractEntity {
   //TODO IMPLEMENT: after creating subjectEntity and other subject classes uncomment the lines below, making necessary
   // adjustments; then generate getters and setters and fix the mappers
   @OneToMany(mappedBy = "teacherEntity", cascade = { CascadeType.DETACH, CascadeType.MERGE, CascadeType.REFRESH, CascadeType.PERSIST })
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TEACHER_SUBJECTS)
   private List<SubjectEntity> subjectList;
 
   @OneToMany(mappedBy = "teacherEntity", cascade = { CascadeType.DETACH, CascadeType.MERGE, CascadeType.REFRESH, CascadeType.PERSIST })
@@ -22,13 +31,6 @@ public class TeacherEntity extends AbstractEntity {
 
   //TODO IMPLEMENT: create @OneToMany with mappedBy to subjects after you create a base model
 
-  @PreRemove
-  public void removeIdFromGradeAndSubject() {
-    subjectList.forEach(subject -> subject.setTeacherEntity(null));
-    gradeList.forEach(grade -> grade.setTeacherEntity(null));
-
-  }
-
   public String getFirstName() {
 
     return this.firstName;
@@ -3,8 +3,14 @@ package com.krzysztofapp.gradebook.persistence.repo;
 import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
 import com.krzysztofapp.gradebook.persistence.repo.custom.ClassYearRepoCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 public interface ClassYearRepo extends JpaRepository<ClassYearEntity, Long>, ClassYearRepoCustom {
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ClassYearEntity c WHERE c.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
 }
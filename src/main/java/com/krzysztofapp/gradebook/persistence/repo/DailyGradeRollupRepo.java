@@ -0,0 +1,18 @@
+package com.krzysztofapp.gradebook.persistence.repo;
+
+import com.krzysztofapp.gradebook.persistence.entity.DailyGradeRollupEntity;
+import com.krzysztofapp.gradebook.persistence.entity.DailyGradeRollupId;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.repo.custom.DailyGradeRollupRepoCustom;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyGradeRollupRepo extends JpaRepository<DailyGradeRollupEntity, DailyGradeRollupId>, DailyGradeRollupRepoCustom {
+
+    @Query("SELECT r.id.subjectId FROM DailyGradeRollupEntity r WHERE r.id.dateOfGrade = :day AND r.id.gradeType = :gradeType")
+    List<Long> findSubjectIdsWithGradeAtCertainDay(@Param("day") LocalDate day, @Param("gradeType") GradeType gradeType);
+}
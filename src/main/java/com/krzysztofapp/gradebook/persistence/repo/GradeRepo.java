@@ -1,28 +1,82 @@
 package com.krzysztofapp.gradebook.persistence.repo;
 
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeNotificationEto;
 import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
 import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import com.krzysztofapp.gradebook.persistence.repo.custom.GradeRepoCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface GradeRepo extends JpaRepository<GradeEntity, Long>, GradeRepoCustom, JpaSpecificationExecutor<GradeEntity> {
 
+    String SELECT_GRADE_ETO = "SELECT new com.krzysztofapp.gradebook.domain.GradeEto(g.id, g.version, g.createDate, g.updateDate, g.value, " +
+            "g.weight, g.gradeType, g.comment, g.dateOfGrade, g.teacherEntity.id, g.subjectEntity.id, g.studentEntity.id) FROM GradeEntity g ";
 
-    Optional<GradeEntity> findGradeByDateOfGradeAndGradeType(LocalDate dateOfGrade, GradeType gradeType);
+    @Query(SELECT_GRADE_ETO + "WHERE g.id = :id")
+    Optional<GradeEto> findEtoById(@Param("id") Long id);
 
-    List<GradeEntity> findAllGradeByStudentEntityIdAndSubjectEntityId(Long studentId, Long subjectId);
+    @Query("SELECT COUNT(g) > 0 FROM GradeEntity g WHERE g.studentEntity.id = :studentId AND g.subjectEntity.id = :subjectId " +
+            "AND g.dateOfGrade = :date AND g.gradeType = :type")
+    boolean existsByStudentEntityIdAndSubjectEntityIdAndDateOfGradeAndGradeType(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId,
+                                                                                @Param("date") LocalDate dateOfGrade, @Param("type") GradeType gradeType);
+
+    @Query(SELECT_GRADE_ETO + "WHERE g.studentEntity.id = :studentId AND g.subjectEntity.id = :subjectId")
+    List<GradeEto> findAllGradeByStudentEntityIdAndSubjectEntityId(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
 
     List<GradeEntity> findAllByTeacherEntityIdIsNull();
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GradeEntity g SET g.teacherEntity = :newTeacher WHERE g.teacherEntity.id = :id")
+    int reassignTeacher(@Param("id") Long id, @Param("newTeacher") TeacherEntity newTeacher);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GradeEntity g SET g.teacherEntity = NULL WHERE g.teacherEntity.id = :id")
+    int clearTeacher(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GradeEntity g WHERE g.studentEntity.id = :id")
+    int deleteAllInBulkByStudentEntityId(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GradeEntity g WHERE g.subjectEntity.id = :id")
+    int deleteAllInBulkBySubjectEntityId(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GradeEntity g WHERE g.subjectEntity.id IN (SELECT s.id FROM SubjectEntity s WHERE s.classYearEntity.id = :id)")
+    int deleteAllInBulkBySubjectClassYearId(@Param("id") Long id);
+
     List<GradeEntity> findAllBySubjectEntityId(Long id);
 
     List<GradeEntity> findAllByStudentEntityId(Long id);
 
+    @Query("SELECT g.studentEntity.id FROM GradeEntity g WHERE g.studentEntity.id IN :studentIds AND g.subjectEntity.id = :subjectId " +
+            "AND g.dateOfGrade = :dateOfGrade AND g.gradeType = :gradeType")
+    List<Long> findStudentIdsWithGradeAtCertainDay(@Param("studentIds") Collection<Long> studentIds, @Param("subjectId") Long subjectId,
+                                                   @Param("dateOfGrade") LocalDate dateOfGrade, @Param("gradeType") GradeType gradeType);
+
+    @Query("SELECT g.studentEntity.id, g.subjectEntity.id, g.dateOfGrade, g.gradeType FROM GradeEntity g " +
+            "WHERE g.studentEntity.id IN :studentIds AND g.dateOfGrade BETWEEN :dateFrom AND :dateTo AND g.gradeType IS NOT NULL")
+    List<Object[]> findGradeKeysOfStudents(@Param("studentIds") Collection<Long> studentIds, @Param("dateFrom") LocalDate dateFrom,
+                                           @Param("dateTo") LocalDate dateTo);
+
+    @Query("SELECT DISTINCT g.studentEntity.id FROM GradeEntity g ORDER BY g.studentEntity.id")
+    List<Long> findAllGradedStudentIds();
+
+    @Query("SELECT new com.krzysztofapp.gradebook.domain.GradeNotificationEto(g.id, s.id, s.firstName, s.lastName, s.parentEmail, su.name, " +
+            "g.value, g.dateOfGrade, g.comment) FROM GradeEntity g JOIN g.studentEntity s JOIN g.subjectEntity su " +
+            "WHERE g.id = :id AND g.value IN :values AND s.parentEmail IS NOT NULL")
+    Optional<GradeNotificationEto> findNotificationById(@Param("id") Long id, @Param("values") Collection<Integer> values);
+
 
 
 
@@ -0,0 +1,44 @@
+package com.krzysztofapp.gradebook.persistence.repo;
+
+import com.krzysztofapp.gradebook.persistence.entity.OutboxEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxRepo extends JpaRepository<OutboxEntity, Long> {
+
+    @Query("SELECT o FROM OutboxEntity o WHERE o.dispatchedAt IS NULL AND o.id > :afterId ORDER BY o.id")
+    List<OutboxEntity> findPendingAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByDispatchedAtIsNull();
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEntity o WHERE o.dispatchedAt IS NULL")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Modifying
+    @Query("UPDATE OutboxEntity o SET o.dispatchedAt = :dispatchedAt WHERE o.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEntity o SET o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE OutboxEntity o SET o.dispatchedAt = NULL, o.attempts = 0, o.lastError = NULL WHERE o.id >= :fromId")
+    int resetFrom(@Param("fromId") Long fromId);
+
+    @Modifying
+    @Query("UPDATE OutboxEntity o SET o.dispatchedAt = NULL, o.attempts = 0, o.lastError = NULL " +
+            "WHERE o.id >= :fromId AND o.studentId = :studentId")
+    int resetFromForStudent(@Param("fromId") Long fromId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEntity o WHERE o.dispatchedAt < :dispatchedBefore")
+    int deleteDispatchedBefore(@Param("dispatchedBefore") LocalDateTime dispatchedBefore);
+}
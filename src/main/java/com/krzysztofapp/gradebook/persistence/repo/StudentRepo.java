@@ -3,6 +3,23 @@ package com.krzysztofapp.gradebook.persistence.repo;
 import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
 import com.krzysztofapp.gradebook.persistence.repo.custom.StudentRepoCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface StudentRepo extends JpaRepository<StudentEntity, Long>, StudentRepoCustom {
+
+    @Query("SELECT s.id, s.firstName, s.lastName FROM StudentEntity s WHERE s.classYearEntity.id = :id ORDER BY s.lastName, s.firstName, s.id")
+    List<Object[]> findAllNamesByClassYearEntityId(@Param("id") Long id);
+
+    boolean existsByClassYearEntityId(Long id);
+
+    @Query("SELECT s.id FROM StudentEntity s")
+    List<Long> findAllIds();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StudentEntity s WHERE s.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
 }
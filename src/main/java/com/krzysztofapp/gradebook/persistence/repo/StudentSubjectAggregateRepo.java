@@ -0,0 +1,9 @@
+package com.krzysztofapp.gradebook.persistence.repo;
+
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateId;
+import com.krzysztofapp.gradebook.persistence.repo.custom.StudentSubjectAggregateRepoCustom;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StudentSubjectAggregateRepo extends JpaRepository<StudentSubjectAggregateEntity, StudentSubjectAggregateId>, StudentSubjectAggregateRepoCustom {
+}
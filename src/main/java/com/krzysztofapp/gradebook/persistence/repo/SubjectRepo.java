@@ -1,9 +1,16 @@
 package com.krzysztofapp.gradebook.persistence.repo;
 
+import com.krzysztofapp.gradebook.persistence.cache.CacheRegions;
 import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
 import com.krzysztofapp.gradebook.persistence.repo.custom.SubjectRepoCustom;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 
@@ -13,5 +20,30 @@ public interface SubjectRepo extends JpaRepository<SubjectEntity, Long>, Subject
 
     List<SubjectEntity> findAllStudentEntityByClassYearEntityId(Long id);
 
+    @QueryHints({@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHE_REGION, value = CacheRegions.SUBJECTS_BY_TEACHER)})
     List<SubjectEntity> findAllByTeacherEntityId(Long id);
+
+    boolean existsByTeacherEntityId(Long id);
+
+    @Query("SELECT s.id, s.teacherEntity.id FROM SubjectEntity s")
+    List<Object[]> findAllIdsWithTeacherId();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SubjectEntity s SET s.teacherEntity = :newTeacher WHERE s.teacherEntity.id = :id")
+    int reassignTeacher(@Param("id") Long id, @Param("newTeacher") TeacherEntity newTeacher);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SubjectEntity s WHERE s.classYearEntity.id = :id")
+    int deleteAllInBulkByClassYearEntityId(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SubjectEntity s WHERE s.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
+
+    @Query("SELECT s.name FROM SubjectEntity s WHERE s.teacherEntity.id = :id")
+    List<String> findAllNamesByTeacherEntityId(@Param("id") Long id);
+
+    @Query("SELECT s.id, s.name FROM SubjectEntity s WHERE s.classYearEntity.id = :id ORDER BY s.name, s.id")
+    List<Object[]> findAllNamesByClassYearEntityId(@Param("id") Long id);
 }
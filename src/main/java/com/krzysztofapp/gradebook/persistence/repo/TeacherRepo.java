@@ -3,6 +3,9 @@ package com.krzysztofapp.gradebook.persistence.repo;
 import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import com.krzysztofapp.gradebook.persistence.repo.custom.TeacherRepoCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 //Dev Note: using this, a spring will create a proxy TeacherRepo and automatically use the TeacherRepoCustom methods,
 // with implementations provided by its TeacherRepoCustomImpl
@@ -13,6 +16,9 @@ public interface TeacherRepo extends JpaRepository<TeacherEntity, Long>, Teacher
 //  @Query("SELECT t FROM TeacherEntity t WHERE t.lastName = :lastName")
 //  TeacherEntity getTeacherByLastname(@Param("lastName") String lastName);
 
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM TeacherEntity t WHERE t.id = :id")
+  int deleteInBulkById(@Param("id") Long id);
 
 
 }
@@ -0,0 +1,23 @@
+package com.krzysztofapp.gradebook.persistence.repo.custom;
+
+import com.krzysztofapp.gradebook.domain.GradeDayRollupEto;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DailyGradeRollupRepoCustom {
+
+    void applyGradeChange(LocalDate dateOfGrade, GradeType gradeType, Long subjectId, long gradeCountDelta);
+
+    int removeGradesOfStudent(Long studentId);
+
+    List<GradeDayRollupEto> findAllByDayAndGradeType(LocalDate dateFrom, LocalDate dateTo, Collection<GradeType> gradeTypes);
+
+    int rebuildFromGrades();
+
+    int deleteAllBySubjectId(Long subjectId);
+
+    int deleteAllByClassYearId(Long classYearId);
+}
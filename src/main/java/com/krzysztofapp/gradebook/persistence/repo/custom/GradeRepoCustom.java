@@ -1,12 +1,25 @@
 package com.krzysztofapp.gradebook.persistence.repo.custom;
 
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeExportRow;
+import com.krzysztofapp.gradebook.domain.GradeFilterCriteria;
 import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
-import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.domain.GradeSearchCursor;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface GradeRepoCustom {
 
-    List<GradeEntity> findByCriteria(GradeSearchCriteria criteria);
+    List<GradeEto> findByCriteria(GradeSearchCriteria criteria);
+
+    List<GradeEto> findPageByCriteria(GradeSearchCriteria criteria, GradeSearchCursor after, int limit);
+
+    List<GradeEto> findByFilter(GradeFilterCriteria criteria, int limit);
+
+    void scrollByCriteria(GradeSearchCriteria criteria, Consumer<GradeEto> consumer);
+
+    void exportByDateRange(LocalDate dateFrom, LocalDate dateTo, Consumer<GradeExportRow> consumer);
 
 }
@@ -1,9 +1,11 @@
 package com.krzysztofapp.gradebook.persistence.repo.custom;
 
+import com.krzysztofapp.gradebook.domain.GradeDayCountEto;
 import com.krzysztofapp.gradebook.persistence.entity.GradeType;
 import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface StudentRepoCustom {
@@ -11,4 +13,8 @@ public interface StudentRepoCustom {
     List<StudentEntity> findAllByGradeFAtCertainDay(LocalDate day);
 
     List<StudentEntity> findAllByCertainGradeAtCertainDay(GradeType grade, LocalDate date);
+
+    List<StudentEntity> findAllByGradeAtCertainDayInSubjects(GradeType grade, LocalDate day, Collection<Long> subjectIds);
+
+    List<GradeDayCountEto> countStudentsByDayAndGradeType(LocalDate dateFrom, LocalDate dateTo, Collection<GradeType> gradeTypes);
 }
@@ -0,0 +1,23 @@
+package com.krzysztofapp.gradebook.persistence.repo.custom;
+
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface StudentSubjectAggregateRepoCustom {
+
+    void applyGradeChange(Long studentId, Long subjectId, BigDecimal weightedSumDelta, BigDecimal weightSumDelta, long gradeCountDelta);
+
+    StudentSubjectAggregateEntity calculateFromGrades(Long studentId, Long subjectId);
+
+    int rebuildForStudents(Long studentIdFrom, Long studentIdTo);
+
+    List<StudentSubjectAggregateEntity> calculateFromGradesForClassYear(Long classYearId);
+
+    int deleteAllByStudentId(Long studentId);
+
+    int deleteAllBySubjectId(Long subjectId);
+
+    int deleteAllBySubjectClassYearId(Long classYearId);
+}
@@ -0,0 +1,125 @@
+package com.krzysztofapp.gradebook.persistence.repo.custom.impl;
+
+import com.krzysztofapp.gradebook.domain.GradeDayRollupEto;
+import com.krzysztofapp.gradebook.persistence.entity.DailyGradeRollupEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.repo.custom.DailyGradeRollupRepoCustom;
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public class DailyGradeRollupRepoCustomImpl implements DailyGradeRollupRepoCustom {
+
+    private static final String GRADES_OF_DAY = "FROM GRADE g WHERE g.date_of_grade = :day AND g.grade_type = :gradeType AND g.subject_entity_id = :subjectId";
+
+    private static final String ROLLUP_OF_DAY = "date_of_grade = :day AND grade_type = :gradeType AND subject_id = :subjectId";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public void applyGradeChange(LocalDate dateOfGrade, GradeType gradeType, Long subjectId, long gradeCountDelta) {
+
+        if (dateOfGrade == null || gradeType == null || gradeCountDelta == 0) {
+            return;
+        }
+        em.flush();
+        SqlDialects.insertIfAbsent(em, "DAILY_GRADE_ROLLUP", "date_of_grade, grade_type, subject_id, class_year_id",
+                "SELECT ?, ?, s.id, s.class_year_entity_id FROM SUBJECT s WHERE s.id = ?", dateOfGrade, gradeType.name(), subjectId);
+        rollupQuery("UPDATE DAILY_GRADE_ROLLUP SET " +
+                "student_count = CASE WHEN grade_count IS NULL THEN (SELECT COUNT(DISTINCT g.student_entity_id) " + GRADES_OF_DAY + ") " +
+                "ELSE student_count + :delta END, " +
+                "grade_count = CASE WHEN grade_count IS NULL THEN (SELECT COUNT(*) " + GRADES_OF_DAY + ") ELSE grade_count + :delta END " +
+                "WHERE " + ROLLUP_OF_DAY, dateOfGrade, gradeType, subjectId)
+                .setParameter("delta", gradeCountDelta)
+                .executeUpdate();
+        rollupQuery("DELETE FROM DAILY_GRADE_ROLLUP WHERE " + ROLLUP_OF_DAY + " AND grade_count = 0", dateOfGrade, gradeType, subjectId)
+                .executeUpdate();
+    }
+
+    //Dev Note: has to run before the student's grades are deleted, the amount each row goes down by is counted from them
+    @Override
+    public int removeGradesOfStudent(Long studentId) {
+
+        em.flush();
+        String gradesOfStudent = "FROM GRADE g WHERE g.student_entity_id = :studentId AND g.date_of_grade = r.date_of_grade " +
+                "AND g.grade_type = r.grade_type AND g.subject_entity_id = r.subject_id";
+        int updated = em.createNativeQuery("UPDATE DAILY_GRADE_ROLLUP r SET " +
+                        "student_count = student_count - (SELECT COUNT(*) " + gradesOfStudent + "), " +
+                        "grade_count = grade_count - (SELECT COUNT(*) " + gradesOfStudent + ") " +
+                        "WHERE EXISTS (SELECT 1 " + gradesOfStudent + ")")
+                .setParameter("studentId", studentId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(DailyGradeRollupEntity.class)
+                .executeUpdate();
+        if (updated > 0) {
+            em.createNativeQuery("DELETE FROM DAILY_GRADE_ROLLUP WHERE grade_count = 0")
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(DailyGradeRollupEntity.class)
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    @Override
+    public List<GradeDayRollupEto> findAllByDayAndGradeType(LocalDate dateFrom, LocalDate dateTo, Collection<GradeType> gradeTypes) {
+
+        boolean allGradeTypes = gradeTypes == null || gradeTypes.isEmpty();
+        TypedQuery<GradeDayRollupEto> query = em.createQuery("SELECT new com.krzysztofapp.gradebook.domain.GradeDayRollupEto(r.id.dateOfGrade, " +
+                        "r.id.gradeType, r.id.subjectId, r.id.classYearId, r.gradeCount, r.studentCount) FROM DailyGradeRollupEntity r " +
+                        "WHERE r.id.dateOfGrade BETWEEN :dateFrom AND :dateTo " +
+                        (allGradeTypes ? "" : "AND r.id.gradeType IN :gradeTypes ") +
+                        "ORDER BY r.id.dateOfGrade, r.id.gradeType, r.id.subjectId", GradeDayRollupEto.class)
+                .setParameter("dateFrom", dateFrom)
+                .setParameter("dateTo", dateTo);
+        if (!allGradeTypes) {
+            query.setParameter("gradeTypes", gradeTypes);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public int rebuildFromGrades() {
+
+        em.createQuery("DELETE FROM DailyGradeRollupEntity r").executeUpdate();
+        return em.createNativeQuery("INSERT INTO DAILY_GRADE_ROLLUP (date_of_grade, grade_type, subject_id, class_year_id, grade_count, student_count) " +
+                        "SELECT g.date_of_grade, g.grade_type, g.subject_entity_id, s.class_year_entity_id, COUNT(*), COUNT(DISTINCT g.student_entity_id) " +
+                        "FROM GRADE g JOIN SUBJECT s ON s.id = g.subject_entity_id " +
+                        "WHERE g.date_of_grade IS NOT NULL AND g.grade_type IS NOT NULL " +
+                        "GROUP BY g.date_of_grade, g.grade_type, g.subject_entity_id, s.class_year_entity_id")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(DailyGradeRollupEntity.class)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteAllBySubjectId(Long subjectId) {
+
+        return em.createQuery("DELETE FROM DailyGradeRollupEntity r WHERE r.id.subjectId = :subjectId")
+                .setParameter("subjectId", subjectId)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteAllByClassYearId(Long classYearId) {
+
+        return em.createQuery("DELETE FROM DailyGradeRollupEntity r WHERE r.id.classYearId = :classYearId")
+                .setParameter("classYearId", classYearId)
+                .executeUpdate();
+    }
+
+    private NativeQuery<?> rollupQuery(String sql, LocalDate dateOfGrade, GradeType gradeType, Long subjectId) {
+
+        return em.createNativeQuery(sql)
+                .setParameter("day", dateOfGrade)
+                .setParameter("gradeType", gradeType.name())
+                .setParameter("subjectId", subjectId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(DailyGradeRollupEntity.class);
+    }
+}
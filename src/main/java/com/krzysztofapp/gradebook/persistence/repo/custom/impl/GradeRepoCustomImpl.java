@@ -1,68 +1,217 @@
 package com.krzysztofapp.gradebook.persistence.repo.custom.impl;
 
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeExportRow;
+import com.krzysztofapp.gradebook.domain.GradeFilterCriteria;
 import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
-import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.domain.GradeSearchCursor;
+import com.krzysztofapp.gradebook.domain.GradeSortField;
+import com.krzysztofapp.gradebook.persistence.entity.QGradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.QSubjectEntity;
 import com.krzysztofapp.gradebook.persistence.repo.custom.GradeRepoCustom;
+import com.krzysztofapp.gradebook.persistence.repo.custom.impl.GradeSearchQueries.Shape;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
-import java.util.ArrayList;
+import javax.persistence.TypedQuery;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 
 public class GradeRepoCustomImpl implements GradeRepoCustom {
 
+    private static final int SCROLL_FETCH_SIZE = 500;
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String EXPORT_GRADES = "SELECT new com.krzysztofapp.gradebook.domain.GradeExportRow(g.id, g.dateOfGrade, g.gradeType, " +
+            "g.value, g.weight, g.studentEntity.id, g.subjectEntity.id, g.teacherEntity.id, g.comment) FROM GradeEntity g " +
+            "WHERE g.dateOfGrade BETWEEN :dateFrom AND :dateTo";
 
     @PersistenceContext
     private EntityManager em;
 
 
     @Override
-    public List<GradeEntity> findByCriteria(GradeSearchCriteria criteria) {
+    public List<GradeEto> findByCriteria(GradeSearchCriteria criteria) {
+
+        List<GradeEto> result = GradeSearchQueries.create(em, criteria, Shape.BY_ID).getResultList();
+
+        return result;
+    }
+
+    @Override
+    public List<GradeEto> findPageByCriteria(GradeSearchCriteria criteria, GradeSearchCursor after, int limit) {
+
+        TypedQuery<GradeEto> query;
+        if(after == null) {
+            query = GradeSearchQueries.create(em, criteria, Shape.BY_DATE);
+        } else if(after.getDateOfGrade() == null) {
+            query = GradeSearchQueries.create(em, criteria, Shape.BY_DATE_AFTER_UNDATED)
+                    .setParameter(GradeSearchQueries.AFTER_ID, after.getId());
+        } else {
+            query = GradeSearchQueries.create(em, criteria, Shape.BY_DATE_AFTER_DATED)
+                    .setParameter(GradeSearchQueries.AFTER_DATE, after.getDateOfGrade())
+                    .setParameter(GradeSearchQueries.AFTER_ID, after.getId());
+        }
+
+        return query
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<GradeEto> findByFilter(GradeFilterCriteria criteria, int limit) {
+
+        QGradeEntity grade = QGradeEntity.gradeEntity;
+        QSubjectEntity subject = QSubjectEntity.subjectEntity;
+        JPAQuery<Tuple> query = new JPAQuery<Void>(em)
+                .select(grade.id, grade.version, grade.createDate, grade.updateDate, grade.value, grade.weight, grade.gradeType,
+                        grade.comment, grade.dateOfGrade, grade.teacherEntity.id, grade.subjectEntity.id, grade.studentEntity.id)
+                .from(grade);
+        if(criteria.getClassYearId() != null) {
+            query.innerJoin(grade.subjectEntity, subject)
+                    .where(subject.classYearEntity.id.eq(criteria.getClassYearId()));
+        }
+
+        return query.where(createFilterPredicate(grade, criteria))
+                .orderBy(createFilterOrder(grade, criteria))
+                .limit(limit)
+                .fetch()
+                .stream()
+                .map(row -> new GradeEto(row.get(grade.id), row.get(grade.version), row.get(grade.createDate), row.get(grade.updateDate),
+                        row.get(grade.value), row.get(grade.weight), row.get(grade.gradeType), row.get(grade.comment), row.get(grade.dateOfGrade),
+                        row.get(grade.teacherEntity.id), row.get(grade.subjectEntity.id), row.get(grade.studentEntity.id)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void scrollByCriteria(GradeSearchCriteria criteria, Consumer<GradeEto> consumer) {
 
-        CriteriaBuilder query = em.getCriteriaBuilder();
-        CriteriaQuery criteriaquery = query.createQuery();
-        Root<GradeEntity> grade = criteriaquery.from(GradeEntity.class);
-        List<Predicate> predicates = new ArrayList<Predicate>();
+        Query<GradeEto> scrollQuery = GradeSearchQueries.create(em, criteria, Shape.BY_DATE).unwrap(Query.class);
+        ScrollableResults results = scrollQuery
+                .setFetchSize(SCROLL_FETCH_SIZE)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            while (results.next()) {
+                consumer.accept((GradeEto) results.get(0));
+            }
+        } finally {
+            results.close();
+        }
+    }
 
-        if(criteria.getGradeType() != null) {
-            predicates.add(query.equal(grade.get("gradeType"), criteria.getGradeType()));
+    //Dev Note: a stateless session keeps no persistence context and no second-level cache bookkeeping, every row is
+    // garbage once the consumer returns. MySQL only honours the fetch size with useCursorFetch=true on the JDBC URL,
+    // without it Connector/J reads the whole result into memory.
+    @Override
+    public void exportByDateRange(LocalDate dateFrom, LocalDate dateTo, Consumer<GradeExportRow> consumer) {
+
+        StatelessSession session = em.getEntityManagerFactory().unwrap(SessionFactory.class).openStatelessSession();
+        try {
+            session.doWork(connection -> connection.setReadOnly(true));
+            Transaction transaction = session.beginTransaction();
+            ScrollableResults results = session.createQuery(EXPORT_GRADES, GradeExportRow.class)
+                    .setParameter("dateFrom", dateFrom)
+                    .setParameter("dateTo", dateTo)
+                    .setFetchSize(EXPORT_FETCH_SIZE)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            try {
+                while (results.next()) {
+                    consumer.accept((GradeExportRow) results.get(0));
+                }
+            } finally {
+                results.close();
+                transaction.rollback();
+            }
+        } finally {
+            session.close();
         }
-        if(criteria.getStudentEntityId() != null) {
-            predicates.add(query.equal(grade.get("studentEntity"), criteria.getStudentEntityId()));
+    }
+
+    private Predicate createFilterPredicate(QGradeEntity grade, GradeFilterCriteria criteria) {
+
+        BooleanBuilder predicate = new BooleanBuilder();
+
+        if(criteria.getStudentEntityIds() != null && !criteria.getStudentEntityIds().isEmpty()) {
+            predicate.and(grade.studentEntity.id.in(criteria.getStudentEntityIds()));
+        }
+        if(criteria.getSubjectEntityIds() != null && !criteria.getSubjectEntityIds().isEmpty()) {
+            predicate.and(grade.subjectEntity.id.in(criteria.getSubjectEntityIds()));
+        }
+        if(criteria.getGradeTypes() != null && !criteria.getGradeTypes().isEmpty()) {
+            predicate.and(grade.gradeType.in(criteria.getGradeTypes()));
         }
-        if(criteria.getSubjectEntityId() != null) {
-            predicates.add(query.equal(grade.get("subjectEntity"), criteria.getSubjectEntityId()));
+        if(criteria.getTeacherId() != null) {
+            predicate.and(grade.teacherEntity.id.eq(criteria.getTeacherId()));
         }
         if(criteria.getValueFrom() != null) {
-            predicates.add(query.greaterThanOrEqualTo(grade.get("value"), criteria.getValueFrom()));
+            predicate.and(grade.value.goe(criteria.getValueFrom()));
         }
         if(criteria.getValueTo() != null) {
-            predicates.add(query.lessThanOrEqualTo(grade.get("value"), criteria.getValueTo()));
+            predicate.and(grade.value.loe(criteria.getValueTo()));
         }
         if(criteria.getCreatedDateFrom() != null) {
-            predicates.add(query.greaterThanOrEqualTo(grade.get("dateOfGrade"), criteria.getCreatedDateFrom()));
+            predicate.and(grade.dateOfGrade.goe(criteria.getCreatedDateFrom()));
         }
         if(criteria.getCreatedDateTo() != null) {
-            predicates.add(query.lessThanOrEqualTo(grade.get("dateOfGrade"), criteria.getCreatedDateTo()));
+            predicate.and(grade.dateOfGrade.loe(criteria.getCreatedDateTo()));
         }
         if(criteria.getWeightFrom() != null) {
-            predicates.add(query.greaterThanOrEqualTo(grade.get("weight"), criteria.getWeightFrom()));
+            predicate.and(grade.weight.goe(criteria.getWeightFrom()));
         }
         if(criteria.getWeightTo() != null) {
-            predicates.add(query.lessThanOrEqualTo(grade.get("weight"), criteria.getWeightTo()));
+            predicate.and(grade.weight.loe(criteria.getWeightTo()));
         }
 
-        criteriaquery.select(grade)
-                .where(predicates.toArray(new Predicate[0]));
+        return predicate;
+    }
 
-        List<GradeEntity> result = em.createQuery(criteriaquery).getResultList();
+    private OrderSpecifier<?>[] createFilterOrder(QGradeEntity grade, GradeFilterCriteria criteria) {
 
-        return result;
+        GradeSortField sortBy = criteria.getSortBy() == null ? GradeSortField.ID : criteria.getSortBy();
+        ComparableExpressionBase<?> sortPath;
+        switch (sortBy) {
+            case DATE_OF_GRADE:
+                sortPath = grade.dateOfGrade;
+                break;
+            case VALUE:
+                sortPath = grade.value;
+                break;
+            case WEIGHT:
+                sortPath = grade.weight;
+                break;
+            case GRADE_TYPE:
+                sortPath = grade.gradeType;
+                break;
+            case STUDENT:
+                sortPath = grade.studentEntity.id;
+                break;
+            case SUBJECT:
+                sortPath = grade.subjectEntity.id;
+                break;
+            default:
+                sortPath = grade.id;
+        }
+        OrderSpecifier<?> order = Boolean.TRUE.equals(criteria.getSortDescending()) ? sortPath.desc() : sortPath.asc();
+
+        return sortBy == GradeSortField.ID ? new OrderSpecifier<?>[] { order } : new OrderSpecifier<?>[] { order, grade.id.asc() };
     }
 
 }
@@ -0,0 +1,118 @@
+package com.krzysztofapp.gradebook.persistence.repo.custom.impl;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * JPQL of the grade search, rendered once per {@link Shape} and combination of filled {@link GradeSearchCriteria}
+ * filters (a bitmask over the 9 filters, so at most 512 texts per shape).
+ *
+ * Every value is bound as a parameter, a search with the same filters always sends the same text: Hibernate finds
+ * the parsed query in its plan cache and the database can reuse the prepared statement.
+ */
+final class GradeSearchQueries {
+
+    private static final Filter[] FILTERS = Filter.values();
+
+    private static final AtomicReferenceArray<String> TEMPLATES = new AtomicReferenceArray<>(Shape.values().length << FILTERS.length);
+
+    static final String AFTER_DATE = "afterDate";
+
+    static final String AFTER_ID = "afterId";
+
+    enum Shape {
+
+        BY_ID(null, "g.id"),
+        BY_DATE(null, "g.dateOfGrade, g.id"),
+        BY_DATE_AFTER_UNDATED("(g.dateOfGrade IS NOT NULL OR g.id > :" + AFTER_ID + ")", "g.dateOfGrade, g.id"),
+        BY_DATE_AFTER_DATED("(g.dateOfGrade > :" + AFTER_DATE + " OR (g.dateOfGrade = :" + AFTER_DATE + " AND g.id > :" + AFTER_ID + "))",
+                "g.dateOfGrade, g.id");
+
+        private final String condition;
+
+        private final String orderBy;
+
+        Shape(String condition, String orderBy) {
+            this.condition = condition;
+            this.orderBy = orderBy;
+        }
+    }
+
+    private enum Filter {
+
+        GRADE_TYPE("g.gradeType = :gradeType", "gradeType", GradeSearchCriteria::getGradeType),
+        STUDENT("g.studentEntity.id = :studentEntityId", "studentEntityId", GradeSearchCriteria::getStudentEntityId),
+        SUBJECT("g.subjectEntity.id = :subjectEntityId", "subjectEntityId", GradeSearchCriteria::getSubjectEntityId),
+        VALUE_FROM("g.value >= :valueFrom", "valueFrom", GradeSearchCriteria::getValueFrom),
+        VALUE_TO("g.value <= :valueTo", "valueTo", GradeSearchCriteria::getValueTo),
+        DATE_FROM("g.dateOfGrade >= :createdDateFrom", "createdDateFrom", GradeSearchCriteria::getCreatedDateFrom),
+        DATE_TO("g.dateOfGrade <= :createdDateTo", "createdDateTo", GradeSearchCriteria::getCreatedDateTo),
+        WEIGHT_FROM("g.weight >= :weightFrom", "weightFrom", GradeSearchCriteria::getWeightFrom),
+        WEIGHT_TO("g.weight <= :weightTo", "weightTo", GradeSearchCriteria::getWeightTo);
+
+        private final String condition;
+
+        private final String parameter;
+
+        private final Function<GradeSearchCriteria, Object> value;
+
+        Filter(String condition, String parameter, Function<GradeSearchCriteria, Object> value) {
+            this.condition = condition;
+            this.parameter = parameter;
+            this.value = value;
+        }
+    }
+
+    private GradeSearchQueries() {
+    }
+
+    static TypedQuery<GradeEto> create(EntityManager em, GradeSearchCriteria criteria, Shape shape) {
+
+        int mask = 0;
+        for (Filter filter : FILTERS) {
+            if (filter.value.apply(criteria) != null) {
+                mask |= 1 << filter.ordinal();
+            }
+        }
+
+        TypedQuery<GradeEto> query = em.createQuery(templateOf(shape, mask), GradeEto.class);
+        for (Filter filter : FILTERS) {
+            if ((mask & 1 << filter.ordinal()) != 0) {
+                query.setParameter(filter.parameter, filter.value.apply(criteria));
+            }
+        }
+        return query;
+    }
+
+    static String templateOf(Shape shape, int mask) {
+
+        int index = shape.ordinal() << FILTERS.length | mask;
+        String template = TEMPLATES.get(index);
+        if (template == null) {
+            template = render(shape, mask);
+            TEMPLATES.set(index, template);
+        }
+        return template;
+    }
+
+    private static String render(Shape shape, int mask) {
+
+        StringJoiner conditions = new StringJoiner(" AND ", "WHERE ", " ").setEmptyValue("");
+        for (Filter filter : FILTERS) {
+            if ((mask & 1 << filter.ordinal()) != 0) {
+                conditions.add(filter.condition);
+            }
+        }
+        if (shape.condition != null) {
+            conditions.add(shape.condition);
+        }
+        return GradeRepo.SELECT_GRADE_ETO + conditions + "ORDER BY " + shape.orderBy;
+    }
+}
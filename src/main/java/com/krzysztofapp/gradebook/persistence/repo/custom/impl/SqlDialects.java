@@ -0,0 +1,57 @@
+package com.krzysztofapp.gradebook.persistence.repo.custom.impl;
+
+import org.hibernate.Session;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Picks between the H2 and MySQL form of the few native statements that have no portable spelling.
+ */
+final class SqlDialects {
+
+    private static final String DUPLICATE_KEY = "23505";
+
+    private SqlDialects() {
+    }
+
+    private static boolean isMySql(EntityManager em) {
+        return em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+
+    /**
+     * Inserts the keys selected by {@code source} that are not in {@code table} yet, columns outside the key stay NULL.
+     * The parameters are bound in order to the {@code ?} of {@code source}.
+     */
+    //Dev Note: H2's MERGE waits for a transaction inserting the same new key and then fails with a duplicate key, run
+    // again it finds the committed row. Over JDBC, as a failed native query would mark the whole transaction rollback-only.
+    static void insertIfAbsent(EntityManager em, String table, String keyColumns, String source, Object... parameters) {
+
+        boolean mySql = isMySql(em);
+        String sql;
+        if (mySql) {
+            String firstKeyColumn = keyColumns.split(",")[0].trim();
+            sql = "INSERT INTO " + table + " (" + keyColumns + ") " + source + " ON DUPLICATE KEY UPDATE " + firstKeyColumn + " = " + firstKeyColumn;
+        } else {
+            sql = "MERGE INTO " + table + " (" + keyColumns + ") KEY (" + keyColumns + ") " + source;
+        }
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try {
+                    statement.executeUpdate();
+                } catch (SQLException e) {
+                    if (mySql || !DUPLICATE_KEY.equals(e.getSQLState())) {
+                        throw e;
+                    }
+                    statement.executeUpdate();
+                }
+            }
+        });
+    }
+}
@@ -1,12 +1,15 @@
 package com.krzysztofapp.gradebook.persistence.repo.custom.impl;
 
+import com.krzysztofapp.gradebook.domain.GradeDayCountEto;
 import com.krzysztofapp.gradebook.persistence.entity.GradeType;
 import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
 import com.krzysztofapp.gradebook.persistence.repo.custom.StudentRepoCustom;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public class StudentRepoCustomImpl implements StudentRepoCustom {
@@ -35,4 +38,31 @@ public class StudentRepoCustomImpl implements StudentRepoCustom {
                 .getResultList();
         return result;
     }
+
+    @Override
+    public List<StudentEntity> findAllByGradeAtCertainDayInSubjects(GradeType grade, LocalDate day, Collection<Long> subjectIds) {
+
+        return em.createQuery("SELECT DISTINCT s FROM StudentEntity s JOIN s.gradeList gl " +
+                        "WHERE gl.subjectEntity.id IN :subjectIds AND gl.gradeType = :grade AND gl.dateOfGrade = :day", StudentEntity.class)
+                .setParameter("subjectIds", subjectIds)
+                .setParameter("grade", grade)
+                .setParameter("day", day)
+                .getResultList();
+    }
+
+    @Override
+    public List<GradeDayCountEto> countStudentsByDayAndGradeType(LocalDate dateFrom, LocalDate dateTo, Collection<GradeType> gradeTypes) {
+
+        boolean allGradeTypes = gradeTypes == null || gradeTypes.isEmpty();
+        TypedQuery<GradeDayCountEto> query = em.createQuery("SELECT new com.krzysztofapp.gradebook.domain.GradeDayCountEto(g.dateOfGrade, g.gradeType, " +
+                        "COUNT(DISTINCT g.studentEntity.id)) FROM GradeEntity g WHERE g.dateOfGrade BETWEEN :dateFrom AND :dateTo " +
+                        (allGradeTypes ? "" : "AND g.gradeType IN :gradeTypes ") +
+                        "GROUP BY g.dateOfGrade, g.gradeType ORDER BY g.dateOfGrade, g.gradeType", GradeDayCountEto.class)
+                .setParameter("dateFrom", dateFrom)
+                .setParameter("dateTo", dateTo);
+        if (!allGradeTypes) {
+            query.setParameter("gradeTypes", gradeTypes);
+        }
+        return query.getResultList();
+    }
 }
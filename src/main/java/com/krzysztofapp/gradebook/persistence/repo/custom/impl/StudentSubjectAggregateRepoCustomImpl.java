@@ -0,0 +1,141 @@
+package com.krzysztofapp.gradebook.persistence.repo.custom.impl;
+
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateId;
+import com.krzysztofapp.gradebook.persistence.repo.custom.StudentSubjectAggregateRepoCustom;
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class StudentSubjectAggregateRepoCustomImpl implements StudentSubjectAggregateRepoCustom {
+
+    private static final String GRADES_OF_PAIR = "FROM GRADE g WHERE g.student_entity_id = :studentId AND g.subject_entity_id = :subjectId";
+
+    private static final String SUMS_OF_GRADES = "SELECT g.studentEntity.id, g.subjectEntity.id, SUM(g.value * g.weight), SUM(g.weight), COUNT(g) FROM GradeEntity g ";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    //Dev Note: a pair's row is made sure to exist first, with NULL sums when it is new. The UPDATE fills a new row from
+    // GRADE, which already holds this change, and adds the delta to an existing one - so grades inserted before the
+    // aggregate existed are counted, and writers of different grades of a pair need no lock. MySQL assigns left to
+    // right, grade_count has to stay last as the other columns check it.
+    @Override
+    public void applyGradeChange(Long studentId, Long subjectId, BigDecimal weightedSumDelta, BigDecimal weightSumDelta, long gradeCountDelta) {
+
+        em.flush();
+        SqlDialects.insertIfAbsent(em, "STUDENT_SUBJECT_AGGREGATE", "student_id, subject_id", "VALUES (?, ?)", studentId, subjectId);
+        em.createNativeQuery("UPDATE STUDENT_SUBJECT_AGGREGATE SET " +
+                        "weighted_sum = CASE WHEN grade_count IS NULL THEN (SELECT COALESCE(SUM(g.value * g.weight), 0) " + GRADES_OF_PAIR + ") " +
+                        "ELSE weighted_sum + :weightedSum END, " +
+                        "weight_sum = CASE WHEN grade_count IS NULL THEN (SELECT COALESCE(SUM(g.weight), 0) " + GRADES_OF_PAIR + ") " +
+                        "ELSE weight_sum + :weightSum END, " +
+                        "grade_count = CASE WHEN grade_count IS NULL THEN (SELECT COUNT(*) " + GRADES_OF_PAIR + ") " +
+                        "ELSE grade_count + :gradeCount END " +
+                        "WHERE student_id = :studentId AND subject_id = :subjectId")
+                .setParameter("weightedSum", weightedSumDelta)
+                .setParameter("weightSum", weightSumDelta)
+                .setParameter("gradeCount", gradeCountDelta)
+                .setParameter("studentId", studentId)
+                .setParameter("subjectId", subjectId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(StudentSubjectAggregateEntity.class)
+                .executeUpdate();
+    }
+
+    @Override
+    public StudentSubjectAggregateEntity calculateFromGrades(Long studentId, Long subjectId) {
+
+        List<Object[]> result = em.createQuery(SUMS_OF_GRADES +
+                        "WHERE g.studentEntity.id = :studentId AND g.subjectEntity.id = :subjectId GROUP BY g.studentEntity.id, g.subjectEntity.id", Object[].class)
+                .setParameter("studentId", studentId)
+                .setParameter("subjectId", subjectId)
+                .getResultList();
+        if (result.isEmpty()) {
+            StudentSubjectAggregateEntity aggregate = new StudentSubjectAggregateEntity();
+            aggregate.setId(new StudentSubjectAggregateId(studentId, subjectId));
+            return aggregate;
+        }
+        return toAggregate(result.get(0));
+    }
+
+    @Override
+    public int rebuildForStudents(Long studentIdFrom, Long studentIdTo) {
+
+        em.flush();
+        String pairOfRow = "FROM GRADE g WHERE g.student_entity_id = a.student_id AND g.subject_entity_id = a.subject_id";
+        studentRangeQuery("DELETE FROM STUDENT_SUBJECT_AGGREGATE WHERE student_id BETWEEN :studentIdFrom AND :studentIdTo",
+                studentIdFrom, studentIdTo).executeUpdate();
+        SqlDialects.insertIfAbsent(em, "STUDENT_SUBJECT_AGGREGATE", "student_id, subject_id",
+                "SELECT DISTINCT g.student_entity_id, g.subject_entity_id FROM GRADE g WHERE g.student_entity_id BETWEEN ? AND ?",
+                studentIdFrom, studentIdTo);
+        return studentRangeQuery("UPDATE STUDENT_SUBJECT_AGGREGATE a SET " +
+                        "weighted_sum = (SELECT COALESCE(SUM(g.value * g.weight), 0) " + pairOfRow + "), " +
+                        "weight_sum = (SELECT COALESCE(SUM(g.weight), 0) " + pairOfRow + "), " +
+                        "grade_count = (SELECT COUNT(*) " + pairOfRow + ") " +
+                        "WHERE a.student_id BETWEEN :studentIdFrom AND :studentIdTo AND a.grade_count IS NULL", studentIdFrom, studentIdTo)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<StudentSubjectAggregateEntity> calculateFromGradesForClassYear(Long classYearId) {
+
+        List<Object[]> result = em.createQuery(SUMS_OF_GRADES +
+                        "WHERE g.studentEntity.classYearEntity.id = :classYearId GROUP BY g.studentEntity.id, g.subjectEntity.id", Object[].class)
+                .setParameter("classYearId", classYearId)
+                .getResultList();
+        return result.stream().map(this::toAggregate).collect(Collectors.toList());
+    }
+
+    @Override
+    public int deleteAllByStudentId(Long studentId) {
+
+        return em.createQuery("DELETE FROM StudentSubjectAggregateEntity a WHERE a.id.studentId = :studentId")
+                .setParameter("studentId", studentId)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteAllBySubjectId(Long subjectId) {
+
+        return em.createQuery("DELETE FROM StudentSubjectAggregateEntity a WHERE a.id.subjectId = :subjectId")
+                .setParameter("subjectId", subjectId)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteAllBySubjectClassYearId(Long classYearId) {
+
+        return em.createQuery("DELETE FROM StudentSubjectAggregateEntity a WHERE a.id.subjectId IN " +
+                        "(SELECT s.id FROM SubjectEntity s WHERE s.classYearEntity.id = :classYearId)")
+                .setParameter("classYearId", classYearId)
+                .executeUpdate();
+    }
+
+    private NativeQuery<?> studentRangeQuery(String sql, Long studentIdFrom, Long studentIdTo) {
+
+        return em.createNativeQuery(sql)
+                .setParameter("studentIdFrom", studentIdFrom)
+                .setParameter("studentIdTo", studentIdTo)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(StudentSubjectAggregateEntity.class);
+    }
+
+    private StudentSubjectAggregateEntity toAggregate(Object[] row) {
+
+        StudentSubjectAggregateEntity aggregate = new StudentSubjectAggregateEntity();
+        aggregate.setId(new StudentSubjectAggregateId((Long) row[0], (Long) row[1]));
+        aggregate.setWeightedSum(toBigDecimal(row[2]));
+        aggregate.setWeightSum(toBigDecimal(row[3]));
+        aggregate.setGradeCount(((Number) row[4]).longValue());
+        return aggregate;
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        return value == null ? BigDecimal.ZERO : new BigDecimal(value.toString());
+    }
+}
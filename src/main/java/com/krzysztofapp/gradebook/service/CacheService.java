@@ -0,0 +1,10 @@
+package com.krzysztofapp.gradebook.service;
+
+import com.krzysztofapp.gradebook.domain.CacheRegionEto;
+
+import java.util.List;
+
+public interface CacheService {
+
+    List<CacheRegionEto> getSecondLevelCacheRegions();
+}
@@ -1,6 +1,7 @@
 package com.krzysztofapp.gradebook.service;
 
 import com.krzysztofapp.gradebook.domain.ClassYearEto;
+import com.krzysztofapp.gradebook.domain.ClassYearMatrixEto;
 
 import java.util.Map;
 
@@ -8,6 +9,8 @@ public interface ClassYearService {
 
     ClassYearEto findClassYearById(Long id);
 
+    ClassYearMatrixEto getGradeMatrix(Long id);
+
     ClassYearEto createNew(ClassYearEto newClassYear);
 
     ClassYearEto partialUpdate(Long id, Map<String, Object> updateInfo);
@@ -0,0 +1,8 @@
+package com.krzysztofapp.gradebook.service;
+
+public interface GradeAggregateService {
+
+    Long rebuildStudentSubjectAggregates();
+
+    Integer rebuildDailyGradeRollup();
+}
@@ -0,0 +1,12 @@
+package com.krzysztofapp.gradebook.service;
+
+import com.krzysztofapp.gradebook.domain.GradeExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface GradeExportService {
+
+    void exportGrades(LocalDate dateFrom, LocalDate dateTo, GradeExportFormat format, OutputStream outputStream) throws IOException;
+}
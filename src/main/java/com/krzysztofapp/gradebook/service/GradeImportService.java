@@ -0,0 +1,19 @@
+package com.krzysztofapp.gradebook.service;
+
+import com.krzysztofapp.gradebook.domain.GradeImportEto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface GradeImportService {
+
+    GradeImportEto importGrades(InputStream csv) throws IOException;
+
+    List<GradeImportEto> findAllImports();
+
+    GradeImportEto findImportById(String importId);
+
+    void writeRejects(String importId, OutputStream outputStream) throws IOException;
+}
@@ -1,10 +1,18 @@
 package com.krzysztofapp.gradebook.service;
 
+import com.krzysztofapp.gradebook.domain.CacheStatisticsEto;
+import com.krzysztofapp.gradebook.domain.GradeBulkEto;
+import com.krzysztofapp.gradebook.domain.GradeBulkResultEto;
+import com.krzysztofapp.gradebook.domain.GradeDayRollupEto;
 import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeFilterCriteria;
+import com.krzysztofapp.gradebook.domain.GradePageEto;
 import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
+import com.krzysztofapp.gradebook.domain.GradeStatisticsCriteria;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface GradeService {
 
@@ -12,10 +20,22 @@ public interface GradeService {
 
     Double getWeightedAverage(Long studentId, Long subjectId);
 
+    CacheStatisticsEto getWeightedAverageCacheStatistics();
+
+    List<GradeDayRollupEto> findDailyGradeRollup(GradeStatisticsCriteria criteria);
+
     List<GradeEto> searchGradesByCriteria(GradeSearchCriteria criteria);
 
+    GradePageEto searchGradePageByCriteria(GradeSearchCriteria criteria);
+
+    void streamGradesByCriteria(GradeSearchCriteria criteria, Consumer<GradeEto> consumer);
+
+    List<GradeEto> searchGradesByFilter(GradeFilterCriteria criteria);
+
     GradeEto createNew(GradeEto newGrade);
 
+    GradeBulkResultEto createNewForClass(GradeBulkEto newGrades);
+
     void delete(Long id);
 
     GradeEto partialUpdate(Long id, Map<String, Object> updateInfo);
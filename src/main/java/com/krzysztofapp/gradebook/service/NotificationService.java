@@ -0,0 +1,8 @@
+package com.krzysztofapp.gradebook.service;
+
+import com.krzysztofapp.gradebook.domain.NotificationStatisticsEto;
+
+public interface NotificationService {
+
+    NotificationStatisticsEto getStatistics();
+}
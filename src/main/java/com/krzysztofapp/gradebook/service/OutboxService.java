@@ -0,0 +1,10 @@
+package com.krzysztofapp.gradebook.service;
+
+import com.krzysztofapp.gradebook.domain.OutboxStatisticsEto;
+
+public interface OutboxService {
+
+    OutboxStatisticsEto getStatistics();
+
+    Integer replay(Long fromOutboxId, Long studentId);
+}
@@ -1,6 +1,8 @@
 package com.krzysztofapp.gradebook.service;
 
 import com.krzysztofapp.gradebook.domain.GradeContext;
+import com.krzysztofapp.gradebook.domain.GradeDayCountEto;
+import com.krzysztofapp.gradebook.domain.GradeStatisticsCriteria;
 import com.krzysztofapp.gradebook.domain.StudentEto;
 
 import java.time.LocalDate;
@@ -15,6 +17,8 @@ public interface StudentService {
 
     Integer getNumberOfStudents(GradeContext context);
 
+    List<GradeDayCountEto> countStudentsWithGrades(GradeStatisticsCriteria criteria);
+
     StudentEto createNew(StudentEto newStudent);
 
     StudentEto partialUpdate(Long id, Map<String, Object> updateInfo);
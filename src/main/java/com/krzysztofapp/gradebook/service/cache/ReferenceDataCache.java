@@ -0,0 +1,76 @@
+package com.krzysztofapp.gradebook.service.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.krzysztofapp.gradebook.domain.CacheRegionEto;
+import com.krzysztofapp.gradebook.persistence.cache.CacheRegions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access to the Hibernate second-level cache of teachers, subjects and class years.
+ *
+ * Hibernate keeps the entity and collection regions and the cached queries up to date by itself, bulk statements
+ * included.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager secondLevelCacheManager;
+
+    @Autowired
+    public ReferenceDataCache(final EntityManagerFactory entityManagerFactory, final CacheManager secondLevelCacheManager) {
+
+        this.entityManagerFactory = entityManagerFactory;
+        this.secondLevelCacheManager = secondLevelCacheManager;
+    }
+
+    public List<CacheRegionEto> getRegions() {
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Set<String> knownRegions = new HashSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+        List<String> regionNames = new ArrayList<>(CacheRegions.ENTITY_REGIONS);
+        regionNames.addAll(CacheRegions.QUERY_REGIONS);
+        regionNames.add(CacheRegions.UPDATE_TIMESTAMPS);
+
+        List<CacheRegionEto> regions = new ArrayList<>();
+        for (String regionName : regionNames) {
+            Cache<Object, Object> cache = this.secondLevelCacheManager.getCache(regionName);
+            @SuppressWarnings("unchecked")
+            CaffeineConfiguration<Object, Object> configuration = cache.getConfiguration(CaffeineConfiguration.class);
+
+            CacheRegionEto region = new CacheRegionEto();
+            region.setRegionName(regionName);
+            region.setMaximumSize(valueOrNull(configuration.getMaximumSize()));
+            OptionalLong expireAfterWriteNanos = configuration.getExpireAfterWrite();
+            region.setExpireAfterWriteSeconds(expireAfterWriteNanos.isPresent() ? TimeUnit.NANOSECONDS.toSeconds(expireAfterWriteNanos.getAsLong()) : null);
+            region.setSize(cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize());
+            CacheRegionStatistics regionStatistics = knownRegions.contains(regionName) ? statistics.getCacheRegionStatistics(regionName) : null;
+            if (regionStatistics != null) {
+                region.setHitCount(regionStatistics.getHitCount());
+                region.setMissCount(regionStatistics.getMissCount());
+                region.setPutCount(regionStatistics.getPutCount());
+            }
+            regions.add(region);
+        }
+        return regions;
+    }
+
+    private Long valueOrNull(OptionalLong value) {
+        return value.isPresent() ? value.getAsLong() : null;
+    }
+}
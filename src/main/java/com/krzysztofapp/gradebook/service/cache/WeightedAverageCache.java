@@ -0,0 +1,99 @@
+package com.krzysztofapp.gradebook.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.krzysztofapp.gradebook.domain.CacheStatisticsEto;
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateId;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of weighted averages keyed by (studentId, subjectId).
+ *
+ * Entries are invalidated right away and once more after the surrounding transaction completes, so a reader that
+ * loaded the old value while the write was still uncommitted can't leave it behind.
+ *
+ * Its Caffeine statistics are published as the cache.* meters with cache="weighted-average".
+ */
+@Component
+public class WeightedAverageCache implements MeterBinder {
+
+    private final Cache<StudentSubjectAggregateId, Double> cache;
+
+    public WeightedAverageCache(@Value("${gradebook.cache.weighted-average.maximum-size:100000}") final long maximumSize,
+                                @Value("${gradebook.cache.weighted-average.expire-after-write-seconds:600}") final long expireAfterWriteSeconds) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.cache, "weighted-average");
+    }
+
+    public Double get(Long studentId, Long subjectId, Supplier<Double> loader) {
+        return this.cache.get(new StudentSubjectAggregateId(studentId, subjectId), key -> loader.get());
+    }
+
+    public void invalidate(Long studentId, Long subjectId) {
+        StudentSubjectAggregateId key = new StudentSubjectAggregateId(studentId, subjectId);
+        invalidateNowAndAfterTransaction(() -> this.cache.invalidate(key));
+    }
+
+    public void invalidateStudent(Long studentId) {
+        invalidateMatching(key -> studentId.equals(key.getStudentId()));
+    }
+
+    public void invalidateSubject(Long subjectId) {
+        invalidateMatching(key -> subjectId.equals(key.getSubjectId()));
+    }
+
+    public void invalidateAll() {
+        invalidateNowAndAfterTransaction(this.cache::invalidateAll);
+    }
+
+    public CacheStatisticsEto getStatistics() {
+
+        CacheStats stats = this.cache.stats();
+        CacheStatisticsEto statistics = new CacheStatisticsEto();
+        statistics.setSize(this.cache.estimatedSize());
+        statistics.setHitCount(stats.hitCount());
+        statistics.setMissCount(stats.missCount());
+        statistics.setHitRate(stats.hitRate());
+        statistics.setEvictionCount(stats.evictionCount());
+        statistics.setLoadCount(stats.loadCount());
+        statistics.setAverageLoadPenaltyNanos(stats.averageLoadPenalty());
+        return statistics;
+    }
+
+    private void invalidateMatching(Predicate<StudentSubjectAggregateId> matches) {
+        invalidateNowAndAfterTransaction(() -> this.cache.asMap().keySet().removeIf(matches));
+    }
+
+    private void invalidateNowAndAfterTransaction(Runnable invalidation) {
+
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.krzysztofapp.gradebook.service.export;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.krzysztofapp.gradebook.domain.GradeExportFormat;
+import com.krzysztofapp.gradebook.domain.GradeExportRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes exported grades one row at a time through a fixed size buffer, nothing of a written row is kept.
+ *
+ * {@link #finish()} flushes the buffer but leaves the stream open, the caller owns it.
+ */
+public abstract class GradeExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Writer writer;
+
+    private GradeExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public static GradeExportWriter of(GradeExportFormat format, OutputStream outputStream, ObjectWriter rowWriter) {
+
+        if (format == GradeExportFormat.NDJSON) {
+            return new NdjsonWriter(outputStream, rowWriter);
+        }
+        return new CsvWriter(outputStream);
+    }
+
+    public final void write(GradeExportRow row) {
+
+        try {
+            writeRow(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish() throws IOException {
+        this.writer.flush();
+    }
+
+    protected abstract void writeRow(GradeExportRow row) throws IOException;
+
+    private static final class CsvWriter extends GradeExportWriter {
+
+        private static final String HEADER = "id,date_of_grade,grade_type,value,weight,student_id,subject_id,teacher_id,comment\n";
+
+        private boolean headerWritten;
+
+        private CsvWriter(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        protected void writeRow(GradeExportRow row) throws IOException {
+
+            writeHeaderOnce();
+            writeValue(row.getId());
+            this.writer.write(',');
+            writeValue(row.getDateOfGrade());
+            this.writer.write(',');
+            writeValue(row.getGradeType());
+            this.writer.write(',');
+            writeValue(row.getValue());
+            this.writer.write(',');
+            writeValue(row.getWeight() == null ? null : row.getWeight().toPlainString());
+            this.writer.write(',');
+            writeValue(row.getStudentId());
+            this.writer.write(',');
+            writeValue(row.getSubjectId());
+            this.writer.write(',');
+            writeValue(row.getTeacherId());
+            this.writer.write(',');
+            writeText(row.getComment());
+            this.writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writeHeaderOnce();
+            super.finish();
+        }
+
+        private void writeHeaderOnce() throws IOException {
+
+            if (!this.headerWritten) {
+                this.writer.write(HEADER);
+                this.headerWritten = true;
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+
+            if (value != null) {
+                this.writer.write(value.toString());
+            }
+        }
+
+        private void writeText(String text) throws IOException {
+
+            if (text == null) {
+                return;
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                this.writer.write(text);
+                return;
+            }
+            this.writer.write('"');
+            this.writer.write(text.replace("\"", "\"\""));
+            this.writer.write('"');
+        }
+    }
+
+    private static final class NdjsonWriter extends GradeExportWriter {
+
+        private final SequenceWriter rows;
+
+        private NdjsonWriter(OutputStream outputStream, ObjectWriter rowWriter) {
+
+            super(outputStream);
+            try {
+                this.rows = rowWriter.forType(GradeExportRow.class).withRootValueSeparator("\n").writeValues(this.writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        protected void writeRow(GradeExportRow row) throws IOException {
+            this.rows.write(row);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            this.rows.flush();
+            this.writer.write('\n');
+            super.finish();
+        }
+    }
+}
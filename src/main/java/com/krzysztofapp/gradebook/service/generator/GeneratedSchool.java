@@ -0,0 +1,75 @@
+package com.krzysztofapp.gradebook.service.generator;
+
+import com.krzysztofapp.gradebook.persistence.entity.SubjectType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ids of what {@link SchoolDataGenerator} inserted, so tests and benchmarks can pick their students and subjects, and
+ * how many grades it wrote in how long.
+ */
+public class GeneratedSchool {
+
+    private final List<Long> teacherIds = new ArrayList<>();
+
+    private final Map<Long, List<Long>> studentIdsByClassYear = new LinkedHashMap<>();
+
+    private final Map<Long, Map<SubjectType, Long>> subjectIdsByClassYear = new LinkedHashMap<>();
+
+    private long gradeCount;
+
+    private long elapsedMillis;
+
+    public List<Long> getTeacherIds() {
+        return this.teacherIds;
+    }
+
+    public List<Long> getClassYearIds() {
+        return new ArrayList<>(this.studentIdsByClassYear.keySet());
+    }
+
+    public List<Long> getStudentIds(Long classYearId) {
+        return this.studentIdsByClassYear.get(classYearId);
+    }
+
+    public Map<SubjectType, Long> getSubjectIds(Long classYearId) {
+        return this.subjectIdsByClassYear.get(classYearId);
+    }
+
+    public long getGradeCount() {
+        return this.gradeCount;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    void addTeacher(Long teacherId) {
+        this.teacherIds.add(teacherId);
+    }
+
+    void addClassYear(Long classYearId) {
+        this.studentIdsByClassYear.put(classYearId, new ArrayList<>());
+        this.subjectIdsByClassYear.put(classYearId, new EnumMap<>(SubjectType.class));
+    }
+
+    void addStudent(Long classYearId, Long studentId) {
+        this.studentIdsByClassYear.get(classYearId).add(studentId);
+    }
+
+    void addSubject(Long classYearId, SubjectType subjectType, Long subjectId) {
+        this.subjectIdsByClassYear.get(classYearId).put(subjectType, subjectId);
+    }
+
+    void setGradeCount(long gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
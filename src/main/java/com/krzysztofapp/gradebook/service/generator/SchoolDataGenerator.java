@@ -0,0 +1,369 @@
+package com.krzysztofapp.gradebook.service.generator;
+
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectType;
+import com.krzysztofapp.gradebook.persistence.entity.generator.PooledSequenceGenerator;
+import com.krzysztofapp.gradebook.persistence.entity.utils.SubjectUtils;
+import com.krzysztofapp.gradebook.service.GradeAggregateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk-loads a synthetic school through batched JDBC, the same {@link SchoolDataSpec} always gives the same rows.
+ *
+ * Class years are spread over the levels 1-8 of every school year, chemistry and physics are taught from level 4 on,
+ * and English and mathematics have three teachers for every one of the other subjects. Every student gets grades in
+ * every subject of the class year, spread over the school days of all years with at most one grade per day and type.
+ * Values cluster around 3 and 4 and shift with the student, weights follow the grade type, and 1s and 6s always
+ * carry a comment.
+ *
+ * The student-subject aggregates and the daily rollup are rebuilt once the grades are in. Meant for an otherwise
+ * quiet database: ids continue after the current sequence values, the sequences are moved past the generated ids,
+ * and a failed load keeps the batches it already committed.
+ */
+@Component
+public class SchoolDataGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchoolDataGenerator.class);
+
+    private static final int LEVELS = 8;
+
+    private static final int SCIENCE_FROM_LEVEL = 4;
+
+    private static final List<SubjectType> SCIENCES = List.of(SubjectType.CHEMISTRY, SubjectType.PHYSICS);
+
+    private static final SubjectType[] TEACHER_SUBJECTS = {SubjectType.ENGLISH, SubjectType.MATHEMATICS, SubjectType.BIOLOGY,
+            SubjectType.ENGLISH, SubjectType.MATHEMATICS, SubjectType.GEOGRAPHY, SubjectType.ENGLISH, SubjectType.MATHEMATICS,
+            SubjectType.CHEMISTRY, SubjectType.PHYSICS};
+
+    private static final GradeType[] GRADE_TYPES = GradeType.values();
+
+    private static final BigDecimal[] WEIGHTS = {new BigDecimal("3.00"), new BigDecimal("2.00"), new BigDecimal("2.00"),
+            new BigDecimal("1.00"), new BigDecimal("1.00"), new BigDecimal("0.50")};
+
+    private static final int[] VALUES = {1, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 5, 5, 5, 6};
+
+    private static final int[] STUDENT_SHIFTS = {-1, 0, 0, 0, 1};
+
+    private static final String[] FIRST_NAMES = {"Kamil", "Anna", "Jakub", "Zofia", "Antoni", "Maja", "Jan", "Lena", "Filip",
+            "Julia", "Szymon", "Hanna", "Franciszek", "Alicja", "Mikolaj", "Oliwia", "Wojciech", "Natalia", "Adam", "Emilia"};
+
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalski", "Wisniewski", "Wojcik", "Kowalczyk", "Kaminski",
+            "Lewandowski", "Zielinski", "Szymanski", "Wozniak", "Dabrowski", "Kozlowski", "Jankowski", "Mazur", "Komar"};
+
+    private static final String[] LOW_COMMENTS = {"Missing homework", "Not prepared for the test", "Copied the answers"};
+
+    private static final String[] HIGH_COMMENTS = {"Excellent project", "Best in class", "Won the school contest"};
+
+    private static final String[] OTHER_COMMENTS = {"Average test", "Needs to practise more", "Good work", "Improved a lot"};
+
+    private static final MonthDay YEAR_START = MonthDay.of(9, 1);
+
+    private static final MonthDay WINTER_BREAK_START = MonthDay.of(12, 23);
+
+    private static final MonthDay WINTER_BREAK_END = MonthDay.of(1, 1);
+
+    private static final MonthDay YEAR_END = MonthDay.of(6, 20);
+
+    private static final String INSERT_GRADE = "INSERT INTO GRADE (id, version, create_date, update_date, value, weight, grade_type, "
+            + "comment, date_of_grade, teacher_entity_id, subject_entity_id, student_entity_id) VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final GradeAggregateService gradeAggregateService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public SchoolDataGenerator(final JdbcTemplate jdbcTemplate, final GradeAggregateService gradeAggregateService,
+                               final EntityManagerFactory entityManagerFactory) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.gradeAggregateService = gradeAggregateService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public GeneratedSchool generate(SchoolDataSpec spec) {
+
+        long start = System.nanoTime();
+        List<LocalDate> schoolDays = schoolDaysOf(spec);
+        validate(spec, schoolDays);
+
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        boolean mysql = this.jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql"));
+        GeneratedSchool school = new GeneratedSchool();
+
+        Map<SubjectType, List<Long>> teachersBySubject = insertTeachers(spec, random, school, mysql);
+        List<ClassPlan> classes = insertClassYearsAndSubjects(spec, random, school, teachersBySubject, mysql);
+        insertStudents(spec, random, school, classes, mysql);
+        school.setGradeCount(insertGrades(spec, classes, schoolDays, mysql));
+        LOG.info("Inserted {} grades in {} ms", school.getGradeCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        this.gradeAggregateService.rebuildStudentSubjectAggregates();
+        this.gradeAggregateService.rebuildDailyGradeRollup();
+        this.entityManagerFactory.getCache().evictAll();
+
+        school.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        LOG.info("Generated {} teachers, {} class years, {} students and {} grades from seed {} in {} ms", spec.getTeachers(),
+                spec.getClassYears(), spec.getStudents(), school.getGradeCount(), spec.getSeed(), school.getElapsedMillis());
+        return school;
+    }
+
+    private Map<SubjectType, List<Long>> insertTeachers(SchoolDataSpec spec, SplittableRandom random, GeneratedSchool school, boolean mysql) {
+
+        Map<SubjectType, List<Long>> teachersBySubject = new EnumMap<>(SubjectType.class);
+        List<Object[]> rows = new ArrayList<>(spec.getTeachers());
+        long firstId = reserveIds("TEACHER", spec.getTeachers(), mysql);
+        for (int t = 0; t < spec.getTeachers(); t++) {
+            long id = firstId + t;
+            rows.add(new Object[]{id, pick(random, FIRST_NAMES), pick(random, LAST_NAMES)});
+            teachersBySubject.computeIfAbsent(TEACHER_SUBJECTS[t % TEACHER_SUBJECTS.length], type -> new ArrayList<>()).add(id);
+            school.addTeacher(id);
+        }
+        this.jdbcTemplate.batchUpdate("INSERT INTO TEACHER (id, version, first_name, last_name) VALUES (?, 0, ?, ?)", rows);
+        return teachersBySubject;
+    }
+
+    private List<ClassPlan> insertClassYearsAndSubjects(SchoolDataSpec spec, SplittableRandom random, GeneratedSchool school,
+                                                        Map<SubjectType, List<Long>> teachersBySubject, boolean mysql) {
+
+        List<ClassPlan> classes = new ArrayList<>(spec.getClassYears());
+        List<Object[]> classYearRows = new ArrayList<>(spec.getClassYears());
+        List<Object[]> subjectRows = new ArrayList<>();
+        int classesPerYear = (spec.getClassYears() + spec.getYears() - 1) / spec.getYears();
+        long firstClassYearId = reserveIds("CLASS_YEAR", spec.getClassYears(), mysql);
+        long subjectId = nextIdOf("SUBJECT", mysql);
+        for (int k = 0; k < spec.getClassYears(); k++) {
+            int inYear = k % classesPerYear;
+            ClassYearEntity classYear = new ClassYearEntity();
+            classYear.setId(firstClassYearId + k);
+            classYear.setClassLevel(1 + inYear % LEVELS);
+            classYear.setClassName(String.valueOf((char) ('A' + inYear / LEVELS)));
+            classYear.setClassYear(String.valueOf(spec.getFirstYear() + k / classesPerYear));
+            classYearRows.add(new Object[]{classYear.getId(), classYear.getClassLevel(), classYear.getClassName(), classYear.getClassYear()});
+            school.addClassYear(classYear.getId());
+
+            ClassPlan plan = new ClassPlan(classYear);
+            for (SubjectType subjectType : SubjectType.values()) {
+                if (classYear.getClassLevel() < SCIENCE_FROM_LEVEL && SCIENCES.contains(subjectType)) {
+                    continue;
+                }
+                List<Long> candidates = teachersBySubject.getOrDefault(subjectType, school.getTeacherIds());
+                Long teacherId = candidates.get(random.nextInt(candidates.size()));
+                subjectRows.add(new Object[]{subjectId, SubjectUtils.setCustomName(classYear, subjectType), subjectType.name(), teacherId, classYear.getId()});
+                plan.subjectIds.add(subjectId);
+                plan.teacherIds.add(teacherId);
+                school.addSubject(classYear.getId(), subjectType, subjectId++);
+            }
+            classes.add(plan);
+        }
+        this.jdbcTemplate.batchUpdate("INSERT INTO CLASS_YEAR (id, version, class_level, class_name, class_year) VALUES (?, 0, ?, ?, ?)", classYearRows);
+        this.jdbcTemplate.batchUpdate("INSERT INTO SUBJECT (id, version, name, subject_type, teacher_entity_id, class_year_entity_id) "
+                + "VALUES (?, 0, ?, ?, ?, ?)", subjectRows);
+        restartSequence("SUBJECT", subjectId, mysql);
+        return classes;
+    }
+
+    private void insertStudents(SchoolDataSpec spec, SplittableRandom random, GeneratedSchool school, List<ClassPlan> classes, boolean mysql) {
+
+        List<Object[]> rows = new ArrayList<>(spec.getStudents());
+        long firstId = reserveIds("STUDENT", spec.getStudents(), mysql);
+        for (int s = 0; s < spec.getStudents(); s++) {
+            long id = firstId + s;
+            ClassPlan plan = classes.get((int) ((long) s * classes.size() / spec.getStudents()));
+            String parentEmail = random.nextInt(100) < 85 ? "parent" + id + "@example.com" : null;
+            rows.add(new Object[]{id, pick(random, FIRST_NAMES), pick(random, LAST_NAMES), 6 + plan.classYear.getClassLevel() + random.nextInt(2),
+                    plan.classYear.getId(), parentEmail});
+            plan.studentIds.add(id);
+            school.addStudent(plan.classYear.getId(), id);
+        }
+        this.jdbcTemplate.batchUpdate("INSERT INTO STUDENT (id, version, first_name, last_name, age, class_year_entity_id, parent_email) "
+                + "VALUES (?, 0, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private long insertGrades(SchoolDataSpec spec, List<ClassPlan> classes, List<LocalDate> schoolDays, boolean mysql) {
+
+        double gradesPerSubject = (double) spec.getGrades() / subjectsOfAllStudents(classes);
+        int slots = schoolDays.size() * GRADE_TYPES.length;
+        long firstId = nextIdOf("GRADE", mysql);
+
+        long lastId = this.jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_GRADE)) {
+                long id = firstId;
+                int pending = 0;
+                int student = 0;
+                for (ClassPlan plan : classes) {
+                    for (Long studentId : plan.studentIds) {
+                        SplittableRandom random = new SplittableRandom(spec.getSeed() * 31 + student++);
+                        int shift = STUDENT_SHIFTS[random.nextInt(STUDENT_SHIFTS.length)];
+                        for (int subject = 0; subject < plan.subjectIds.size(); subject++) {
+                            int grades = Math.max(1, (int) Math.round(gradesPerSubject * (0.75 + 0.5 * random.nextDouble())));
+                            double spacing = (double) slots / grades;
+                            for (int g = 0; g < grades; g++) {
+                                int firstSlot = (int) (g * spacing);
+                                int slot = firstSlot + random.nextInt(Math.max(1, Math.min(slots, (int) ((g + 1) * spacing)) - firstSlot));
+                                addGrade(insert, random, id++, shift, schoolDays.get(slot / GRADE_TYPES.length),
+                                        GRADE_TYPES[slot % GRADE_TYPES.length], plan.teacherIds.get(subject), plan.subjectIds.get(subject), studentId);
+                                if (++pending == spec.getBatchSize()) {
+                                    insert.executeBatch();
+                                    connection.commit();
+                                    pending = 0;
+                                }
+                            }
+                        }
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                return id;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+        restartSequence("GRADE", lastId, mysql);
+        return lastId - firstId;
+    }
+
+    private void addGrade(PreparedStatement insert, SplittableRandom random, long id, int shift, LocalDate day, GradeType gradeType,
+                          Long teacherId, Long subjectId, Long studentId) throws SQLException {
+
+        int value = VALUES[random.nextInt(VALUES.length)];
+        if (random.nextBoolean()) {
+            value = Math.max(1, Math.min(6, value + shift));
+        }
+        String comment = null;
+        if (value == 1) {
+            comment = pick(random, LOW_COMMENTS);
+        } else if (value == 6) {
+            comment = pick(random, HIGH_COMMENTS);
+        } else if (random.nextInt(10) == 0) {
+            comment = pick(random, OTHER_COMMENTS);
+        }
+        Timestamp createdAt = Timestamp.valueOf(day.atTime(8, 0).plusMinutes(random.nextInt(8 * 60)));
+
+        insert.setLong(1, id);
+        insert.setTimestamp(2, createdAt);
+        insert.setTimestamp(3, createdAt);
+        insert.setInt(4, value);
+        insert.setBigDecimal(5, WEIGHTS[gradeType.ordinal()]);
+        insert.setString(6, gradeType.name());
+        insert.setString(7, comment);
+        insert.setDate(8, Date.valueOf(day));
+        insert.setLong(9, teacherId);
+        insert.setLong(10, subjectId);
+        insert.setLong(11, studentId);
+        insert.addBatch();
+    }
+
+    private void validate(SchoolDataSpec spec, List<LocalDate> schoolDays) {
+
+        if (spec.getTeachers() < 1 || spec.getClassYears() < 1 || spec.getYears() < 1 || spec.getBatchSize() < 1) {
+            throw new IllegalArgumentException("A school needs at least one teacher, class year and school year and a batch size");
+        }
+        if (spec.getStudents() < spec.getClassYears()) {
+            throw new IllegalArgumentException("Every one of the " + spec.getClassYears() + " class years needs a student");
+        }
+        if (spec.getClassYears() > spec.getYears() * LEVELS * 26) {
+            throw new IllegalArgumentException("At most " + LEVELS * 26 + " class years fit in one school year");
+        }
+        double maxGradesPerSubject = 1.25 * spec.getGrades() / spec.getStudents() / (SubjectType.values().length - SCIENCES.size());
+        if (spec.getGrades() < 0 || maxGradesPerSubject > schoolDays.size() * GRADE_TYPES.length) {
+            throw new IllegalArgumentException("Grades must be between 0 and one per school day and grade type of every student and subject, "
+                    + schoolDays.size() + " school days in " + spec.getYears() + " years");
+        }
+    }
+
+    private List<LocalDate> schoolDaysOf(SchoolDataSpec spec) {
+
+        List<LocalDate> days = new ArrayList<>();
+        for (int year = spec.getFirstYear(); year < spec.getFirstYear() + spec.getYears(); year++) {
+            LocalDate end = YEAR_END.atYear(year + 1);
+            for (LocalDate day = YEAR_START.atYear(year); !day.isAfter(end); day = day.plusDays(1)) {
+                MonthDay monthDay = MonthDay.from(day);
+                boolean winterBreak = !monthDay.isBefore(WINTER_BREAK_START) || !monthDay.isAfter(WINTER_BREAK_END);
+                if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY && !winterBreak) {
+                    days.add(day);
+                }
+            }
+        }
+        return days;
+    }
+
+    private long subjectsOfAllStudents(List<ClassPlan> classes) {
+
+        long subjects = 0;
+        for (ClassPlan plan : classes) {
+            subjects += (long) plan.studentIds.size() * plan.subjectIds.size();
+        }
+        return subjects;
+    }
+
+    private long reserveIds(String table, long count, boolean mysql) {
+
+        long firstId = nextIdOf(table, mysql);
+        restartSequence(table, firstId + count, mysql);
+        return firstId;
+    }
+
+    private long nextIdOf(String table, boolean mysql) {
+
+        String sequence = table + PooledSequenceGenerator.SEQUENCE_SUFFIX;
+        Long sequenceValue = this.jdbcTemplate.queryForObject(mysql ? "SELECT next_val FROM " + sequence : "SELECT NEXT VALUE FOR " + sequence, Long.class);
+        Long maxId = this.jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return Math.max(sequenceValue, maxId + 1);
+    }
+
+    private void restartSequence(String table, long nextId, boolean mysql) {
+
+        String sequence = table + PooledSequenceGenerator.SEQUENCE_SUFFIX;
+        this.jdbcTemplate.execute(mysql ? "UPDATE " + sequence + " SET next_val = " + nextId : "ALTER SEQUENCE " + sequence + " RESTART WITH " + nextId);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static final class ClassPlan {
+
+        private final ClassYearEntity classYear;
+
+        private final List<Long> subjectIds = new ArrayList<>();
+
+        private final List<Long> teacherIds = new ArrayList<>();
+
+        private final List<Long> studentIds = new ArrayList<>();
+
+        private ClassPlan(ClassYearEntity classYear) {
+            this.classYear = classYear;
+        }
+    }
+}
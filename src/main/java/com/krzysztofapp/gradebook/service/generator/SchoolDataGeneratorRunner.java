@@ -0,0 +1,57 @@
+package com.krzysztofapp.gradebook.service.generator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command line mode of {@link SchoolDataGenerator}: generates the school described by the gradebook.generator.*
+ * properties into the configured database and exits, e.g.
+ *
+ * java -jar target/grade-book-<version>.jar --gradebook.generator.enabled=true --gradebook.generator.grades=1000000 --spring.main.web-application-type=none
+ */
+@Component
+@ConditionalOnProperty(name = "gradebook.generator.enabled", havingValue = "true")
+public class SchoolDataGeneratorRunner implements ApplicationRunner {
+
+    private final SchoolDataGenerator generator;
+
+    private final ConfigurableApplicationContext context;
+
+    private final SchoolDataSpec spec = new SchoolDataSpec();
+
+    @Autowired
+    public SchoolDataGeneratorRunner(final SchoolDataGenerator generator, final ConfigurableApplicationContext context,
+                                     @Value("${gradebook.generator.seed:42}") final long seed,
+                                     @Value("${gradebook.generator.students:2000}") final int students,
+                                     @Value("${gradebook.generator.teachers:80}") final int teachers,
+                                     @Value("${gradebook.generator.class-years:60}") final int classYears,
+                                     @Value("${gradebook.generator.years:5}") final int years,
+                                     @Value("${gradebook.generator.first-year:2018}") final int firstYear,
+                                     @Value("${gradebook.generator.grades:10000000}") final long grades,
+                                     @Value("${gradebook.generator.batch-size:5000}") final int batchSize) {
+
+        this.generator = generator;
+        this.context = context;
+        this.spec.setSeed(seed);
+        this.spec.setStudents(students);
+        this.spec.setTeachers(teachers);
+        this.spec.setClassYears(classYears);
+        this.spec.setYears(years);
+        this.spec.setFirstYear(firstYear);
+        this.spec.setGrades(grades);
+        this.spec.setBatchSize(batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        this.generator.generate(this.spec);
+        System.exit(SpringApplication.exit(this.context));
+    }
+}
@@ -0,0 +1,88 @@
+package com.krzysztofapp.gradebook.service.generator;
+
+/**
+ * Size and seed of a school generated by {@link SchoolDataGenerator}, the defaults are production scale: 2,000
+ * students in 60 class years taught by 80 teachers, with 10M grades over 5 school years.
+ */
+public class SchoolDataSpec {
+
+    private long seed = 42;
+
+    private int students = 2000;
+
+    private int teachers = 80;
+
+    private int classYears = 60;
+
+    private int years = 5;
+
+    private int firstYear = 2018;
+
+    private long grades = 10_000_000L;
+
+    private int batchSize = 5000;
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getStudents() {
+        return this.students;
+    }
+
+    public void setStudents(int students) {
+        this.students = students;
+    }
+
+    public int getTeachers() {
+        return this.teachers;
+    }
+
+    public void setTeachers(int teachers) {
+        this.teachers = teachers;
+    }
+
+    public int getClassYears() {
+        return this.classYears;
+    }
+
+    public void setClassYears(int classYears) {
+        this.classYears = classYears;
+    }
+
+    public int getYears() {
+        return this.years;
+    }
+
+    public void setYears(int years) {
+        this.years = years;
+    }
+
+    public int getFirstYear() {
+        return this.firstYear;
+    }
+
+    public void setFirstYear(int firstYear) {
+        this.firstYear = firstYear;
+    }
+
+    public long getGrades() {
+        return this.grades;
+    }
+
+    public void setGrades(long grades) {
+        this.grades = grades;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
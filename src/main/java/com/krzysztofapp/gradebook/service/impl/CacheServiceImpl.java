@@ -0,0 +1,27 @@
+package com.krzysztofapp.gradebook.service.impl;
+
+import com.krzysztofapp.gradebook.domain.CacheRegionEto;
+import com.krzysztofapp.gradebook.service.CacheService;
+import com.krzysztofapp.gradebook.service.cache.ReferenceDataCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class CacheServiceImpl implements CacheService {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    public CacheServiceImpl(final ReferenceDataCache referenceDataCache) {
+
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @Override
+    public List<CacheRegionEto> getSecondLevelCacheRegions() {
+
+        return this.referenceDataCache.getRegions();
+    }
+}
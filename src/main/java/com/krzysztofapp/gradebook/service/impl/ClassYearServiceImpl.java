@@ -1,23 +1,32 @@
 package com.krzysztofapp.gradebook.service.impl;
 
 import com.krzysztofapp.gradebook.domain.ClassYearEto;
+import com.krzysztofapp.gradebook.domain.ClassYearMatrixEto;
 import com.krzysztofapp.gradebook.domain.mapper.ClassYearMapper;
+import com.krzysztofapp.gradebook.domain.mapper.EntityPatcher;
 import com.krzysztofapp.gradebook.exceptions.ClassYearNotFoundException;
+import com.krzysztofapp.gradebook.exceptions.ClassYearStillInUseException;
 import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateEntity;
 import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
 import com.krzysztofapp.gradebook.persistence.entity.utils.SubjectUtils;
 import com.krzysztofapp.gradebook.persistence.repo.ClassYearRepo;
+import com.krzysztofapp.gradebook.persistence.repo.DailyGradeRollupRepo;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentSubjectAggregateRepo;
 import com.krzysztofapp.gradebook.persistence.repo.SubjectRepo;
 import com.krzysztofapp.gradebook.service.ClassYearService;
+import com.krzysztofapp.gradebook.service.cache.WeightedAverageCache;
+import org.apache.commons.math3.util.Precision;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
-import java.lang.reflect.Field;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,18 +34,31 @@ import java.util.Set;
 @Service
 public class ClassYearServiceImpl implements ClassYearService {
 
+    private static final EntityPatcher<ClassYearEntity> CLASS_YEAR_PATCHER = EntityPatcher.of(ClassYearEto.class, ClassYearEntity.class);
 
     private final ClassYearRepo classYearRepository;
     private final SubjectRepo subjectRepository;
+    private final StudentRepo studentRepository;
+    private final GradeRepo gradeRepository;
+    private final StudentSubjectAggregateRepo aggregateRepository;
+    private final DailyGradeRollupRepo rollupRepository;
+    private final WeightedAverageCache weightedAverageCache;
 
     private final Validator validator;
 
 
     @Autowired
-    public ClassYearServiceImpl(final ClassYearRepo classYearRepository, final SubjectRepo subjectRepository, final Validator validator) {
+    public ClassYearServiceImpl(final ClassYearRepo classYearRepository, final SubjectRepo subjectRepository, final StudentRepo studentRepository,
+                                final GradeRepo gradeRepository, final StudentSubjectAggregateRepo aggregateRepository,
+                                final DailyGradeRollupRepo rollupRepository, final WeightedAverageCache weightedAverageCache, final Validator validator) {
 
         this.classYearRepository = classYearRepository;
         this.subjectRepository = subjectRepository;
+        this.studentRepository = studentRepository;
+        this.gradeRepository = gradeRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.rollupRepository = rollupRepository;
+        this.weightedAverageCache = weightedAverageCache;
         this.validator = validator;
     }
 
@@ -48,6 +70,59 @@ public class ClassYearServiceImpl implements ClassYearService {
         return ClassYearMapper.mapToETO(result);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ClassYearMatrixEto getGradeMatrix(Long id) {
+
+        if (!this.classYearRepository.existsById(id)) {
+            throw new ClassYearNotFoundException("ClassYear with id: " + id + " could not be found");
+        }
+        List<Object[]> students = this.studentRepository.findAllNamesByClassYearEntityId(id);
+        List<Object[]> subjects = this.subjectRepository.findAllNamesByClassYearEntityId(id);
+
+        long[] studentIds = new long[students.size()];
+        String[] studentNames = new String[students.size()];
+        Map<Long, Integer> studentRows = new HashMap<>();
+        for (int row = 0; row < students.size(); row++) {
+            Object[] student = students.get(row);
+            studentIds[row] = (Long) student[0];
+            studentNames[row] = student[1] + " " + student[2];
+            studentRows.put(studentIds[row], row);
+        }
+        long[] subjectIds = new long[subjects.size()];
+        String[] subjectNames = new String[subjects.size()];
+        Map<Long, Integer> subjectColumns = new HashMap<>();
+        for (int column = 0; column < subjects.size(); column++) {
+            Object[] subject = subjects.get(column);
+            subjectIds[column] = (Long) subject[0];
+            subjectNames[column] = (String) subject[1];
+            subjectColumns.put(subjectIds[column], column);
+        }
+
+        double[] weightedAverages = new double[studentIds.length * subjectIds.length];
+        int[] gradeCounts = new int[weightedAverages.length];
+        for (StudentSubjectAggregateEntity aggregate : this.aggregateRepository.calculateFromGradesForClassYear(id)) {
+            Integer row = studentRows.get(aggregate.getId().getStudentId());
+            Integer column = subjectColumns.get(aggregate.getId().getSubjectId());
+            if (row == null || column == null || aggregate.getWeightSum().signum() == 0) {
+                continue;
+            }
+            int cell = row * subjectIds.length + column;
+            weightedAverages[cell] = Precision.round(aggregate.getWeightedSum().doubleValue()/aggregate.getWeightSum().doubleValue(),2);
+            gradeCounts[cell] = aggregate.getGradeCount().intValue();
+        }
+
+        ClassYearMatrixEto matrix = new ClassYearMatrixEto();
+        matrix.setClassYearId(id);
+        matrix.setStudentIds(studentIds);
+        matrix.setStudentNames(studentNames);
+        matrix.setSubjectIds(subjectIds);
+        matrix.setSubjectNames(subjectNames);
+        matrix.setWeightedAverages(weightedAverages);
+        matrix.setGradeCounts(gradeCounts);
+        return matrix;
+    }
+
     @Override
     public ClassYearEto createNew(ClassYearEto newClassYear) {
         if (newClassYear.getId() != null) {
@@ -75,14 +150,7 @@ public class ClassYearServiceImpl implements ClassYearService {
 
         ClassYearEntity classYear = this.classYearRepository.findById(id)
                 .orElseThrow(() -> new ClassYearNotFoundException("ClassYear with id: " + id + " could not be found"));
-        ClassYearEto classYearEto = ClassYearMapper.mapToETO(classYear);
-        updateInfo.forEach((key, value) -> {
-            Field field = ReflectionUtils.findField(ClassYearEto.class, key);
-            field.setAccessible(true);
-            ReflectionUtils.setField(field, classYearEto, value);
-        });
-        classYear = ClassYearMapper.mapToEntity(classYearEto);
-        this.classYearRepository.save(classYear);
+        CLASS_YEAR_PATCHER.apply(classYear, updateInfo);
         if(updateInfo.containsKey("className") || updateInfo.containsKey("classLevel")){
             List<SubjectEntity> subjects = this.subjectRepository.findAllStudentEntityByClassYearEntityId(id);
             subjects.forEach(subject -> subject.setName(SubjectUtils.setCustomName(subject.getClassYear(), subject.getSubjectType())));
@@ -91,8 +159,19 @@ public class ClassYearServiceImpl implements ClassYearService {
         return ClassYearMapper.mapToETO(classYear);
     }
 
+    @Transactional
     @Override
     public void delete(Long id) {
-        this.classYearRepository.deleteById(id);
+        if (this.studentRepository.existsByClassYearEntityId(id)) {
+            throw new ClassYearStillInUseException("ClassYear with ID: " + id + " still has students and can't be removed");
+        }
+        this.gradeRepository.deleteAllInBulkBySubjectClassYearId(id);
+        this.aggregateRepository.deleteAllBySubjectClassYearId(id);
+        this.rollupRepository.deleteAllByClassYearId(id);
+        this.subjectRepository.deleteAllInBulkByClassYearEntityId(id);
+        if (this.classYearRepository.deleteInBulkById(id) == 0) {
+            throw new ClassYearNotFoundException("ClassYear with id: " + id + " could not be found");
+        }
+        this.weightedAverageCache.invalidateAll();
     }
 }
@@ -0,0 +1,99 @@
+package com.krzysztofapp.gradebook.service.impl;
+
+import com.krzysztofapp.gradebook.exceptions.AggregateRebuildAlreadyRunningException;
+import com.krzysztofapp.gradebook.persistence.repo.DailyGradeRollupRepo;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentSubjectAggregateRepo;
+import com.krzysztofapp.gradebook.service.GradeAggregateService;
+import com.krzysztofapp.gradebook.service.cache.WeightedAverageCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class GradeAggregateServiceImpl implements GradeAggregateService {
+
+    private static final int STUDENTS_PER_CHUNK = 500;
+
+    private final GradeRepo gradeRepository;
+    private final StudentSubjectAggregateRepo aggregateRepository;
+    private final DailyGradeRollupRepo rollupRepository;
+    private final WeightedAverageCache weightedAverageCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock rebuilding = new ReentrantLock();
+    private final ThreadPoolExecutor rebuildWorkers;
+
+    @Autowired
+    public GradeAggregateServiceImpl(final GradeRepo gradeRepository, final StudentSubjectAggregateRepo aggregateRepository,
+                                     final DailyGradeRollupRepo rollupRepository, final WeightedAverageCache weightedAverageCache, final TransactionTemplate transactionTemplate,
+                                     @Value("${gradebook.aggregate.rebuild-workers:4}") final int rebuildWorkers) {
+
+        this.gradeRepository = gradeRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.rollupRepository = rollupRepository;
+        this.weightedAverageCache = weightedAverageCache;
+        this.transactionTemplate = transactionTemplate;
+        AtomicLong threadCount = new AtomicLong();
+        this.rebuildWorkers = new ThreadPoolExecutor(rebuildWorkers, rebuildWorkers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(rebuildWorkers),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "aggregate-rebuild-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+
+        this.rebuildWorkers.shutdown();
+        this.rebuildWorkers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Long rebuildStudentSubjectAggregates() {
+
+        if (!this.rebuilding.tryLock()) {
+            throw new AggregateRebuildAlreadyRunningException("Another rebuild of the weighted averages is still running");
+        }
+        try {
+            List<Long> studentIds = this.gradeRepository.findAllGradedStudentIds();
+            List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+            Long studentIdFrom = Long.MIN_VALUE;
+            for (int next = STUDENTS_PER_CHUNK; next < studentIds.size(); next += STUDENTS_PER_CHUNK) {
+                Long studentIdTo = studentIds.get(next) - 1;
+                chunks.add(rebuildChunkAsync(studentIdFrom, studentIdTo));
+                studentIdFrom = studentIdTo + 1;
+            }
+            chunks.add(rebuildChunkAsync(studentIdFrom, Long.MAX_VALUE));
+            return chunks.stream().mapToLong(CompletableFuture::join).sum();
+        } finally {
+            this.weightedAverageCache.invalidateAll();
+            this.rebuilding.unlock();
+        }
+    }
+
+    @Override
+    public Integer rebuildDailyGradeRollup() {
+
+        return this.transactionTemplate.execute(status -> this.rollupRepository.rebuildFromGrades());
+    }
+
+    private CompletableFuture<Integer> rebuildChunkAsync(Long studentIdFrom, Long studentIdTo) {
+
+        return CompletableFuture.supplyAsync(() -> this.transactionTemplate.execute(status ->
+                this.aggregateRepository.rebuildForStudents(studentIdFrom, studentIdTo)), this.rebuildWorkers);
+    }
+}
@@ -0,0 +1,46 @@
+package com.krzysztofapp.gradebook.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.krzysztofapp.gradebook.domain.GradeExportFormat;
+import com.krzysztofapp.gradebook.domain.GradeExportRow;
+import com.krzysztofapp.gradebook.exceptions.InvalidRangeProvidedException;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.service.GradeExportService;
+import com.krzysztofapp.gradebook.service.export.GradeExportWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+@Service
+public class GradeExportServiceImpl implements GradeExportService {
+
+    private final GradeRepo gradeRepository;
+
+    private final ObjectWriter rowWriter;
+
+    @Autowired
+    public GradeExportServiceImpl(final GradeRepo gradeRepository, final ObjectMapper objectMapper) {
+
+        this.gradeRepository = gradeRepository;
+        this.rowWriter = objectMapper.writerFor(GradeExportRow.class);
+    }
+
+    @Override
+    public void exportGrades(LocalDate dateFrom, LocalDate dateTo, GradeExportFormat format, OutputStream outputStream) throws IOException {
+
+        if (dateFrom == null || dateTo == null) {
+            throw new InvalidRangeProvidedException("Both dates of the export range are required");
+        }
+        if (dateTo.isBefore(dateFrom)) {
+            throw new InvalidRangeProvidedException("Export range ends before it starts");
+        }
+
+        GradeExportWriter writer = GradeExportWriter.of(format, outputStream, this.rowWriter);
+        this.gradeRepository.exportByDateRange(dateFrom, dateTo, writer::write);
+        writer.finish();
+    }
+}
@@ -0,0 +1,59 @@
+package com.krzysztofapp.gradebook.service.impl;
+
+import com.krzysztofapp.gradebook.domain.GradeImportEto;
+import com.krzysztofapp.gradebook.exceptions.GradeImportNotFoundException;
+import com.krzysztofapp.gradebook.service.GradeImportService;
+import com.krzysztofapp.gradebook.service.importer.GradeImport;
+import com.krzysztofapp.gradebook.service.importer.GradeImporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class GradeImportServiceImpl implements GradeImportService {
+
+    private final GradeImporter gradeImporter;
+
+    @Autowired
+    public GradeImportServiceImpl(final GradeImporter gradeImporter) {
+
+        this.gradeImporter = gradeImporter;
+    }
+
+    @Override
+    public GradeImportEto importGrades(InputStream csv) throws IOException {
+
+        return this.gradeImporter.importGrades(csv).getStatistics();
+    }
+
+    @Override
+    public List<GradeImportEto> findAllImports() {
+
+        return this.gradeImporter.findAll().stream()
+                .map(GradeImport::getStatistics)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public GradeImportEto findImportById(String importId) {
+
+        return findImport(importId).getStatistics();
+    }
+
+    @Override
+    public void writeRejects(String importId, OutputStream outputStream) throws IOException {
+
+        findImport(importId).copyRejectsTo(outputStream);
+    }
+
+    private GradeImport findImport(String importId) {
+
+        return this.gradeImporter.find(importId)
+                .orElseThrow(() -> new GradeImportNotFoundException("Grade import with id: " + importId + " could not be found"));
+    }
+}
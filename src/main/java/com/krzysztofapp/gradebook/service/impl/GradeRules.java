@@ -0,0 +1,41 @@
+package com.krzysztofapp.gradebook.service.impl;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rules a new grade has to pass besides its bean validation, shared by the single, class and CSV import writes.
+ */
+public final class GradeRules {
+
+    public static final String COMMENT_MISSING = "Comment field for this grade value can't be empty!";
+
+    private GradeRules() {
+    }
+
+    public static boolean commentMissing(GradeEto gradeEto) {
+        return (gradeEto.getValue() == 1 || gradeEto.getValue() == 6) && (gradeEto.getComment() == null || gradeEto.getComment().isBlank());
+    }
+
+    public static String alreadyInsertedToday(GradeType gradeType) {
+        return "Grade of type: " + gradeType + " has already been inserted today!";
+    }
+
+    public static List<Object> lockKeyOf(Long studentId, Long subjectId, LocalDate dateOfGrade, GradeType gradeType) {
+        return Arrays.asList(studentId, subjectId, dateOfGrade, gradeType);
+    }
+
+    public static BigDecimal weightOf(GradeEntity grade) {
+        return grade.getWeight() == null ? BigDecimal.ZERO : grade.getWeight();
+    }
+
+    public static BigDecimal weightedValueOf(GradeEntity grade) {
+        return weightOf(grade).multiply(BigDecimal.valueOf(grade.getValue()));
+    }
+}
@@ -1,87 +1,184 @@
 package com.krzysztofapp.gradebook.service.impl;
 
 
+import com.krzysztofapp.gradebook.domain.CacheStatisticsEto;
+import com.krzysztofapp.gradebook.domain.GradeBulkEntryEto;
+import com.krzysztofapp.gradebook.domain.GradeBulkErrorEto;
+import com.krzysztofapp.gradebook.domain.GradeBulkEto;
+import com.krzysztofapp.gradebook.domain.GradeBulkResultEto;
+import com.krzysztofapp.gradebook.domain.GradeDayRollupEto;
 import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeFilterCriteria;
+import com.krzysztofapp.gradebook.domain.GradePageEto;
 import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
+import com.krzysztofapp.gradebook.domain.GradeSearchCursor;
+import com.krzysztofapp.gradebook.domain.GradeStatisticsCriteria;
+import com.krzysztofapp.gradebook.domain.mapper.EntityPatcher;
 import com.krzysztofapp.gradebook.domain.mapper.GradeMapper;
 import com.krzysztofapp.gradebook.exceptions.*;
+import com.krzysztofapp.gradebook.persistence.entity.GradeChangeType;
 import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
 import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateId;
 import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.repo.DailyGradeRollupRepo;
 import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
 import com.krzysztofapp.gradebook.persistence.repo.StudentRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentSubjectAggregateRepo;
 import com.krzysztofapp.gradebook.persistence.repo.SubjectRepo;
 import com.krzysztofapp.gradebook.service.GradeService;
+import com.krzysztofapp.gradebook.service.cache.WeightedAverageCache;
+import com.krzysztofapp.gradebook.service.lock.StripedLocks;
+import com.krzysztofapp.gradebook.service.outbox.GradeOutbox;
 import org.apache.commons.math3.util.Precision;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
-import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class GradeServiceImpl implements GradeService {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final EntityPatcher<GradeEntity> GRADE_PATCHER = EntityPatcher.of(GradeEto.class, GradeEntity.class);
 
     private final GradeRepo gradeRepository;
     private final StudentRepo studentRepository;
     private final SubjectRepo subjectRepository;
+    private final StudentSubjectAggregateRepo aggregateRepository;
+    private final DailyGradeRollupRepo rollupRepository;
+
+    private final WeightedAverageCache weightedAverageCache;
+    private final StripedLocks gradeLocks;
+    private final GradeOutbox gradeOutbox;
+    private final GradeWriteEffects gradeWriteEffects;
 
     private final Validator validator;
 
     @Autowired
-    public GradeServiceImpl(final GradeRepo gradeRepository, final StudentRepo studentRepository, final SubjectRepo subjectRepository, final Validator validator) {
+    public GradeServiceImpl(final GradeRepo gradeRepository, final StudentRepo studentRepository, final SubjectRepo subjectRepository,
+                            final StudentSubjectAggregateRepo aggregateRepository, final DailyGradeRollupRepo rollupRepository,
+                            final WeightedAverageCache weightedAverageCache, final StripedLocks gradeLocks, final GradeOutbox gradeOutbox,
+                            final GradeWriteEffects gradeWriteEffects, final Validator validator) {
 
         this.gradeRepository = gradeRepository;
         this.studentRepository = studentRepository;
         this.subjectRepository = subjectRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.rollupRepository = rollupRepository;
+        this.weightedAverageCache = weightedAverageCache;
+        this.gradeLocks = gradeLocks;
+        this.gradeOutbox = gradeOutbox;
+        this.gradeWriteEffects = gradeWriteEffects;
         this.validator = validator;
     }
 
     @Override
     public GradeEto findGradeById(Long id) {
 
-        GradeEntity grade = this.gradeRepository.findById(id)
+        return this.gradeRepository.findEtoById(id)
                 .orElseThrow( ()-> new GradeNotFoundException("Grade with id: " + id + " could not be found"));
-
-        return GradeMapper.mapToETO(grade);
     }
 
     @Override
     public List<GradeEto> searchGradesByCriteria(GradeSearchCriteria criteria) {
 
-        if(criteria.getCreatedDateFrom() != null && criteria.getCreatedDateTo() != null && criteria.getCreatedDateTo().isBefore(criteria.getCreatedDateFrom())) {
-            throw new InvalidRangeProvidedException("Grade creation date To can't be before From");
-        }
-        if(criteria.getValueFrom() != null && criteria.getValueTo() != null && criteria.getValueTo() < criteria.getValueFrom()) {
-            throw new InvalidRangeProvidedException(("Grade value To can't be lower than From"));
-        }
-        if(criteria.getWeightFrom() != null && criteria.getWeightTo() != null && criteria.getWeightTo().compareTo(criteria.getWeightFrom()) < 0) {
-            throw new InvalidRangeProvidedException(("Grade weight To can't be lower than From"));
+        validateSearchCriteria(criteria);
+
+        return this.gradeRepository.findByCriteria(criteria);
+    }
+
+    @Override
+    public GradePageEto searchGradePageByCriteria(GradeSearchCriteria criteria) {
+
+        validateSearchCriteria(criteria);
+        int pageSize = criteria.getPageSize() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(criteria.getPageSize(), MAX_PAGE_SIZE));
+        GradeSearchCursor after = criteria.getContinuationToken() == null ? null : GradeSearchCursor.decode(criteria.getContinuationToken());
+
+        List<GradeEto> foundGrades = this.gradeRepository.findPageByCriteria(criteria, after, pageSize + 1);
+        boolean hasNextPage = foundGrades.size() > pageSize;
+        List<GradeEto> pageGrades = hasNextPage ? foundGrades.subList(0, pageSize) : foundGrades;
+
+        GradePageEto page = new GradePageEto();
+        page.setGrades(pageGrades);
+        if (hasNextPage) {
+            GradeEto lastGrade = pageGrades.get(pageSize - 1);
+            page.setContinuationToken(new GradeSearchCursor(lastGrade.getDateOfGrade(), lastGrade.getId()).encode());
         }
+        return page;
+    }
 
-        List<GradeEntity> foundGrades = this.gradeRepository.findByCriteria(criteria);
+    @Transactional(readOnly = true)
+    @Override
+    public void streamGradesByCriteria(GradeSearchCriteria criteria, Consumer<GradeEto> consumer) {
+
+        validateSearchCriteria(criteria);
 
-        return GradeMapper.mapToETOList(foundGrades);
+        this.gradeRepository.scrollByCriteria(criteria, consumer);
+    }
+
+    @Override
+    public List<GradeEto> searchGradesByFilter(GradeFilterCriteria criteria) {
+
+        validateRanges(criteria.getCreatedDateFrom(), criteria.getCreatedDateTo(), criteria.getValueFrom(), criteria.getValueTo(),
+                criteria.getWeightFrom(), criteria.getWeightTo());
+        int limit = criteria.getLimit() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(criteria.getLimit(), MAX_PAGE_SIZE));
+
+        return this.gradeRepository.findByFilter(criteria, limit);
     }
 
 
     @Override
     public Double getWeightedAverage(Long studentId, Long subjectId) {
 
-        List<GradeEntity> studentGradeList = this.gradeRepository.findAllGradeByStudentEntityIdAndSubjectEntityId(studentId, subjectId);
-        Double sumOfGrades = studentGradeList.stream().mapToDouble(grade -> grade.getValue()*grade.getWeight().doubleValue()).reduce(0, Double::sum);
-        Double totalNumberOfGrades = studentGradeList.stream().mapToDouble(grade -> grade.getWeight().intValue()).reduce(0, Double::sum);
+        return this.weightedAverageCache.get(studentId, subjectId, () -> calculateWeightedAverage(studentId, subjectId));
+    }
+
+    @Override
+    public CacheStatisticsEto getWeightedAverageCacheStatistics() {
+
+        return this.weightedAverageCache.getStatistics();
+    }
+
+    @Override
+    public List<GradeDayRollupEto> findDailyGradeRollup(GradeStatisticsCriteria criteria) {
+
+        if (criteria.getDateFrom() == null || criteria.getDateTo() == null) {
+            throw new InvalidRangeProvidedException("Grade date From and To are required");
+        }
+        if (criteria.getDateTo().isBefore(criteria.getDateFrom())) {
+            throw new InvalidRangeProvidedException("Grade date To can't be before From");
+        }
 
-        return Precision.round(sumOfGrades/totalNumberOfGrades,2);
+        return this.rollupRepository.findAllByDayAndGradeType(criteria.getDateFrom(), criteria.getDateTo(), criteria.getGradeTypes());
+    }
+
+    private Double calculateWeightedAverage(Long studentId, Long subjectId) {
+
+        StudentSubjectAggregateEntity aggregate = this.aggregateRepository.findById(new StudentSubjectAggregateId(studentId, subjectId))
+                .orElseGet(() -> this.aggregateRepository.calculateFromGrades(studentId, subjectId));
+
+        return Precision.round(aggregate.getWeightedSum().doubleValue()/aggregate.getWeightSum().doubleValue(),2);
     }
 
     @Transactional
@@ -101,12 +198,14 @@ public class GradeServiceImpl implements GradeService {
             throw new ConstraintViolationException("Error occurred: " + sb.toString(), violations);
         }
 
-        if(gradeCreatedToday(newGrade).isPresent()) {
-            throw new GradeAlreadyCreatedTodayException("Grade of type: " + newGrade.getGradeType() + " has already been inserted today!");
+        this.gradeLocks.lockUntilTransactionCompletes(List.of(GradeRules.lockKeyOf(newGrade.getStudentEntityId(), newGrade.getSubjectEntityId(),
+                newGrade.getDateOfGrade(), newGrade.getGradeType())));
+        if(gradeCreatedToday(newGrade)) {
+            throw new GradeAlreadyCreatedTodayException(GradeRules.alreadyInsertedToday(newGrade.getGradeType()));
         }
 
-        if((newGrade.getValue() == 1 || newGrade.getValue() == 6) && (newGrade.getComment() == null || newGrade.getComment().isBlank())) {
-            throw new GradeCommentIsEmptyException("Comment field for this grade value can't be empty!");
+        if(GradeRules.commentMissing(newGrade)) {
+            throw new GradeCommentIsEmptyException(GradeRules.COMMENT_MISSING);
         }
 
         StudentEntity student = this.studentRepository.findById(newGrade.getStudentEntityId())
@@ -118,10 +217,79 @@ public class GradeServiceImpl implements GradeService {
         grade.setStudentEntity(student);
         grade.setSubjectEntity(subject);
         grade = this.gradeRepository.save(grade);
+        flushGrades(grade.getGradeType());
+        this.gradeWriteEffects.gradesCreated(List.of(grade));
 
         return GradeMapper.mapToETO(grade);
     }
 
+    @Transactional
+    @Override
+    public GradeBulkResultEto createNewForClass(GradeBulkEto newGrades) {
+
+        Set<ConstraintViolation<GradeBulkEto>> violations = this.validator.validate(newGrades);
+        if (!violations.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            for (ConstraintViolation<GradeBulkEto> constraintViolation : violations) {
+                sb.append(constraintViolation.getMessage());
+                sb.append("\n");
+            }
+            throw new ConstraintViolationException("Error occurred: " + sb.toString(), violations);
+        }
+
+        SubjectEntity subject = this.subjectRepository.findById(newGrades.getSubjectEntityId())
+                .orElseThrow( ()-> new SubjectNotFoundException("Subject with id: " + newGrades.getSubjectEntityId() + " could not be found"));
+
+        Set<Long> studentIds = newGrades.getEntries().stream()
+                .map(GradeBulkEntryEto::getStudentEntityId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, StudentEntity> students = this.studentRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(StudentEntity::getId, Function.identity()));
+        List<Object> lockKeys = new ArrayList<>();
+        studentIds.forEach(studentId -> lockKeys.add(GradeRules.lockKeyOf(studentId, subject.getId(), newGrades.getDateOfGrade(), newGrades.getGradeType())));
+        this.gradeLocks.lockUntilTransactionCompletes(lockKeys);
+        Set<Long> gradedStudentIds = new HashSet<>(newGrades.getGradeType() == null || studentIds.isEmpty()
+                ? Collections.emptyList()
+                : this.gradeRepository.findStudentIdsWithGradeAtCertainDay(studentIds, subject.getId(), newGrades.getDateOfGrade(), newGrades.getGradeType()));
+
+        GradeBulkResultEto result = new GradeBulkResultEto();
+        List<GradeEntity> grades = new ArrayList<>();
+        for (int position = 0; position < newGrades.getEntries().size(); position++) {
+            GradeBulkEntryEto entry = newGrades.getEntries().get(position);
+            GradeEto gradeEto = new GradeEto();
+            gradeEto.setSubjectEntityId(subject.getId());
+            gradeEto.setStudentEntityId(entry.getStudentEntityId());
+            gradeEto.setGradeType(newGrades.getGradeType());
+            gradeEto.setDateOfGrade(newGrades.getDateOfGrade());
+            gradeEto.setWeight(newGrades.getWeight());
+            gradeEto.setValue(entry.getValue());
+            gradeEto.setComment(entry.getComment());
+
+            String error = findBulkEntryError(gradeEto, students, gradedStudentIds);
+            if (error != null) {
+                result.getErrors().add(new GradeBulkErrorEto(position, entry.getStudentEntityId(), error));
+                continue;
+            }
+
+            GradeEntity grade = GradeMapper.mapToEntity(gradeEto);
+            grade.setTeacherEntity(subject.getTeacherEntity());
+            grade.setStudentEntity(students.get(gradeEto.getStudentEntityId()));
+            grade.setSubjectEntity(subject);
+            grades.add(grade);
+            if (gradeEto.getGradeType() != null) {
+                gradedStudentIds.add(gradeEto.getStudentEntityId());
+            }
+        }
+
+        List<GradeEntity> savedGrades = this.gradeRepository.saveAll(grades);
+        flushGrades(newGrades.getGradeType());
+        this.gradeWriteEffects.gradesCreated(savedGrades);
+
+        result.setCreatedGrades(GradeMapper.mapToETOList(savedGrades));
+        return result;
+    }
+
 
     @Transactional
     @Override
@@ -129,37 +297,127 @@ public class GradeServiceImpl implements GradeService {
 
         GradeEntity grade = this.gradeRepository.findById(id)
                 .orElseThrow(() -> new GradeNotFoundException("Grade with id: " + id + " could not be found"));
-        GradeEto gradeEto = GradeMapper.mapToETO(grade);
-        updateInfo.forEach((key, value) -> {
-            Field field = ReflectionUtils.findField(GradeEto.class, key);
-            field.setAccessible(true);
-            if(key.equals("subjectEntityId") || key.equals("studentEntityId"))
-                ReflectionUtils.setField(field, gradeEto, Long.valueOf((Integer) value));
-            else
-                ReflectionUtils.setField(field, gradeEto, value);
-        });
-        grade = GradeMapper.mapToEntity(gradeEto);
-        StudentEntity student = this.studentRepository.findById(gradeEto.getStudentEntityId())
-                .orElseThrow( ()-> new StudentNotFoundException("Student with id: " + gradeEto.getStudentEntityId() + " could not be found"));
-        SubjectEntity subject = this.subjectRepository.findById(gradeEto.getSubjectEntityId())
-                .orElseThrow( ()-> new SubjectNotFoundException("Subject with id: " + gradeEto.getSubjectEntityId() + " could not be found"));
-        grade.setSubjectEntity(subject);
+        Long previousStudentId = grade.getStudentEntity().getId();
+        Long previousSubjectId = grade.getSubjectEntity().getId();
+        BigDecimal previousWeightedValue = GradeRules.weightedValueOf(grade);
+        BigDecimal previousWeight = GradeRules.weightOf(grade);
+        LocalDate previousDateOfGrade = grade.getDateOfGrade();
+        GradeType previousGradeType = grade.getGradeType();
+        StudentEntity student = grade.getStudentEntity();
+        if (updateInfo.containsKey("studentEntityId")) {
+            Long studentId = EntityPatcher.coerce("studentEntityId", updateInfo.get("studentEntityId"), Long.class);
+            student = this.studentRepository.findById(studentId)
+                    .orElseThrow( ()-> new StudentNotFoundException("Student with id: " + studentId + " could not be found"));
+        }
+        SubjectEntity subject = grade.getSubjectEntity();
+        if (updateInfo.containsKey("subjectEntityId")) {
+            Long subjectId = EntityPatcher.coerce("subjectEntityId", updateInfo.get("subjectEntityId"), Long.class);
+            subject = this.subjectRepository.findById(subjectId)
+                    .orElseThrow( ()-> new SubjectNotFoundException("Subject with id: " + subjectId + " could not be found"));
+        }
+        LocalDate dateOfGrade = updateInfo.containsKey("dateOfGrade")
+                ? EntityPatcher.coerce("dateOfGrade", updateInfo.get("dateOfGrade"), LocalDate.class) : previousDateOfGrade;
+        GradeType gradeType = updateInfo.containsKey("gradeType")
+                ? EntityPatcher.coerce("gradeType", updateInfo.get("gradeType"), GradeType.class) : previousGradeType;
+        this.gradeLocks.lockUntilTransactionCompletes(List.of(GradeRules.lockKeyOf(previousStudentId, previousSubjectId, previousDateOfGrade, previousGradeType),
+                GradeRules.lockKeyOf(student.getId(), subject.getId(), dateOfGrade, gradeType)));
+        GRADE_PATCHER.apply(grade, updateInfo);
         grade.setStudentEntity(student);
-        grade.setTeacherEntity(subject.getTeacherEntity());
-        this.gradeRepository.save(grade);
+        if (!previousSubjectId.equals(subject.getId())) {
+            grade.setSubjectEntity(subject);
+            grade.setTeacherEntity(subject.getTeacherEntity());
+        }
+        flushGrades(grade.getGradeType());
+        if (previousStudentId.equals(student.getId()) && previousSubjectId.equals(subject.getId())) {
+            this.aggregateRepository.applyGradeChange(student.getId(), subject.getId(),
+                    GradeRules.weightedValueOf(grade).subtract(previousWeightedValue), GradeRules.weightOf(grade).subtract(previousWeight), 0);
+        } else {
+            this.aggregateRepository.applyGradeChange(previousStudentId, previousSubjectId, previousWeightedValue.negate(), previousWeight.negate(), -1);
+            this.aggregateRepository.applyGradeChange(student.getId(), subject.getId(), GradeRules.weightedValueOf(grade), GradeRules.weightOf(grade), 1);
+            this.weightedAverageCache.invalidate(previousStudentId, previousSubjectId);
+            this.gradeOutbox.append(grade.getId(), previousStudentId, previousSubjectId, GradeChangeType.UPDATED);
+        }
+        if (!previousSubjectId.equals(subject.getId()) || !Objects.equals(previousDateOfGrade, grade.getDateOfGrade())
+                || previousGradeType != grade.getGradeType()) {
+            this.rollupRepository.applyGradeChange(previousDateOfGrade, previousGradeType, previousSubjectId, -1);
+            this.rollupRepository.applyGradeChange(grade.getDateOfGrade(), grade.getGradeType(), subject.getId(), 1);
+        }
+        this.weightedAverageCache.invalidate(student.getId(), subject.getId());
+        this.gradeOutbox.append(grade, GradeChangeType.UPDATED);
 
         return GradeMapper.mapToETO(grade);
     }
 
+    @Transactional
     @Override
     public void delete(Long id) {
-        this.gradeRepository.deleteById(id);
+
+        GradeEntity grade = this.gradeRepository.findById(id)
+                .orElseThrow(() -> new GradeNotFoundException("Grade with id: " + id + " could not be found"));
+        this.gradeLocks.lockUntilTransactionCompletes(List.of(GradeRules.lockKeyOf(grade.getStudentEntity().getId(), grade.getSubjectEntity().getId(),
+                grade.getDateOfGrade(), grade.getGradeType())));
+        this.gradeRepository.delete(grade);
+        this.aggregateRepository.applyGradeChange(grade.getStudentEntity().getId(), grade.getSubjectEntity().getId(),
+                GradeRules.weightedValueOf(grade).negate(), GradeRules.weightOf(grade).negate(), -1);
+        this.rollupRepository.applyGradeChange(grade.getDateOfGrade(), grade.getGradeType(), grade.getSubjectEntity().getId(), -1);
+        this.weightedAverageCache.invalidate(grade.getStudentEntity().getId(), grade.getSubjectEntity().getId());
+        this.gradeOutbox.append(grade, GradeChangeType.DELETED);
     }
 
 
-    private Optional<GradeEntity> gradeCreatedToday(GradeEto gradeEto) {
-        return this.gradeRepository
-                .findGradeByDateOfGradeAndGradeType
-                        (gradeEto.getDateOfGrade(), gradeEto.getGradeType());
+    private void validateSearchCriteria(GradeSearchCriteria criteria) {
+
+        validateRanges(criteria.getCreatedDateFrom(), criteria.getCreatedDateTo(), criteria.getValueFrom(), criteria.getValueTo(),
+                criteria.getWeightFrom(), criteria.getWeightTo());
+    }
+
+    private void validateRanges(LocalDate dateFrom, LocalDate dateTo, Integer valueFrom, Integer valueTo, BigDecimal weightFrom, BigDecimal weightTo) {
+
+        if(dateFrom != null && dateTo != null && dateTo.isBefore(dateFrom)) {
+            throw new InvalidRangeProvidedException("Grade creation date To can't be before From");
+        }
+        if(valueFrom != null && valueTo != null && valueTo < valueFrom) {
+            throw new InvalidRangeProvidedException(("Grade value To can't be lower than From"));
+        }
+        if(weightFrom != null && weightTo != null && weightTo.compareTo(weightFrom) < 0) {
+            throw new InvalidRangeProvidedException(("Grade weight To can't be lower than From"));
+        }
+    }
+
+    private String findBulkEntryError(GradeEto gradeEto, Map<Long, StudentEntity> students, Set<Long> gradedStudentIds) {
+
+        Set<ConstraintViolation<GradeEto>> violations = this.validator.validate(gradeEto);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining("\n"));
+        }
+        if (!students.containsKey(gradeEto.getStudentEntityId())) {
+            return "Student with id: " + gradeEto.getStudentEntityId() + " could not be found";
+        }
+        if (gradedStudentIds.contains(gradeEto.getStudentEntityId())) {
+            return GradeRules.alreadyInsertedToday(gradeEto.getGradeType());
+        }
+        if (GradeRules.commentMissing(gradeEto)) {
+            return GradeRules.COMMENT_MISSING;
+        }
+        return null;
+    }
+
+    private void flushGrades(GradeType gradeType) {
+
+        try {
+            this.gradeRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            String constraintName = e.getCause() instanceof org.hibernate.exception.ConstraintViolationException
+                    ? ((org.hibernate.exception.ConstraintViolationException) e.getCause()).getConstraintName() : null;
+            if (constraintName != null && constraintName.toUpperCase().contains(GradeEntity.UNIQUE_GRADE_PER_DAY)) {
+                throw new GradeAlreadyCreatedTodayException(GradeRules.alreadyInsertedToday(gradeType));
+            }
+            throw e;
+        }
+    }
+
+    private boolean gradeCreatedToday(GradeEto gradeEto) {
+        return this.gradeRepository.existsByStudentEntityIdAndSubjectEntityIdAndDateOfGradeAndGradeType(gradeEto.getStudentEntityId(),
+                gradeEto.getSubjectEntityId(), gradeEto.getDateOfGrade(), gradeEto.getGradeType());
     }
 }
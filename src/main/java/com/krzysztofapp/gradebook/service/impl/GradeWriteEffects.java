@@ -0,0 +1,69 @@
+package com.krzysztofapp.gradebook.service.impl;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeChangeType;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateId;
+import com.krzysztofapp.gradebook.persistence.repo.DailyGradeRollupRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentSubjectAggregateRepo;
+import com.krzysztofapp.gradebook.service.cache.WeightedAverageCache;
+import com.krzysztofapp.gradebook.service.outbox.GradeOutbox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Everything that has to follow new grades in their transaction, shared by the single, class and CSV import writes.
+ */
+@Component
+public class GradeWriteEffects {
+
+    private final StudentSubjectAggregateRepo aggregateRepository;
+    private final DailyGradeRollupRepo rollupRepository;
+
+    private final WeightedAverageCache weightedAverageCache;
+    private final GradeOutbox gradeOutbox;
+
+    @Autowired
+    public GradeWriteEffects(final StudentSubjectAggregateRepo aggregateRepository, final DailyGradeRollupRepo rollupRepository,
+                             final WeightedAverageCache weightedAverageCache, final GradeOutbox gradeOutbox) {
+
+        this.aggregateRepository = aggregateRepository;
+        this.rollupRepository = rollupRepository;
+        this.weightedAverageCache = weightedAverageCache;
+        this.gradeOutbox = gradeOutbox;
+    }
+
+    /**
+     * Applies the aggregate and rollup deltas of flushed new grades, one per student/subject pair and one per day,
+     * invalidates their weighted averages and appends them to the outbox.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void gradesCreated(List<GradeEntity> grades) {
+
+        Map<StudentSubjectAggregateId, List<GradeEntity>> gradesByStudentSubject = grades.stream()
+                .collect(Collectors.groupingBy(grade -> new StudentSubjectAggregateId(grade.getStudentEntity().getId(), grade.getSubjectEntity().getId()),
+                        LinkedHashMap::new, Collectors.toList()));
+        gradesByStudentSubject.forEach((id, pairGrades) -> {
+            this.aggregateRepository.applyGradeChange(id.getStudentId(), id.getSubjectId(),
+                    pairGrades.stream().map(GradeRules::weightedValueOf).reduce(BigDecimal.ZERO, BigDecimal::add),
+                    pairGrades.stream().map(GradeRules::weightOf).reduce(BigDecimal.ZERO, BigDecimal::add),
+                    pairGrades.size());
+            this.weightedAverageCache.invalidate(id.getStudentId(), id.getSubjectId());
+        });
+        Map<List<Object>, Long> gradesByDay = grades.stream()
+                .collect(Collectors.groupingBy(grade -> Arrays.asList(grade.getDateOfGrade(), grade.getGradeType(), grade.getSubjectEntity().getId()),
+                        LinkedHashMap::new, Collectors.counting()));
+        gradesByDay.forEach((day, count) -> this.rollupRepository.applyGradeChange((LocalDate) day.get(0), (GradeType) day.get(1), (Long) day.get(2), count));
+        this.gradeOutbox.appendAll(grades, GradeChangeType.CREATED);
+    }
+}
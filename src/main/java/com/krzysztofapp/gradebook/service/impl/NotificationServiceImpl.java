@@ -0,0 +1,25 @@
+package com.krzysztofapp.gradebook.service.impl;
+
+import com.krzysztofapp.gradebook.domain.NotificationStatisticsEto;
+import com.krzysztofapp.gradebook.service.NotificationService;
+import com.krzysztofapp.gradebook.service.notification.ParentNotifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    private final ParentNotifier parentNotifier;
+
+    @Autowired
+    public NotificationServiceImpl(final ParentNotifier parentNotifier) {
+
+        this.parentNotifier = parentNotifier;
+    }
+
+    @Override
+    public NotificationStatisticsEto getStatistics() {
+
+        return this.parentNotifier.getStatistics();
+    }
+}
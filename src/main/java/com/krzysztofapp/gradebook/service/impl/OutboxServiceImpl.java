@@ -0,0 +1,63 @@
+package com.krzysztofapp.gradebook.service.impl;
+
+import com.krzysztofapp.gradebook.domain.OutboxStatisticsEto;
+import com.krzysztofapp.gradebook.exceptions.InvalidRangeProvidedException;
+import com.krzysztofapp.gradebook.persistence.repo.OutboxRepo;
+import com.krzysztofapp.gradebook.service.OutboxService;
+import com.krzysztofapp.gradebook.service.outbox.GradeOutboxDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxRepo outboxRepository;
+    private final GradeOutboxDispatcher dispatcher;
+
+    @Autowired
+    public OutboxServiceImpl(final OutboxRepo outboxRepository, final GradeOutboxDispatcher dispatcher) {
+
+        this.outboxRepository = outboxRepository;
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public OutboxStatisticsEto getStatistics() {
+
+        LocalDateTime oldestPending = this.outboxRepository.findOldestPendingCreatedAt();
+
+        OutboxStatisticsEto statistics = new OutboxStatisticsEto();
+        statistics.setPendingCount(this.outboxRepository.countByDispatchedAtIsNull());
+        statistics.setOldestPendingAgeMillis(oldestPending == null ? null : Duration.between(oldestPending, LocalDateTime.now()).toMillis());
+        statistics.setLastDispatchLagMillis(this.dispatcher.getLastDispatchLagMillis());
+        statistics.setDispatchedCount(this.dispatcher.getDispatchedCount());
+        statistics.setFailedCount(this.dispatcher.getFailedCount());
+        statistics.setDeadLetteredCount(this.dispatcher.getDeadLetteredCount());
+        return statistics;
+    }
+
+    @Transactional
+    @Override
+    public Integer replay(Long fromOutboxId, Long studentId) {
+
+        if (fromOutboxId == null) {
+            throw new InvalidRangeProvidedException("Outbox id to replay from is required");
+        }
+        int replayed = studentId == null
+                ? this.outboxRepository.resetFrom(fromOutboxId)
+                : this.outboxRepository.resetFromForStudent(fromOutboxId, studentId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wakeUp();
+            }
+        });
+        return replayed;
+    }
+}
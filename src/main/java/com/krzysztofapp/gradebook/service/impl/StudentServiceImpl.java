@@ -2,25 +2,33 @@ package com.krzysztofapp.gradebook.service.impl;
 
 
 import com.krzysztofapp.gradebook.domain.GradeContext;
+import com.krzysztofapp.gradebook.domain.GradeDayCountEto;
+import com.krzysztofapp.gradebook.domain.GradeStatisticsCriteria;
 import com.krzysztofapp.gradebook.domain.StudentEto;
+import com.krzysztofapp.gradebook.domain.mapper.EntityPatcher;
 import com.krzysztofapp.gradebook.domain.mapper.StudentMapper;
 import com.krzysztofapp.gradebook.exceptions.ClassYearNotFoundException;
+import com.krzysztofapp.gradebook.exceptions.InvalidRangeProvidedException;
 import com.krzysztofapp.gradebook.exceptions.StudentNotFoundException;
 import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
 import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
 import com.krzysztofapp.gradebook.persistence.repo.ClassYearRepo;
+import com.krzysztofapp.gradebook.persistence.repo.DailyGradeRollupRepo;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
 import com.krzysztofapp.gradebook.persistence.repo.StudentRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentSubjectAggregateRepo;
 import com.krzysztofapp.gradebook.service.StudentService;
+import com.krzysztofapp.gradebook.service.cache.WeightedAverageCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
-import java.lang.reflect.Field;
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,17 +36,29 @@ import java.util.Set;
 @Service
 public class StudentServiceImpl implements StudentService {
 
+    private static final EntityPatcher<StudentEntity> STUDENT_PATCHER = EntityPatcher.of(StudentEto.class, StudentEntity.class);
+
     private final ClassYearRepo classYearRepository;
     private final StudentRepo studentRepository;
+    private final GradeRepo gradeRepository;
+    private final StudentSubjectAggregateRepo aggregateRepository;
+    private final DailyGradeRollupRepo rollupRepository;
+    private final WeightedAverageCache weightedAverageCache;
     
     private final Validator validator;
 
 
     @Autowired
-    public StudentServiceImpl(final ClassYearRepo classYearRepository, final StudentRepo studentRepository, final Validator validator) {
+    public StudentServiceImpl(final ClassYearRepo classYearRepository, final StudentRepo studentRepository, final GradeRepo gradeRepository,
+                              final StudentSubjectAggregateRepo aggregateRepository, final DailyGradeRollupRepo rollupRepository,
+                              final WeightedAverageCache weightedAverageCache, final Validator validator) {
 
         this.studentRepository = studentRepository;
         this.classYearRepository = classYearRepository;
+        this.gradeRepository = gradeRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.rollupRepository = rollupRepository;
+        this.weightedAverageCache = weightedAverageCache;
         this.validator = validator;
     }
 
@@ -55,8 +75,12 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public List<StudentEto> findAllStudentsWithGradeFAtCertainDay(LocalDate day) {
 
+        List<Long> subjectIds = this.rollupRepository.findSubjectIdsWithGradeAtCertainDay(day, GradeType.F);
+        if (subjectIds.isEmpty()) {
+            return Collections.emptyList();
+        }
         List<StudentEntity> result = this.studentRepository
-                .findAllByGradeFAtCertainDay(day);
+                .findAllByGradeAtCertainDayInSubjects(GradeType.F, day, subjectIds);
 
         return StudentMapper.mapToETOList(result);
     }
@@ -64,10 +88,23 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public Integer getNumberOfStudents(GradeContext context) {
 
-        List<StudentEntity> number = this.studentRepository
-                .findAllByCertainGradeAtCertainDay(context.getGradeType(), context.getDateOfGrade());
+        List<GradeDayCountEto> counts = this.studentRepository
+                .countStudentsByDayAndGradeType(context.getDateOfGrade(), context.getDateOfGrade(), Collections.singletonList(context.getGradeType()));
 
-        return number.size();
+        return counts.stream().mapToInt(count -> count.getStudentCount().intValue()).sum();
+    }
+
+    @Override
+    public List<GradeDayCountEto> countStudentsWithGrades(GradeStatisticsCriteria criteria) {
+
+        if (criteria.getDateFrom() == null || criteria.getDateTo() == null) {
+            throw new InvalidRangeProvidedException("Grade date From and To are required");
+        }
+        if (criteria.getDateTo().isBefore(criteria.getDateFrom())) {
+            throw new InvalidRangeProvidedException("Grade date To can't be before From");
+        }
+
+        return this.studentRepository.countStudentsByDayAndGradeType(criteria.getDateFrom(), criteria.getDateTo(), criteria.getGradeTypes());
     }
 
     @Transactional
@@ -103,28 +140,28 @@ public class StudentServiceImpl implements StudentService {
 
         StudentEntity student = this.studentRepository.findById(id)
                 .orElseThrow(() -> new StudentNotFoundException("Student with id: " + id + " could not be found"));
-        StudentEto studentEto = StudentMapper.mapToETO(student);
-        updateInfo.forEach((key, value) -> {
-            Field field = ReflectionUtils.findField(StudentEto.class, key);
-            field.setAccessible(true);
-            if(key.equals("classYearEntityId"))
-                ReflectionUtils.setField(field, studentEto, Long.valueOf((Integer) value));
-            else
-                ReflectionUtils.setField(field, studentEto, value);
-        });
-        student = StudentMapper.mapToEntity(studentEto);
-        ClassYearEntity classYear = this.classYearRepository.findById(studentEto.getClassYearEntityId())
-                .orElseThrow( ()-> new ClassYearNotFoundException("ClassYear with id: " + studentEto.getClassYearEntityId() + " could not be found"));
-        student.setClassYearEntity(classYear);
-        this.studentRepository.save(student);
+        if (updateInfo.containsKey("classYearEntityId")) {
+            Long classYearId = EntityPatcher.coerce("classYearEntityId", updateInfo.get("classYearEntityId"), Long.class);
+            ClassYearEntity classYear = this.classYearRepository.findById(classYearId)
+                    .orElseThrow( ()-> new ClassYearNotFoundException("ClassYear with id: " + classYearId + " could not be found"));
+            student.setClassYearEntity(classYear);
+        }
+        STUDENT_PATCHER.apply(student, updateInfo);
 
         return StudentMapper.mapToETO(student);
 
     }
 
+    @Transactional
     @Override
     public void delete(Long id) {
-        this.studentRepository.deleteById(id);
+        this.rollupRepository.removeGradesOfStudent(id);
+        this.gradeRepository.deleteAllInBulkByStudentEntityId(id);
+        this.aggregateRepository.deleteAllByStudentId(id);
+        if (this.studentRepository.deleteInBulkById(id) == 0) {
+            throw new StudentNotFoundException("Student with id: " + id + " could not be found");
+        }
+        this.weightedAverageCache.invalidateStudent(id);
 
     }
 }
@@ -10,9 +10,13 @@ import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
 import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import com.krzysztofapp.gradebook.persistence.entity.utils.SubjectUtils;
 import com.krzysztofapp.gradebook.persistence.repo.ClassYearRepo;
+import com.krzysztofapp.gradebook.persistence.repo.DailyGradeRollupRepo;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentSubjectAggregateRepo;
 import com.krzysztofapp.gradebook.persistence.repo.SubjectRepo;
 import com.krzysztofapp.gradebook.persistence.repo.TeacherRepo;
 import com.krzysztofapp.gradebook.service.SubjectService;
+import com.krzysztofapp.gradebook.service.cache.WeightedAverageCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,16 +34,26 @@ public class SubjectServiceImpl implements SubjectService {
     private final SubjectRepo subjectRepository;
     private final TeacherRepo teacherRepository;
     private final ClassYearRepo classYearRepository;
+    private final GradeRepo gradeRepository;
+    private final StudentSubjectAggregateRepo aggregateRepository;
+    private final DailyGradeRollupRepo rollupRepository;
+    private final WeightedAverageCache weightedAverageCache;
 
     private final Validator validator;
 
 
     @Autowired
-    public SubjectServiceImpl(final SubjectRepo subjectRepository, final TeacherRepo teacherRepository, final ClassYearRepo classYearRepository, final Validator validator) {
+    public SubjectServiceImpl(final SubjectRepo subjectRepository, final TeacherRepo teacherRepository, final ClassYearRepo classYearRepository,
+                              final GradeRepo gradeRepository, final StudentSubjectAggregateRepo aggregateRepository,
+                              final DailyGradeRollupRepo rollupRepository, final WeightedAverageCache weightedAverageCache, final Validator validator) {
 
         this.subjectRepository = subjectRepository;
         this.teacherRepository = teacherRepository;
         this.classYearRepository = classYearRepository;
+        this.gradeRepository = gradeRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.rollupRepository = rollupRepository;
+        this.weightedAverageCache = weightedAverageCache;
         this.validator = validator;
     }
 
@@ -95,10 +109,17 @@ public class SubjectServiceImpl implements SubjectService {
     }
 
 
+    @Transactional
     @Override
     public void delete(Long id) {
 
-        this.subjectRepository.deleteById(id);
+        this.gradeRepository.deleteAllInBulkBySubjectEntityId(id);
+        this.aggregateRepository.deleteAllBySubjectId(id);
+        this.rollupRepository.deleteAllBySubjectId(id);
+        if (this.subjectRepository.deleteInBulkById(id) == 0) {
+            throw new SubjectNotFoundException("Subject with id: " + id + " could not be found");
+        }
+        this.weightedAverageCache.invalidateSubject(id);
 
     }
 
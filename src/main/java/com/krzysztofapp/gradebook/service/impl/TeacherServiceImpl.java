@@ -1,11 +1,10 @@
 package com.krzysztofapp.gradebook.service.impl;
 
 import com.krzysztofapp.gradebook.domain.TeacherEto;
+import com.krzysztofapp.gradebook.domain.mapper.EntityPatcher;
 import com.krzysztofapp.gradebook.domain.mapper.TeacherMapper;
 import com.krzysztofapp.gradebook.exceptions.TeacherNotFoundException;
 import com.krzysztofapp.gradebook.exceptions.TeacherStillInUseException;
-import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
-import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
 import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
 import com.krzysztofapp.gradebook.persistence.repo.SubjectRepo;
@@ -14,12 +13,10 @@ import com.krzysztofapp.gradebook.service.TeacherService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
-import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,6 +26,8 @@ import java.util.stream.Collectors;
 @Service
 public class TeacherServiceImpl implements TeacherService {
 
+  private static final EntityPatcher<TeacherEntity> TEACHER_PATCHER = EntityPatcher.of(TeacherEto.class, TeacherEntity.class);
+
   private final TeacherRepo teacherRepository;
   private final SubjectRepo subjectRepository;
   private final GradeRepo gradeRepository;
@@ -59,9 +58,10 @@ public class TeacherServiceImpl implements TeacherService {
 
   @Override
   public List<String> getSubjects(Long id) {
-    final TeacherEntity result = this.teacherRepository.findById(id)
-            .orElseThrow( ()-> new TeacherNotFoundException("Teacher with id: " + id + " could not be found"));
-    return result.getSubjectList().stream().map(SubjectEntity::getName).collect(Collectors.toList());
+    if (!this.teacherRepository.existsById(id)) {
+      throw new TeacherNotFoundException("Teacher with id: " + id + " could not be found");
+    }
+    return this.subjectRepository.findAllNamesByTeacherEntityId(id);
   }
 
   @Override
@@ -92,19 +92,13 @@ public class TeacherServiceImpl implements TeacherService {
       return TeacherMapper.mapToETO(teacherEntity);
   }
 
+  @Transactional
   @Override
   public TeacherEto partialUpdate(Long id, Map<String, Object> updateInfo) {
 
     TeacherEntity teacher = this.teacherRepository.findById(id)
             .orElseThrow(() -> new TeacherNotFoundException("Teacher with id: " + id + " could not be found"));
-    TeacherEto teacherEto = TeacherMapper.mapToETO(teacher);
-    updateInfo.forEach((key, value) -> {
-      Field field = ReflectionUtils.findField(TeacherEto.class, key);
-      field.setAccessible(true);
-      ReflectionUtils.setField(field, teacherEto, value);
-    });
-    teacher = TeacherMapper.mapToEntity(teacherEto);
-    this.teacherRepository.save(teacher);
+    TEACHER_PATCHER.apply(teacher, updateInfo);
 
     return TeacherMapper.mapToETO(teacher);
   }
@@ -114,20 +108,19 @@ public class TeacherServiceImpl implements TeacherService {
   @Override
   public void delete(Long id, Optional<Long> newTeacherId) {
 
-    List<SubjectEntity> teacherInUse = this.subjectRepository.findAllByTeacherEntityId(id);
-    if(!teacherInUse.isEmpty() && newTeacherId.isPresent()) {
-      this.teacherRepository.deleteById(id);
-      TeacherEntity entity = this.teacherRepository.findById(newTeacherId.get())
+    if (newTeacherId.isPresent()) {
+      TeacherEntity newTeacher = this.teacherRepository.findById(newTeacherId.get())
               .orElseThrow(() -> new TeacherNotFoundException("Teacher with id: " + newTeacherId.get() + " could not be found"));
-      List<SubjectEntity> subjects = this.subjectRepository.findAllByTeacherEntityIdIsNull();
-      subjects.forEach(subject -> subject.setTeacherEntity(entity));
-      List<GradeEntity> grades = this.gradeRepository.findAllByTeacherEntityIdIsNull();
-      grades.forEach(grade -> grade.setTeacherEntity(entity));
+      this.subjectRepository.reassignTeacher(id, newTeacher);
+      this.gradeRepository.reassignTeacher(id, newTeacher);
     }
-    else if(!teacherInUse.isEmpty()) {
+    else if (this.subjectRepository.existsByTeacherEntityId(id)) {
       throw new TeacherStillInUseException("Teacher with ID: " + id + " is in use, please pass ID to update");
     } else {
-      this.teacherRepository.deleteById(id);
+      this.gradeRepository.clearTeacher(id);
+    }
+    if (this.teacherRepository.deleteInBulkById(id) == 0) {
+      throw new TeacherNotFoundException("Teacher with id: " + id + " could not be found");
     }
   }
 }
@@ -0,0 +1,97 @@
+package com.krzysztofapp.gradebook.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time, a quoted field may contain commas, doubled quotes and line breaks.
+ */
+class GradeCsvReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+
+    private final StringBuilder record = new StringBuilder();
+
+    private long lineNumber;
+
+    private long recordLineNumber;
+
+    GradeCsvReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * @return fields of the next non blank record, null at the end of the input
+     * @throws IllegalArgumentException if the input ends inside a quoted field
+     */
+    List<String> next() throws IOException {
+
+        String line = this.reader.readLine();
+        this.lineNumber++;
+        while (line != null && line.isBlank()) {
+            line = this.reader.readLine();
+            this.lineNumber++;
+        }
+        if (line == null) {
+            return null;
+        }
+        this.recordLineNumber = this.lineNumber;
+        this.record.setLength(0);
+        this.record.append(line);
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int position = 0;
+        while (true) {
+            if (position == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                line = this.reader.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("Quoted field is not closed");
+                }
+                this.lineNumber++;
+                this.record.append('\n').append(line);
+                field.append('\n');
+                position = 0;
+                continue;
+            }
+            char c = line.charAt(position++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (position < line.length() && line.charAt(position) == '"') {
+                    field.append('"');
+                    position++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    long getRecordLineNumber() {
+        return this.recordLineNumber;
+    }
+
+    String getRecord() {
+        return this.record.toString();
+    }
+}
@@ -0,0 +1,379 @@
+package com.krzysztofapp.gradebook.service.importer;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeImportEto;
+import com.krzysztofapp.gradebook.domain.GradeImportState;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.service.impl.GradeRules;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One run of the CSV import pipeline. The calling thread parses the records, a pool of validators checks bean
+ * validation and the grade rules, one resolver checks students and subjects against the ids loaded when the import
+ * started and one writer inserts fixed size batches, each in its own transaction.
+ *
+ * Stages hand lines over through bounded queues. A full queue stops the stage in front of it, down to the parser,
+ * which then stops reading the request. A failing stage stops all the others, batches written until then stay.
+ */
+public class GradeImport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GradeImport.class);
+
+    private static final GradeImportLine END = new GradeImportLine(0, null, null);
+
+    private static final long POLL_MILLIS = 100;
+
+    private static final String STUDENT_ID = "student_id";
+    private static final String SUBJECT_ID = "subject_id";
+    private static final String VALUE = "value";
+    private static final String WEIGHT = "weight";
+    private static final String GRADE_TYPE = "grade_type";
+    private static final String DATE_OF_GRADE = "date_of_grade";
+    private static final String COMMENT = "comment";
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(STUDENT_ID, SUBJECT_ID, VALUE, DATE_OF_GRADE);
+
+    private final String id = UUID.randomUUID().toString();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+
+    private final Validator validator;
+    private final GradeImportBatchWriter batchWriter;
+    private final Set<Long> studentIds;
+    private final Map<Long, Long> subjectTeacherIds;
+    private final int validationWorkers;
+    private final int queueCapacity;
+    private final int batchSize;
+
+    private final BlockingQueue<GradeImportLine> validationQueue;
+    private final BlockingQueue<GradeImportLine> resolutionQueue;
+    private final BlockingQueue<GradeImportLine> writeQueue;
+
+    private final AtomicLong parsedCount = new AtomicLong();
+    private final AtomicLong validatedCount = new AtomicLong();
+    private final AtomicLong resolvedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final GradeImportRejects rejects;
+
+    private volatile GradeImportState state = GradeImportState.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+
+    GradeImport(Validator validator, GradeImportBatchWriter batchWriter, Set<Long> studentIds, Map<Long, Long> subjectTeacherIds,
+                int validationWorkers, int queueCapacity, int batchSize) throws IOException {
+
+        this.validator = validator;
+        this.batchWriter = batchWriter;
+        this.studentIds = studentIds;
+        this.subjectTeacherIds = subjectTeacherIds;
+        this.validationWorkers = validationWorkers;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.validationQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.resolutionQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.rejects = new GradeImportRejects();
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public GradeImportState getState() {
+        return this.state;
+    }
+
+    public GradeImportEto getStatistics() {
+
+        long elapsedNanos = (this.state == GradeImportState.RUNNING ? System.nanoTime() : this.finishedNanos) - this.startedNanos;
+        Throwable cause = this.failure.get();
+
+        GradeImportEto statistics = new GradeImportEto();
+        statistics.setImportId(this.id);
+        statistics.setState(this.state);
+        statistics.setStartedAt(this.startedAt);
+        statistics.setFinishedAt(this.finishedAt);
+        statistics.setParsedCount(this.parsedCount.get());
+        statistics.setValidatedCount(this.validatedCount.get());
+        statistics.setResolvedCount(this.resolvedCount.get());
+        statistics.setWrittenCount(this.writtenCount.get());
+        statistics.setRejectedCount(this.rejectedCount.get());
+        statistics.setRowsPerSecond(elapsedNanos <= 0 ? null
+                : (this.writtenCount.get() + this.rejectedCount.get()) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        statistics.setValidationQueueDepth(this.validationQueue.size());
+        statistics.setResolutionQueueDepth(this.resolutionQueue.size());
+        statistics.setWriteQueueDepth(this.writeQueue.size());
+        statistics.setQueueCapacity(this.queueCapacity);
+        statistics.setFailure(cause == null ? null : cause.getMessage());
+        return statistics;
+    }
+
+    public void copyRejectsTo(OutputStream outputStream) throws IOException {
+        this.rejects.copyTo(outputStream);
+    }
+
+    void deleteRejects() throws IOException {
+        this.rejects.delete();
+    }
+
+    void run(InputStream csv) {
+
+        ExecutorService stages = Executors.newFixedThreadPool(this.validationWorkers + 2, daemonThreads("grade-import-" + this.id.substring(0, 8)));
+        try {
+            List<Future<Void>> validators = new ArrayList<>();
+            for (int i = 0; i < this.validationWorkers; i++) {
+                validators.add(stages.submit(stage(this::validate)));
+            }
+            Future<Void> resolver = stages.submit(stage(this::resolve));
+            Future<Void> writer = stages.submit(stage(this::write));
+
+            parse(csv);
+            for (int i = 0; i < this.validationWorkers; i++) {
+                transfer(this.validationQueue, END);
+            }
+            for (Future<Void> validatorStage : validators) {
+                validatorStage.get();
+            }
+            transfer(this.resolutionQueue, END);
+            resolver.get();
+            transfer(this.writeQueue, END);
+            writer.get();
+            finish(GradeImportState.COMPLETED);
+        } catch (ExecutionException e) {
+            fail(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } catch (Exception e) {
+            fail(e);
+        } finally {
+            stages.shutdownNow();
+            try {
+                this.rejects.close();
+            } catch (IOException e) {
+                LOG.warn("Rejects report of grade import {} could not be closed", this.id, e);
+            }
+        }
+    }
+
+    private void parse(InputStream csv) throws IOException, InterruptedException {
+
+        GradeCsvReader reader = new GradeCsvReader(csv);
+        List<String> header = reader.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missingColumns = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).collect(Collectors.toList());
+        if (!missingColumns.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing the columns: " + String.join(", ", missingColumns));
+        }
+
+        while (true) {
+            List<String> fields;
+            try {
+                fields = reader.next();
+            } catch (IllegalArgumentException e) {
+                this.parsedCount.incrementAndGet();
+                reject(reader.getRecordLineNumber(), e.getMessage(), reader.getRecord());
+                return;
+            }
+            if (fields == null) {
+                return;
+            }
+            this.parsedCount.incrementAndGet();
+            try {
+                GradeEto grade = new GradeEto();
+                grade.setStudentEntityId(field(fields, columns, STUDENT_ID, Long::valueOf));
+                grade.setSubjectEntityId(field(fields, columns, SUBJECT_ID, Long::valueOf));
+                grade.setValue(field(fields, columns, VALUE, Integer::valueOf));
+                grade.setWeight(field(fields, columns, WEIGHT, BigDecimal::new));
+                grade.setGradeType(field(fields, columns, GRADE_TYPE, text -> GradeType.valueOf(text.toUpperCase(Locale.ROOT))));
+                grade.setDateOfGrade(field(fields, columns, DATE_OF_GRADE, LocalDate::parse));
+                grade.setComment(field(fields, columns, COMMENT, Function.identity()));
+                transfer(this.validationQueue, new GradeImportLine(reader.getRecordLineNumber(), reader.getRecord(), grade));
+            } catch (IllegalArgumentException e) {
+                reject(reader.getRecordLineNumber(), e.getMessage(), reader.getRecord());
+            }
+        }
+    }
+
+    private void validate() throws InterruptedException {
+
+        for (GradeImportLine line = take(this.validationQueue); line != END; line = take(this.validationQueue)) {
+            Set<ConstraintViolation<GradeEto>> violations = this.validator.validate(line.getGrade());
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+            } else if (GradeRules.commentMissing(line.getGrade())) {
+                reject(line, GradeRules.COMMENT_MISSING);
+            } else {
+                this.validatedCount.incrementAndGet();
+                transfer(this.resolutionQueue, line);
+            }
+        }
+    }
+
+    private void resolve() throws InterruptedException {
+
+        for (GradeImportLine line = take(this.resolutionQueue); line != END; line = take(this.resolutionQueue)) {
+            GradeEto grade = line.getGrade();
+            if (!this.studentIds.contains(grade.getStudentEntityId())) {
+                reject(line, "Student with id: " + grade.getStudentEntityId() + " could not be found");
+            } else if (!this.subjectTeacherIds.containsKey(grade.getSubjectEntityId())) {
+                reject(line, "Subject with id: " + grade.getSubjectEntityId() + " could not be found");
+            } else {
+                line.setTeacherId(this.subjectTeacherIds.get(grade.getSubjectEntityId()));
+                this.resolvedCount.incrementAndGet();
+                transfer(this.writeQueue, line);
+            }
+        }
+    }
+
+    private void write() throws InterruptedException {
+
+        List<GradeImportLine> batch = new ArrayList<>(this.batchSize);
+        for (GradeImportLine line = take(this.writeQueue); line != END; line = take(this.writeQueue)) {
+            batch.add(line);
+            if (batch.size() == this.batchSize) {
+                writeBatch(batch);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<GradeImportLine> batch) {
+
+        Map<GradeImportLine, String> rejectedLines = this.batchWriter.write(batch);
+        rejectedLines.forEach(this::reject);
+        this.writtenCount.addAndGet(batch.size() - rejectedLines.size());
+        batch.clear();
+    }
+
+    private void reject(GradeImportLine line, String reason) {
+        reject(line.getLineNumber(), reason, line.getRecord());
+    }
+
+    private void reject(long lineNumber, String reason, String record) {
+
+        this.rejects.add(lineNumber, reason, record);
+        this.rejectedCount.incrementAndGet();
+    }
+
+    private void transfer(BlockingQueue<GradeImportLine> queue, GradeImportLine line) throws InterruptedException {
+
+        while (!queue.offer(line, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkNotFailed();
+        }
+    }
+
+    private GradeImportLine take(BlockingQueue<GradeImportLine> queue) throws InterruptedException {
+
+        GradeImportLine line = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        while (line == null) {
+            checkNotFailed();
+            line = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return line;
+    }
+
+    private void checkNotFailed() {
+
+        if (this.failure.get() != null) {
+            throw new IllegalStateException("Import stopped after another stage failed");
+        }
+    }
+
+    private Callable<Void> stage(Stage stage) {
+
+        return () -> {
+            try {
+                stage.run();
+                return null;
+            } catch (Throwable e) {
+                this.failure.compareAndSet(null, e);
+                throw e;
+            }
+        };
+    }
+
+    private void fail(Throwable cause) {
+
+        this.failure.compareAndSet(null, cause);
+        LOG.warn("Grade import {} failed", this.id, this.failure.get());
+        finish(GradeImportState.FAILED);
+    }
+
+    private void finish(GradeImportState finalState) {
+
+        this.finishedNanos = System.nanoTime();
+        this.finishedAt = LocalDateTime.now();
+        this.state = finalState;
+    }
+
+    private static <T> T field(List<String> fields, Map<String, Integer> columns, String column, Function<String, T> parser) {
+
+        Integer index = columns.get(column);
+        String text = index == null || index >= fields.size() ? null : fields.get(index).strip();
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(text);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + text);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+
+        AtomicLong threadCount = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private interface Stage {
+
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,135 @@
+package com.krzysztofapp.gradebook.service.importer;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.mapper.GradeMapper;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentRepo;
+import com.krzysztofapp.gradebook.persistence.repo.SubjectRepo;
+import com.krzysztofapp.gradebook.persistence.repo.TeacherRepo;
+import com.krzysztofapp.gradebook.service.impl.GradeRules;
+import com.krzysztofapp.gradebook.service.impl.GradeWriteEffects;
+import com.krzysztofapp.gradebook.service.lock.StripedLocks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one batch of resolved import lines in one transaction, with the same side effects as creating the grades
+ * one by one: aggregates, daily rollups, weighted average cache and outbox.
+ */
+@Component
+public class GradeImportBatchWriter {
+
+    private final GradeRepo gradeRepository;
+    private final StudentRepo studentRepository;
+    private final SubjectRepo subjectRepository;
+    private final TeacherRepo teacherRepository;
+
+    private final StripedLocks gradeLocks;
+    private final GradeWriteEffects gradeWriteEffects;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public GradeImportBatchWriter(final GradeRepo gradeRepository, final StudentRepo studentRepository, final SubjectRepo subjectRepository,
+                                  final TeacherRepo teacherRepository, final StripedLocks gradeLocks, final GradeWriteEffects gradeWriteEffects,
+                                  final TransactionTemplate transactionTemplate) {
+
+        this.gradeRepository = gradeRepository;
+        this.studentRepository = studentRepository;
+        this.subjectRepository = subjectRepository;
+        this.teacherRepository = teacherRepository;
+        this.gradeLocks = gradeLocks;
+        this.gradeWriteEffects = gradeWriteEffects;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * @return lines that were not written, with the reason
+     */
+    Map<GradeImportLine, String> write(List<GradeImportLine> batch) {
+
+        try {
+            return this.transactionTemplate.execute(status -> writeInTransaction(batch));
+        } catch (DataIntegrityViolationException e) {
+            Map<GradeImportLine, String> rejected = new LinkedHashMap<>();
+            for (GradeImportLine line : batch) {
+                try {
+                    rejected.putAll(this.transactionTemplate.execute(status -> writeInTransaction(List.of(line))));
+                } catch (DataIntegrityViolationException lineException) {
+                    rejected.put(line, lineException.getMostSpecificCause().getMessage());
+                }
+            }
+            return rejected;
+        }
+    }
+
+    private Map<GradeImportLine, String> writeInTransaction(List<GradeImportLine> batch) {
+
+        List<Object> lockKeys = new ArrayList<>();
+        for (GradeImportLine line : batch) {
+            GradeEto grade = line.getGrade();
+            lockKeys.add(GradeRules.lockKeyOf(grade.getStudentEntityId(), grade.getSubjectEntityId(), grade.getDateOfGrade(), grade.getGradeType()));
+        }
+        this.gradeLocks.lockUntilTransactionCompletes(lockKeys);
+        Set<List<Object>> takenKeys = findTakenKeys(batch);
+
+        Map<GradeImportLine, String> rejected = new LinkedHashMap<>();
+        List<GradeEntity> grades = new ArrayList<>();
+        for (GradeImportLine line : batch) {
+            GradeEto gradeEto = line.getGrade();
+            if (gradeEto.getGradeType() != null && !takenKeys.add(uniqueKeyOf(gradeEto.getStudentEntityId(), gradeEto.getSubjectEntityId(),
+                    gradeEto.getDateOfGrade(), gradeEto.getGradeType()))) {
+                rejected.put(line, GradeRules.alreadyInsertedToday(gradeEto.getGradeType()));
+                continue;
+            }
+            GradeEntity grade = GradeMapper.mapToEntity(gradeEto);
+            grade.setStudentEntity(this.studentRepository.getOne(gradeEto.getStudentEntityId()));
+            grade.setSubjectEntity(this.subjectRepository.getOne(gradeEto.getSubjectEntityId()));
+            grade.setTeacherEntity(line.getTeacherId() == null ? null : this.teacherRepository.getOne(line.getTeacherId()));
+            grades.add(grade);
+        }
+
+        List<GradeEntity> savedGrades = this.gradeRepository.saveAll(grades);
+        this.gradeRepository.flush();
+        this.gradeWriteEffects.gradesCreated(savedGrades);
+
+        return rejected;
+    }
+
+    private Set<List<Object>> findTakenKeys(List<GradeImportLine> batch) {
+
+        List<GradeEto> typedGrades = batch.stream()
+                .map(GradeImportLine::getGrade)
+                .filter(grade -> grade.getGradeType() != null)
+                .collect(Collectors.toList());
+        Set<List<Object>> takenKeys = new HashSet<>();
+        if (typedGrades.isEmpty()) {
+            return takenKeys;
+        }
+        Set<Long> studentIds = typedGrades.stream().map(GradeEto::getStudentEntityId).collect(Collectors.toSet());
+        LocalDate dateFrom = typedGrades.stream().map(GradeEto::getDateOfGrade).min(LocalDate::compareTo).get();
+        LocalDate dateTo = typedGrades.stream().map(GradeEto::getDateOfGrade).max(LocalDate::compareTo).get();
+        for (Object[] key : this.gradeRepository.findGradeKeysOfStudents(studentIds, dateFrom, dateTo)) {
+            takenKeys.add(Arrays.asList(key));
+        }
+        return takenKeys;
+    }
+
+    private List<Object> uniqueKeyOf(Long studentId, Long subjectId, LocalDate dateOfGrade, GradeType gradeType) {
+        return Arrays.asList(studentId, subjectId, dateOfGrade, gradeType);
+    }
+}
@@ -0,0 +1,43 @@
+package com.krzysztofapp.gradebook.service.importer;
+
+import com.krzysztofapp.gradebook.domain.GradeEto;
+
+/**
+ * One CSV record on its way through the import stages, keeps its line number and text for the rejects report.
+ */
+class GradeImportLine {
+
+    private final long lineNumber;
+
+    private final String record;
+
+    private final GradeEto grade;
+
+    private Long teacherId;
+
+    GradeImportLine(long lineNumber, String record, GradeEto grade) {
+        this.lineNumber = lineNumber;
+        this.record = record;
+        this.grade = grade;
+    }
+
+    long getLineNumber() {
+        return this.lineNumber;
+    }
+
+    String getRecord() {
+        return this.record;
+    }
+
+    GradeEto getGrade() {
+        return this.grade;
+    }
+
+    Long getTeacherId() {
+        return this.teacherId;
+    }
+
+    void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+}
@@ -0,0 +1,73 @@
+package com.krzysztofapp.gradebook.service.importer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Rejected rows of one import as CSV (line number, reason and the original record), spooled to a temporary file so a
+ * file full of bad rows doesn't end up on the heap.
+ */
+class GradeImportRejects {
+
+    private static final String HEADER = "line_number,reason,record\n";
+
+    private final Path file;
+
+    private final Writer writer;
+
+    private boolean closed;
+
+    GradeImportRejects() throws IOException {
+        this.file = Files.createTempFile("grade-import-rejects-", ".csv");
+        this.writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8);
+        this.writer.write(HEADER);
+    }
+
+    synchronized void add(long lineNumber, String reason, String record) {
+
+        try {
+            this.writer.write(Long.toString(lineNumber));
+            this.writer.write(',');
+            writeQuoted(reason);
+            this.writer.write(',');
+            writeQuoted(record);
+            this.writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized void copyTo(OutputStream outputStream) throws IOException {
+
+        if (!this.closed) {
+            this.writer.flush();
+        }
+        Files.copy(this.file, outputStream);
+    }
+
+    synchronized void close() throws IOException {
+
+        if (!this.closed) {
+            this.writer.close();
+            this.closed = true;
+        }
+    }
+
+    void delete() throws IOException {
+
+        close();
+        Files.deleteIfExists(this.file);
+    }
+
+    private void writeQuoted(String text) throws IOException {
+
+        this.writer.write('"');
+        this.writer.write(text == null ? "" : text.replace("\"", "\"\""));
+        this.writer.write('"');
+    }
+}
@@ -0,0 +1,137 @@
+package com.krzysztofapp.gradebook.service.importer;
+
+import com.krzysztofapp.gradebook.exceptions.GradeImportAlreadyRunningException;
+import com.krzysztofapp.gradebook.persistence.repo.StudentRepo;
+import com.krzysztofapp.gradebook.persistence.repo.SubjectRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs CSV grade imports one at a time, so there is a single writer however many files come in, and keeps the last
+ * few finished imports with their rejects reports.
+ */
+@Component
+public class GradeImporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GradeImporter.class);
+
+    private final StudentRepo studentRepository;
+    private final SubjectRepo subjectRepository;
+    private final GradeImportBatchWriter batchWriter;
+    private final Validator validator;
+
+    private final int validationWorkers;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final int retainedImports;
+
+    private final ReentrantLock running = new ReentrantLock();
+    private final Map<String, GradeImport> imports = new LinkedHashMap<>();
+
+    public GradeImporter(final StudentRepo studentRepository, final SubjectRepo subjectRepository, final GradeImportBatchWriter batchWriter,
+                         final Validator validator,
+                         @Value("${gradebook.import.validation-workers:4}") final int validationWorkers,
+                         @Value("${gradebook.import.queue-capacity:1000}") final int queueCapacity,
+                         @Value("${gradebook.import.batch-size:500}") final int batchSize,
+                         @Value("${gradebook.import.retained-imports:10}") final int retainedImports) {
+
+        this.studentRepository = studentRepository;
+        this.subjectRepository = subjectRepository;
+        this.batchWriter = batchWriter;
+        this.validator = validator;
+        this.validationWorkers = validationWorkers;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.retainedImports = retainedImports;
+    }
+
+    @PreDestroy
+    void deleteRejects() {
+
+        synchronized (this.imports) {
+            this.imports.values().forEach(this::deleteRejectsQuietly);
+            this.imports.clear();
+        }
+    }
+
+    /**
+     * Imports the CSV on the calling thread, the stages behind the parser run on their own threads until it's done.
+     *
+     * @return the finished import, completed or failed
+     */
+    public GradeImport importGrades(InputStream csv) throws IOException {
+
+        if (!this.running.tryLock()) {
+            throw new GradeImportAlreadyRunningException("Another grade import is still running");
+        }
+        try {
+            GradeImport gradeImport = new GradeImport(this.validator, this.batchWriter, new HashSet<>(this.studentRepository.findAllIds()),
+                    subjectTeacherIds(), this.validationWorkers, this.queueCapacity, this.batchSize);
+            register(gradeImport);
+            gradeImport.run(csv);
+            return gradeImport;
+        } finally {
+            this.running.unlock();
+        }
+    }
+
+    public List<GradeImport> findAll() {
+
+        synchronized (this.imports) {
+            return new ArrayList<>(this.imports.values());
+        }
+    }
+
+    public Optional<GradeImport> find(String importId) {
+
+        synchronized (this.imports) {
+            return Optional.ofNullable(this.imports.get(importId));
+        }
+    }
+
+    private Map<Long, Long> subjectTeacherIds() {
+
+        Map<Long, Long> subjectTeacherIds = new HashMap<>();
+        for (Object[] subject : this.subjectRepository.findAllIdsWithTeacherId()) {
+            subjectTeacherIds.put((Long) subject[0], (Long) subject[1]);
+        }
+        return subjectTeacherIds;
+    }
+
+    private void register(GradeImport gradeImport) {
+
+        synchronized (this.imports) {
+            this.imports.put(gradeImport.getId(), gradeImport);
+            Iterator<GradeImport> oldest = this.imports.values().iterator();
+            while (this.imports.size() > this.retainedImports + 1 && oldest.hasNext()) {
+                deleteRejectsQuietly(oldest.next());
+                oldest.remove();
+            }
+        }
+    }
+
+    private void deleteRejectsQuietly(GradeImport gradeImport) {
+
+        try {
+            gradeImport.deleteRejects();
+        } catch (IOException e) {
+            LOG.warn("Rejects report of grade import {} could not be deleted", gradeImport.getId(), e);
+        }
+    }
+}
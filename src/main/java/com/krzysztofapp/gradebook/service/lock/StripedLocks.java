@@ -0,0 +1,76 @@
+package com.krzysztofapp.gradebook.service.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Fixed set of in-process locks a key is hashed onto, so writers of unrelated keys rarely wait for each other while
+ * writers of the same key run one at a time.
+ *
+ * Locks are held until the surrounding transaction completes, a writer that waited only runs its duplicate check once
+ * the previous writer's rows are committed or rolled back. Stripes are always taken in ascending order, so a
+ * transaction has to take all of its keys in a single call.
+ */
+@Component
+public class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLocks(@Value("${gradebook.lock.stripes:1024}") final int stripeCount) {
+
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void lockUntilTransactionCompletes(Collection<?> keys) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Striped locks can only be taken inside a transaction");
+        }
+        List<ReentrantLock> locks = keys.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .mapToObj(stripe -> this.stripes[stripe])
+                .collect(Collectors.toList());
+        int locked = 0;
+        try {
+            for (ReentrantLock lock : locks) {
+                lock.lock();
+                locked++;
+            }
+        } finally {
+            if (locked < locks.size()) {
+                unlock(locks.subList(0, locked));
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(locks);
+            }
+        });
+    }
+
+    private int stripeOf(Object key) {
+
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (this.stripes.length - 1);
+    }
+
+    private void unlock(List<ReentrantLock> locks) {
+
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.krzysztofapp.gradebook.service.notification;
+
+import com.krzysztofapp.gradebook.exceptions.NotificationQueueFullException;
+import com.krzysztofapp.gradebook.persistence.entity.GradeChangeType;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.service.outbox.GradeChangeEvent;
+import com.krzysztofapp.gradebook.service.outbox.GradeChangeListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hands new 1s and 6s of students with a parent email to {@link ParentNotifier}. A full notification queue fails the
+ * event, the outbox delivers it again later instead of the grade being dropped.
+ */
+@Component
+public class ParentNotificationListener implements GradeChangeListener {
+
+    private static final List<Integer> NOTIFIED_GRADE_VALUES = List.of(1, 6);
+
+    private final GradeRepo gradeRepository;
+    private final ParentNotifier notifier;
+
+    @Autowired
+    public ParentNotificationListener(final GradeRepo gradeRepository, final ParentNotifier notifier) {
+
+        this.gradeRepository = gradeRepository;
+        this.notifier = notifier;
+    }
+
+    @Override
+    public void onGradeChange(GradeChangeEvent event) {
+
+        if (event.getChangeType() != GradeChangeType.CREATED) {
+            return;
+        }
+        this.gradeRepository.findNotificationById(event.getGradeId(), NOTIFIED_GRADE_VALUES).ifPresent(notification -> {
+            if (!this.notifier.submit(notification)) {
+                throw new NotificationQueueFullException("Notification of grade with id: " + event.getGradeId() + " could not be queued");
+            }
+        });
+    }
+}
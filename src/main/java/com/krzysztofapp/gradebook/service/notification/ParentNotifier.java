@@ -0,0 +1,248 @@
+package com.krzysztofapp.gradebook.service.notification;
+
+import com.krzysztofapp.gradebook.domain.GradeNotificationEto;
+import com.krzysztofapp.gradebook.domain.NotificationStatisticsEto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends parents one digest of a student's notified grades per window instead of one mail per grade.
+ *
+ * Notifications are handed over through a bounded queue, a caller waits at most the offer timeout for room in it. A
+ * collector thread groups them per student, a digest is due once its first notification is older than the window.
+ * Due digests are sent by a small worker pool in batches that share one SMTP connection. Open digests only live in
+ * memory, the ones still open at shutdown are sent right away.
+ */
+@Component
+public class ParentNotifier {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParentNotifier.class);
+
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final long windowNanos;
+    private final long offerTimeoutMillis;
+    private final int queueCapacity;
+    private final int batchSize;
+
+    private final BlockingQueue<GradeNotificationEto> queue;
+    private final Map<Long, Digest> openDigests = new LinkedHashMap<>();
+
+    private final ScheduledExecutorService collector = Executors.newSingleThreadScheduledExecutor(daemonThreads("parent-notification-collector"));
+    private final ThreadPoolExecutor senders;
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong sentDigestCount = new AtomicLong();
+    private final AtomicLong failedDigestCount = new AtomicLong();
+
+    public ParentNotifier(final JavaMailSender mailSender,
+                          @Value("${gradebook.notification.from:gradebook@localhost}") final String from,
+                          @Value("${gradebook.notification.window-seconds:300}") final long windowSeconds,
+                          @Value("${gradebook.notification.queue-capacity:10000}") final int queueCapacity,
+                          @Value("${gradebook.notification.offer-timeout-ms:100}") final long offerTimeoutMillis,
+                          @Value("${gradebook.notification.workers:2}") final int workers,
+                          @Value("${gradebook.notification.batch-size:50}") final int batchSize) {
+
+        this.mailSender = mailSender;
+        this.from = from;
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.senders = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(workers),
+                daemonThreads("parent-notification-sender"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PostConstruct
+    void start() {
+
+        long tickMillis = Math.max(1, Math.min(TimeUnit.NANOSECONDS.toMillis(this.windowNanos), 1000));
+        this.collector.scheduleWithFixedDelay(this::sendDueQuietly, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+
+        this.collector.shutdown();
+        this.collector.awaitTermination(5, TimeUnit.SECONDS);
+        flushAll();
+        this.senders.shutdown();
+        this.senders.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return false if the queue stayed full for the whole offer timeout, the notification is not taken then
+     */
+    public boolean submit(GradeNotificationEto notification) {
+
+        try {
+            if (this.queue.offer(notification, this.offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                this.acceptedCount.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Sends every open digest on the calling thread, whether its window has passed or not.
+     *
+     * @return number of digests sent
+     */
+    public int flushAll() {
+
+        int sent = 0;
+        for (List<Digest> batch : batchesOf(takeDigests(true))) {
+            sent += sendBatch(batch);
+        }
+        return sent;
+    }
+
+    public NotificationStatisticsEto getStatistics() {
+
+        NotificationStatisticsEto statistics = new NotificationStatisticsEto();
+        statistics.setQueuedCount(this.queue.size());
+        statistics.setQueueCapacity(this.queueCapacity);
+        synchronized (this) {
+            statistics.setOpenDigestCount(this.openDigests.size());
+        }
+        statistics.setAcceptedCount(this.acceptedCount.get());
+        statistics.setRejectedCount(this.rejectedCount.get());
+        statistics.setSentDigestCount(this.sentDigestCount.get());
+        statistics.setFailedDigestCount(this.failedDigestCount.get());
+        return statistics;
+    }
+
+    private void sendDueQuietly() {
+
+        try {
+            for (List<Digest> batch : batchesOf(takeDigests(false))) {
+                this.senders.execute(() -> sendBatch(batch));
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Sending due parent notification digests failed", e);
+        }
+    }
+
+    private synchronized List<Digest> takeDigests(boolean all) {
+
+        List<GradeNotificationEto> notifications = new ArrayList<>();
+        this.queue.drainTo(notifications);
+        long now = System.nanoTime();
+        for (GradeNotificationEto notification : notifications) {
+            this.openDigests.computeIfAbsent(notification.getStudentId(), studentId -> new Digest(now)).add(notification);
+        }
+
+        List<Digest> digests = new ArrayList<>();
+        Iterator<Digest> openDigestIterator = this.openDigests.values().iterator();
+        while (openDigestIterator.hasNext()) {
+            Digest digest = openDigestIterator.next();
+            if (all || now - digest.openedAtNanos >= this.windowNanos) {
+                digests.add(digest);
+                openDigestIterator.remove();
+            }
+        }
+        return digests;
+    }
+
+    private List<List<Digest>> batchesOf(List<Digest> digests) {
+
+        List<List<Digest>> batches = new ArrayList<>();
+        for (int from = 0; from < digests.size(); from += this.batchSize) {
+            batches.add(digests.subList(from, Math.min(from + this.batchSize, digests.size())));
+        }
+        return batches;
+    }
+
+    private int sendBatch(List<Digest> batch) {
+
+        SimpleMailMessage[] messages = batch.stream().map(this::messageOf).toArray(SimpleMailMessage[]::new);
+        int failed = 0;
+        try {
+            this.mailSender.send(messages);
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages().isEmpty() ? messages.length : e.getFailedMessages().size();
+            LOG.warn("{} of {} parent notification digests could not be sent", failed, messages.length, e);
+        } catch (MailException e) {
+            failed = messages.length;
+            LOG.warn("{} parent notification digests could not be sent", failed, e);
+        }
+        this.sentDigestCount.addAndGet(messages.length - failed);
+        this.failedDigestCount.addAndGet(failed);
+        return messages.length - failed;
+    }
+
+    private SimpleMailMessage messageOf(Digest digest) {
+
+        GradeNotificationEto latest = digest.latest;
+        StringBuilder text = new StringBuilder("New grades of ").append(latest.getStudentFirstName()).append(' ')
+                .append(latest.getStudentLastName()).append(":\n");
+        for (GradeNotificationEto grade : digest.grades.values()) {
+            text.append(grade.getDateOfGrade()).append(' ').append(grade.getSubjectName()).append(": ").append(grade.getValue())
+                    .append(" - ").append(grade.getComment()).append('\n');
+        }
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(this.from);
+        message.setTo(latest.getParentEmail());
+        message.setSubject("Grades of " + latest.getStudentFirstName() + " " + latest.getStudentLastName());
+        message.setText(text.toString());
+        return message;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+
+        AtomicLong threadCount = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Digest {
+
+        private final long openedAtNanos;
+
+        private final Map<Long, GradeNotificationEto> grades = new LinkedHashMap<>();
+
+        private GradeNotificationEto latest;
+
+        private Digest(long openedAtNanos) {
+            this.openedAtNanos = openedAtNanos;
+        }
+
+        private void add(GradeNotificationEto notification) {
+            this.grades.put(notification.getGradeId(), notification);
+            this.latest = notification;
+        }
+    }
+}
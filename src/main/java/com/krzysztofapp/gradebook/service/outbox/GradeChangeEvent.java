@@ -0,0 +1,63 @@
+package com.krzysztofapp.gradebook.service.outbox;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeChangeType;
+import com.krzysztofapp.gradebook.persistence.entity.OutboxEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed grade change as handed to a {@link GradeChangeListener}. Only the keys are carried, a listener that
+ * needs the grade itself reads its current state.
+ */
+public final class GradeChangeEvent {
+
+    private final Long outboxId;
+
+    private final Long gradeId;
+
+    private final Long studentId;
+
+    private final Long subjectId;
+
+    private final GradeChangeType changeType;
+
+    private final LocalDateTime createdAt;
+
+    public GradeChangeEvent(Long outboxId, Long gradeId, Long studentId, Long subjectId, GradeChangeType changeType, LocalDateTime createdAt) {
+        this.outboxId = outboxId;
+        this.gradeId = gradeId;
+        this.studentId = studentId;
+        this.subjectId = subjectId;
+        this.changeType = changeType;
+        this.createdAt = createdAt;
+    }
+
+    static GradeChangeEvent of(OutboxEntity outbox) {
+        return new GradeChangeEvent(outbox.getId(), outbox.getGradeId(), outbox.getStudentId(), outbox.getSubjectId(),
+                outbox.getChangeType(), outbox.getCreatedAt());
+    }
+
+    public Long getOutboxId() {
+        return this.outboxId;
+    }
+
+    public Long getGradeId() {
+        return this.gradeId;
+    }
+
+    public Long getStudentId() {
+        return this.studentId;
+    }
+
+    public Long getSubjectId() {
+        return this.subjectId;
+    }
+
+    public GradeChangeType getChangeType() {
+        return this.changeType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+}
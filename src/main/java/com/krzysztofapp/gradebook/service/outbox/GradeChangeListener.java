@@ -0,0 +1,14 @@
+package com.krzysztofapp.gradebook.service.outbox;
+
+/**
+ * Side effect of a grade change that doesn't have to happen in the request, picked up as a bean by
+ * {@link GradeOutboxDispatcher}.
+ *
+ * Delivery is at least once: an event is delivered again after a failure of any listener, after a restart between
+ * delivery and bookkeeping and on replay, so implementations have to be idempotent. Events of one student arrive in
+ * the order they were committed.
+ */
+public interface GradeChangeListener {
+
+    void onGradeChange(GradeChangeEvent event);
+}
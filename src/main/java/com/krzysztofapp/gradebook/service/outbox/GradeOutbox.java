@@ -0,0 +1,84 @@
+package com.krzysztofapp.gradebook.service.outbox;
+
+import com.krzysztofapp.gradebook.persistence.entity.GradeChangeType;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.OutboxEntity;
+import com.krzysztofapp.gradebook.persistence.repo.OutboxRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Appends grade changes to OUTBOX inside the transaction that makes them, so a change and its record are committed
+ * or rolled back together. The dispatcher is woken up once the transaction has committed, the request itself only
+ * pays for the INSERT.
+ */
+@Component
+public class GradeOutbox {
+
+    private final OutboxRepo outboxRepository;
+    private final GradeOutboxDispatcher dispatcher;
+
+    @Autowired
+    public GradeOutbox(final OutboxRepo outboxRepository, final GradeOutboxDispatcher dispatcher) {
+
+        this.outboxRepository = outboxRepository;
+        this.dispatcher = dispatcher;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(GradeEntity grade, GradeChangeType changeType) {
+
+        append(grade.getId(), grade.getStudentEntity().getId(), grade.getSubjectEntity().getId(), changeType);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Long gradeId, Long studentId, Long subjectId, GradeChangeType changeType) {
+
+        this.outboxRepository.save(outboxOf(gradeId, studentId, subjectId, changeType, LocalDateTime.now()));
+        wakeUpDispatcherAfterCommit();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(Collection<GradeEntity> grades, GradeChangeType changeType) {
+
+        if (grades.isEmpty()) {
+            return;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<OutboxEntity> records = grades.stream()
+                .map(grade -> outboxOf(grade.getId(), grade.getStudentEntity().getId(), grade.getSubjectEntity().getId(), changeType, createdAt))
+                .collect(Collectors.toList());
+        this.outboxRepository.saveAll(records);
+        wakeUpDispatcherAfterCommit();
+    }
+
+    private OutboxEntity outboxOf(Long gradeId, Long studentId, Long subjectId, GradeChangeType changeType, LocalDateTime createdAt) {
+
+        OutboxEntity outbox = new OutboxEntity();
+        outbox.setGradeId(gradeId);
+        outbox.setStudentId(studentId);
+        outbox.setSubjectId(subjectId);
+        outbox.setChangeType(changeType);
+        outbox.setCreatedAt(createdAt);
+        return outbox;
+    }
+
+    private void wakeUpDispatcherAfterCommit() {
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wakeUp();
+            }
+        });
+    }
+}
@@ -0,0 +1,212 @@
+package com.krzysztofapp.gradebook.service.outbox;
+
+import com.krzysztofapp.gradebook.persistence.entity.OutboxEntity;
+import com.krzysztofapp.gradebook.persistence.repo.OutboxRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains OUTBOX on one background thread: pending rows are read in id order in batches, handed to every
+ * {@link GradeChangeListener} bean and marked dispatched afterwards.
+ *
+ * A row whose listener fails stays pending and holds back the later rows of the same student, rows of other students
+ * go on. After {@code gradebook.outbox.max-attempts} failures the row is marked dispatched with its last error kept,
+ * so one broken event can't block a student forever; it can be delivered again with a replay.
+ */
+@Component
+public class GradeOutboxDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GradeOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final OutboxRepo outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<GradeChangeListener> listeners;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long pollIntervalMillis;
+    private final Duration retention;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "grade-outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong deadLetteredCount = new AtomicLong();
+    private volatile Long lastDispatchLagMillis;
+
+    //Dev Note: listeners are looked up per run, a listener that depends on GradeService would otherwise close a
+    // constructor cycle through GradeOutbox
+    public GradeOutboxDispatcher(final OutboxRepo outboxRepository, final TransactionTemplate transactionTemplate,
+                                 final ObjectProvider<GradeChangeListener> listeners,
+                                 @Value("${gradebook.outbox.batch-size:100}") final int batchSize,
+                                 @Value("${gradebook.outbox.max-attempts:10}") final int maxAttempts,
+                                 @Value("${gradebook.outbox.poll-interval-ms:1000}") final long pollIntervalMillis,
+                                 @Value("${gradebook.outbox.retention-hours:168}") final long retentionHours) {
+
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.listeners = listeners;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @PostConstruct
+    void start() {
+
+        this.executor.scheduleWithFixedDelay(this::dispatchQuietly, this.pollIntervalMillis, this.pollIntervalMillis, TimeUnit.MILLISECONDS);
+        this.executor.scheduleWithFixedDelay(this::purgeQuietly, 1, 1, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+
+        this.executor.shutdown();
+        this.executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Asks for a run as soon as the dispatcher thread is free, wake-ups that arrive before it starts are merged.
+     */
+    public void wakeUp() {
+
+        if (this.wakeUpPending.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(() -> {
+                    this.wakeUpPending.set(false);
+                    dispatchQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                this.wakeUpPending.set(false);
+            }
+        }
+    }
+
+    /**
+     * Delivers pending rows in one pass over the outbox, rows held back by failures are stepped over and stay pending.
+     *
+     * @return number of rows marked dispatched
+     */
+    public synchronized int dispatchPending() {
+
+        List<GradeChangeListener> currentListeners = this.listeners.orderedStream().collect(Collectors.toList());
+        Set<Long> heldBackStudentIds = new HashSet<>();
+        int settledTotal = 0;
+        Long afterId = 0L;
+        List<OutboxEntity> batch;
+        do {
+            batch = this.outboxRepository.findPendingAfter(afterId, PageRequest.of(0, this.batchSize));
+            settledTotal += dispatchBatch(batch, currentListeners, heldBackStudentIds);
+            afterId = batch.isEmpty() ? afterId : batch.get(batch.size() - 1).getId();
+        } while (batch.size() == this.batchSize);
+        return settledTotal;
+    }
+
+    public int purgeDispatched() {
+
+        return this.transactionTemplate.execute(status -> this.outboxRepository.deleteDispatchedBefore(LocalDateTime.now().minus(this.retention)));
+    }
+
+    public long getDispatchedCount() {
+        return this.dispatchedCount.get();
+    }
+
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    public long getDeadLetteredCount() {
+        return this.deadLetteredCount.get();
+    }
+
+    public Long getLastDispatchLagMillis() {
+        return this.lastDispatchLagMillis;
+    }
+
+    private int dispatchBatch(List<OutboxEntity> batch, List<GradeChangeListener> currentListeners, Set<Long> heldBackStudentIds) {
+
+        List<Long> settledIds = new ArrayList<>();
+        for (OutboxEntity outbox : batch) {
+            if (heldBackStudentIds.contains(outbox.getStudentId())) {
+                continue;
+            }
+            GradeChangeEvent event = GradeChangeEvent.of(outbox);
+            try {
+                for (GradeChangeListener listener : currentListeners) {
+                    listener.onGradeChange(event);
+                }
+                settledIds.add(outbox.getId());
+                this.dispatchedCount.incrementAndGet();
+                this.lastDispatchLagMillis = Duration.between(outbox.getCreatedAt(), LocalDateTime.now()).toMillis();
+            } catch (RuntimeException e) {
+                this.failedCount.incrementAndGet();
+                this.transactionTemplate.executeWithoutResult(status -> this.outboxRepository.markFailed(outbox.getId(), errorOf(e)));
+                if (outbox.getAttempts() + 1 >= this.maxAttempts) {
+                    LOG.error("Giving up on grade change {} after {} attempts", outbox.getId(), this.maxAttempts, e);
+                    settledIds.add(outbox.getId());
+                    this.deadLetteredCount.incrementAndGet();
+                } else {
+                    LOG.warn("Grade change {} could not be delivered, later changes of student {} wait for it", outbox.getId(), outbox.getStudentId(), e);
+                    heldBackStudentIds.add(outbox.getStudentId());
+                }
+            }
+        }
+        if (!settledIds.isEmpty()) {
+            this.transactionTemplate.executeWithoutResult(status -> this.outboxRepository.markDispatched(settledIds, LocalDateTime.now()));
+        }
+        return settledIds.size();
+    }
+
+    private void dispatchQuietly() {
+
+        try {
+            dispatchPending();
+        } catch (RuntimeException e) {
+            LOG.warn("Grade outbox dispatch failed, retrying in {} ms", this.pollIntervalMillis, e);
+        }
+    }
+
+    private void purgeQuietly() {
+
+        try {
+            purgeDispatched();
+        } catch (RuntimeException e) {
+            LOG.warn("Purging dispatched grade changes failed", e);
+        }
+    }
+
+    private String errorOf(RuntimeException e) {
+
+        String error = e.getMessage() == null ? e.getClass().getName() : e.getClass().getName() + ": " + e.getMessage();
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
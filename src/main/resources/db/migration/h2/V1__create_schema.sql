@@ -0,0 +1,93 @@
+-- Sequences back PooledSequenceGenerator, each increment has to match the pool size of its table
+CREATE SEQUENCE teacher_seq START WITH 1 INCREMENT BY ${teacher_id_increment_size};
+CREATE SEQUENCE class_year_seq START WITH 1 INCREMENT BY ${class_year_id_increment_size};
+CREATE SEQUENCE student_seq START WITH 1 INCREMENT BY ${student_id_increment_size};
+CREATE SEQUENCE subject_seq START WITH 1 INCREMENT BY ${subject_id_increment_size};
+CREATE SEQUENCE grade_seq START WITH 1 INCREMENT BY ${grade_id_increment_size};
+
+CREATE TABLE teacher (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date TIMESTAMP,
+    update_date TIMESTAMP,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    CONSTRAINT pk_teacher PRIMARY KEY (id)
+);
+
+CREATE TABLE class_year (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date TIMESTAMP,
+    update_date TIMESTAMP,
+    class_level INTEGER,
+    class_name VARCHAR(255),
+    class_year VARCHAR(255),
+    CONSTRAINT pk_class_year PRIMARY KEY (id)
+);
+
+CREATE TABLE student (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date TIMESTAMP,
+    update_date TIMESTAMP,
+    age INTEGER,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    class_year_entity_id BIGINT,
+    CONSTRAINT pk_student PRIMARY KEY (id),
+    CONSTRAINT fk_student_class_year FOREIGN KEY (class_year_entity_id) REFERENCES class_year (id)
+);
+
+CREATE TABLE subject (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date TIMESTAMP,
+    update_date TIMESTAMP,
+    name VARCHAR(255),
+    subject_type VARCHAR(255),
+    teacher_entity_id BIGINT,
+    class_year_entity_id BIGINT,
+    CONSTRAINT pk_subject PRIMARY KEY (id),
+    CONSTRAINT fk_subject_teacher FOREIGN KEY (teacher_entity_id) REFERENCES teacher (id),
+    CONSTRAINT fk_subject_class_year FOREIGN KEY (class_year_entity_id) REFERENCES class_year (id)
+);
+
+CREATE TABLE grade (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date TIMESTAMP,
+    update_date TIMESTAMP,
+    value INTEGER,
+    weight DECIMAL(3, 2),
+    grade_type VARCHAR(255),
+    comment VARCHAR(255),
+    date_of_grade DATE,
+    teacher_entity_id BIGINT,
+    subject_entity_id BIGINT,
+    student_entity_id BIGINT,
+    CONSTRAINT pk_grade PRIMARY KEY (id),
+    CONSTRAINT uk_grade_student_subject_day_type UNIQUE (student_entity_id, subject_entity_id, date_of_grade, grade_type),
+    CONSTRAINT fk_grade_teacher FOREIGN KEY (teacher_entity_id) REFERENCES teacher (id),
+    CONSTRAINT fk_grade_subject FOREIGN KEY (subject_entity_id) REFERENCES subject (id),
+    CONSTRAINT fk_grade_student FOREIGN KEY (student_entity_id) REFERENCES student (id)
+);
+
+CREATE TABLE student_subject_aggregate (
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    weighted_sum DECIMAL(19, 4),
+    weight_sum DECIMAL(19, 4),
+    grade_count BIGINT,
+    CONSTRAINT pk_student_subject_aggregate PRIMARY KEY (student_id, subject_id)
+);
+
+CREATE TABLE daily_grade_rollup (
+    date_of_grade DATE NOT NULL,
+    grade_type VARCHAR(255) NOT NULL,
+    subject_id BIGINT NOT NULL,
+    class_year_id BIGINT NOT NULL,
+    grade_count BIGINT,
+    student_count BIGINT,
+    CONSTRAINT pk_daily_grade_rollup PRIMARY KEY (date_of_grade, grade_type, subject_id, class_year_id)
+);
@@ -0,0 +1,18 @@
+-- grade changes appended by GradeServiceImpl in the writing transaction and drained by GradeOutboxDispatcher
+CREATE SEQUENCE outbox_seq START WITH 1 INCREMENT BY ${outbox_id_increment_size};
+
+CREATE TABLE outbox (
+    id BIGINT NOT NULL,
+    grade_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    dispatched_at TIMESTAMP,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(255),
+    CONSTRAINT pk_outbox PRIMARY KEY (id)
+);
+
+-- pending rows in id order, and the purge of rows dispatched before the retention period
+CREATE INDEX idx_outbox_dispatched ON outbox (dispatched_at, id);
@@ -0,0 +1,98 @@
+-- MySQL has no sequences, PooledSequenceGenerator falls back to one single-row table per entity table
+CREATE TABLE teacher_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO teacher_seq VALUES (1);
+CREATE TABLE class_year_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO class_year_seq VALUES (1);
+CREATE TABLE student_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO student_seq VALUES (1);
+CREATE TABLE subject_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO subject_seq VALUES (1);
+CREATE TABLE grade_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO grade_seq VALUES (1);
+
+CREATE TABLE teacher (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date DATETIME(6),
+    update_date DATETIME(6),
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    CONSTRAINT pk_teacher PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE class_year (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date DATETIME(6),
+    update_date DATETIME(6),
+    class_level INTEGER,
+    class_name VARCHAR(255),
+    class_year VARCHAR(255),
+    CONSTRAINT pk_class_year PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE student (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date DATETIME(6),
+    update_date DATETIME(6),
+    age INTEGER,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    class_year_entity_id BIGINT,
+    CONSTRAINT pk_student PRIMARY KEY (id),
+    CONSTRAINT fk_student_class_year FOREIGN KEY (class_year_entity_id) REFERENCES class_year (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE subject (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date DATETIME(6),
+    update_date DATETIME(6),
+    name VARCHAR(255),
+    subject_type VARCHAR(255),
+    teacher_entity_id BIGINT,
+    class_year_entity_id BIGINT,
+    CONSTRAINT pk_subject PRIMARY KEY (id),
+    CONSTRAINT fk_subject_teacher FOREIGN KEY (teacher_entity_id) REFERENCES teacher (id),
+    CONSTRAINT fk_subject_class_year FOREIGN KEY (class_year_entity_id) REFERENCES class_year (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE grade (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    create_date DATETIME(6),
+    update_date DATETIME(6),
+    value INTEGER,
+    weight DECIMAL(3, 2),
+    grade_type VARCHAR(255),
+    comment VARCHAR(255),
+    date_of_grade DATE,
+    teacher_entity_id BIGINT,
+    subject_entity_id BIGINT,
+    student_entity_id BIGINT,
+    CONSTRAINT pk_grade PRIMARY KEY (id),
+    CONSTRAINT uk_grade_student_subject_day_type UNIQUE (student_entity_id, subject_entity_id, date_of_grade, grade_type),
+    CONSTRAINT fk_grade_teacher FOREIGN KEY (teacher_entity_id) REFERENCES teacher (id),
+    CONSTRAINT fk_grade_subject FOREIGN KEY (subject_entity_id) REFERENCES subject (id),
+    CONSTRAINT fk_grade_student FOREIGN KEY (student_entity_id) REFERENCES student (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE student_subject_aggregate (
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    weighted_sum DECIMAL(19, 4),
+    weight_sum DECIMAL(19, 4),
+    grade_count BIGINT,
+    CONSTRAINT pk_student_subject_aggregate PRIMARY KEY (student_id, subject_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE daily_grade_rollup (
+    date_of_grade DATE NOT NULL,
+    grade_type VARCHAR(255) NOT NULL,
+    subject_id BIGINT NOT NULL,
+    class_year_id BIGINT NOT NULL,
+    grade_count BIGINT,
+    student_count BIGINT,
+    CONSTRAINT pk_daily_grade_rollup PRIMARY KEY (date_of_grade, grade_type, subject_id, class_year_id)
+) ENGINE = InnoDB;
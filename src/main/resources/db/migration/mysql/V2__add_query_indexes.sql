@@ -0,0 +1,11 @@
+-- GRADE(student, subject) lookups use the leading columns of uk_grade_student_subject_day_type, so there is no
+-- separate index for them
+
+-- day and grade type reports, the criteria search by date range and the daily rollup rebuild
+CREATE INDEX idx_grade_date_type ON grade (date_of_grade, grade_type);
+
+-- teacher reassignment on teacher delete and grades of a teacher by day
+CREATE INDEX idx_grade_teacher_date ON grade (teacher_entity_id, date_of_grade);
+
+-- TeacherRepoCustom.findTeachersByLastName
+CREATE INDEX idx_teacher_last_name ON teacher (last_name);
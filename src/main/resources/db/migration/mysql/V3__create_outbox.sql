@@ -0,0 +1,19 @@
+-- grade changes appended by GradeServiceImpl in the writing transaction and drained by GradeOutboxDispatcher
+CREATE TABLE outbox_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO outbox_seq VALUES (1);
+
+CREATE TABLE outbox (
+    id BIGINT NOT NULL,
+    grade_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    dispatched_at DATETIME(6),
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(255),
+    CONSTRAINT pk_outbox PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- pending rows in id order, and the purge of rows dispatched before the retention period
+CREATE INDEX idx_outbox_dispatched ON outbox (dispatched_at, id);
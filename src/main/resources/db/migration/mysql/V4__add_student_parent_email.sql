@@ -0,0 +1,2 @@
+-- address ParentNotifier sends the digest of a student's 1s and 6s to, students without one are not notified
+ALTER TABLE student ADD COLUMN parent_email VARCHAR(255);
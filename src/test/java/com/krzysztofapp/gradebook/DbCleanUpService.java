@@ -1,5 +1,8 @@
 package com.krzysztofapp.gradebook;
 
+import com.krzysztofapp.gradebook.persistence.entity.AbstractEntity;
+import com.krzysztofapp.gradebook.persistence.entity.generator.PooledSequenceGenerator;
+import com.krzysztofapp.gradebook.service.cache.WeightedAverageCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,11 +18,14 @@ import java.util.stream.Collectors;
 public class DbCleanUpService {
 
     private final EntityManager em;
+    private final WeightedAverageCache weightedAverageCache;
     private List<String> tableNames;
+    private List<String> sequenceNames;
 
     @Autowired
-    public DbCleanUpService(EntityManager em) {
+    public DbCleanUpService(EntityManager em, WeightedAverageCache weightedAverageCache) {
         this.em = em;
+        this.weightedAverageCache = weightedAverageCache;
     }
 
     @PostConstruct
@@ -29,6 +35,11 @@ public class DbCleanUpService {
                 .map(entityType -> entityType.getJavaType().getAnnotation(Table.class))
                 .map(Table::name)
                 .collect(Collectors.toUnmodifiableList());
+        sequenceNames = em.getMetamodel().getEntities().stream()
+                .filter(entityType -> entityType.getJavaType().getAnnotation(Table.class) != null)
+                .filter(entityType -> AbstractEntity.class.isAssignableFrom(entityType.getJavaType()))
+                .map(entityType -> entityType.getJavaType().getAnnotation(Table.class).name() + PooledSequenceGenerator.SEQUENCE_SUFFIX)
+                .collect(Collectors.toUnmodifiableList());
     }
 
     @Transactional
@@ -36,10 +47,15 @@ public class DbCleanUpService {
         em.createNativeQuery("SET REFERENTIAL_INTEGRITY FALSE").executeUpdate();
 
         this.tableNames.forEach(table -> em
-                .createNativeQuery("TRUNCATE TABLE " + table + "; ALTER TABLE " + table + " ALTER COLUMN ID RESTART WITH 1")
+                .createNativeQuery("TRUNCATE TABLE " + table)
+                .executeUpdate());
+        this.sequenceNames.forEach(sequence -> em
+                .createNativeQuery("ALTER SEQUENCE " + sequence + " RESTART WITH 1")
                 .executeUpdate());
 
         em.createNativeQuery("SET REFERENTIAL_INTEGRITY TRUE").executeUpdate();
+        em.getEntityManagerFactory().getCache().evictAll();
+        this.weightedAverageCache.invalidateAll();
     }
 
 }
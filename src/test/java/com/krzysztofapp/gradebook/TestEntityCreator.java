@@ -1,7 +1,7 @@
 package com.krzysztofapp.gradebook;
 
 import com.krzysztofapp.gradebook.persistence.entity.utils.SubjectUtils;
-import com.capgemini.gradebook.persistence.repo.*;
+import com.krzysztofapp.gradebook.persistence.repo.*;
 import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
 import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
 import com.krzysztofapp.gradebook.persistence.entity.GradeType;
@@ -0,0 +1,103 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import com.krzysztofapp.gradebook.DbCleanUpService;
+import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
+import com.krzysztofapp.gradebook.exceptions.GradeNotFoundException;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.persistence.repo.TeacherRepo;
+import com.krzysztofapp.gradebook.service.GradeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.inject.Inject;
+
+@SpringBootTest
+class MethodTimingAspectTest extends TestEntityCreator {
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @Inject
+    private PrometheusMeterRegistry prometheusMeterRegistry;
+
+    @Inject
+    private GradeService gradeService;
+
+    @Inject
+    private TeacherRepo tRepo;
+
+    @Inject
+    private GradeRepo gRepo;
+
+    @Inject
+    private DbCleanUpService cleanUpService;
+
+    @AfterEach
+    private void cleanDbBetweenTests() {
+        cleanUpService.resetDatabase();
+    }
+
+    @Test
+    public void repositoryCallsShouldBeTimedPerRepositoryAndMethod() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        long inheritedBefore = countOf("repository", "TeacherRepo", "findById", "none");
+        long customBefore = countOf("repository", "GradeRepo", "findByCriteria", "none");
+
+        //when
+        tRepo.findById(te.getId());
+        gRepo.findByCriteria(new GradeSearchCriteria());
+
+        //then
+        Assertions.assertThat(countOf("repository", "TeacherRepo", "findById", "none")).isEqualTo(inheritedBefore + 1);
+        Assertions.assertThat(countOf("repository", "GradeRepo", "findByCriteria", "none")).isEqualTo(customBefore + 1);
+    }
+
+    @Test
+    public void failingServiceCallShouldBeTimedWithItsException() {
+
+        //given
+        long failedBefore = countOf("service", "GradeServiceImpl", "findGradeById", "GradeNotFoundException");
+
+        //when
+        Assertions.assertThatThrownBy(() -> gradeService.findGradeById(999L)).isInstanceOf(GradeNotFoundException.class);
+
+        //then
+        Assertions.assertThat(countOf("service", "GradeServiceImpl", "findGradeById", "GradeNotFoundException")).isEqualTo(failedBefore + 1);
+    }
+
+    @Test
+    public void prometheusScrapeShouldHaveMethodHistogramsAndPercentiles() {
+
+        //given
+        gradeService.getWeightedAverageCacheStatistics();
+
+        //when
+        String scrape = prometheusMeterRegistry.scrape();
+
+        //then
+        Assertions.assertThat(scrape)
+                .contains("gradebook_method_seconds_bucket{")
+                .contains("quantile=\"0.99\"")
+                .contains("method=\"getWeightedAverageCacheStatistics\"")
+                .contains("jvm_memory_used_bytes")
+                .contains("hikaricp_connections")
+                .contains("cache=\"weighted-average\"");
+    }
+
+    private long countOf(String layer, String type, String method, String exception) {
+
+        Timer timer = meterRegistry.find(MethodTimingAspect.METRIC_NAME)
+                .tags("layer", layer, "class", type, "method", method, "exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,163 @@
+package com.krzysztofapp.gradebook.monitoring;
+
+import com.krzysztofapp.gradebook.DbCleanUpService;
+import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import com.krzysztofapp.gradebook.persistence.repo.StudentRepo;
+import com.krzysztofapp.gradebook.service.GradeService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.inject.Inject;
+import java.util.Map;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTest extends TestEntityCreator {
+
+    @Inject
+    private MockMvc mockMvc;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @Inject
+    private GradeService gradeService;
+
+    @Inject
+    private StudentRepo stRepo;
+
+    @Inject
+    private DbCleanUpService cleanUpService;
+
+    @AfterEach
+    private void cleanDbBetweenTests() {
+        cleanUpService.resetDatabase();
+    }
+
+    @Test
+    public void gradeByIdShouldBeReadWithOneStatement() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        GradeEntity ge = saveTestGrade(te, ste, sue);
+
+        //when
+        QueryCount count = perform(MockMvcRequestBuilders.get("/rest/grades/get/{id}", ge.getId()));
+
+        //then
+        Assertions.assertThat(count.getStatementCount()).isEqualTo(1);
+        Assertions.assertThat(count.getRowCount()).isEqualTo(1);
+        Assertions.assertThat(count.getRepeatedSelects(2)).isEmpty();
+    }
+
+    @Test
+    public void studentByIdShouldNotLoadItsClassYear() {
+
+        //given
+        ClassYearEntity cy = saveTestClassYear();
+        StudentEntity ste = saveTestStudent(cy);
+
+        //when
+        QueryCount count = perform(MockMvcRequestBuilders.get("/rest/students/get/{id}", ste.getId()));
+
+        //then
+        Assertions.assertThat(count.getStatementCount()).isEqualTo(1);
+        Assertions.assertThat(count.getRepeatedSelects(2)).isEmpty();
+    }
+
+    @Test
+    public void sameSelectRunForEveryRowShouldBeReportedAsRepeated() {
+
+        //given
+        ClassYearEntity cy = saveTestClassYear();
+        StudentEntity ste = saveTestStudent(cy);
+
+        //when
+        QueryCount count = QueryCounter.record(() -> {
+            for (int i = 0; i < 3; i++) {
+                stRepo.findById(ste.getId());
+            }
+        });
+
+        //then
+        Map<String, Integer> repeated = count.getRepeatedSelects(3);
+        Assertions.assertThat(count.getStatementCount()).isEqualTo(3);
+        Assertions.assertThat(repeated).hasSize(1);
+        Assertions.assertThat(repeated.values()).containsExactly(3);
+        Assertions.assertThat(repeated.keySet().iterator().next()).containsIgnoringCase("from student");
+    }
+
+    @Test
+    public void updatedRowsShouldBeCounted() {
+
+        //given
+        ClassYearEntity cy = saveTestClassYear();
+        saveTestStudent(cy);
+        saveTestStudent(cy);
+        saveTestStudent(cy);
+
+        //when
+        QueryCount count = QueryCounter.record(() -> stRepo.deleteAllInBatch());
+
+        //then
+        Assertions.assertThat(count.getStatementCount()).isEqualTo(1);
+        Assertions.assertThat(count.getRowCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void requestsAndServiceCallsShouldBeReportedUnderTheirNames() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        GradeEntity ge = saveTestGrade(te, ste, sue);
+        long requestsBefore = statementsOf("request", "GET /rest/grades/get/{id}").count();
+        long serviceCallsBefore = statementsOf("service", "GradeServiceImpl.findGradeById").count();
+
+        //when
+        perform(MockMvcRequestBuilders.get("/rest/grades/get/{id}", ge.getId()));
+        gradeService.findGradeById(ge.getId());
+
+        //then
+        Assertions.assertThat(statementsOf("request", "GET /rest/grades/get/{id}").count()).isEqualTo(requestsBefore + 1);
+        Assertions.assertThat(statementsOf("service", "GradeServiceImpl.findGradeById").count()).isEqualTo(serviceCallsBefore + 2);
+    }
+
+    private QueryCount perform(MockHttpServletRequestBuilder request) {
+
+        return QueryCounter.record(() -> {
+            try {
+                mockMvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private DistributionSummary statementsOf(String scope, String name) {
+
+        return DistributionSummary.builder(QueryCountReporter.STATEMENTS_METRIC)
+                .tag("scope", scope)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+}
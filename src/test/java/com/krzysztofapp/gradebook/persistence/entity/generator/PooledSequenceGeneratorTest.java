@@ -0,0 +1,49 @@
+package com.krzysztofapp.gradebook.persistence.entity.generator;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:sequence_increments;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.gradebook.id.increment_size.GRADE=5"})
+class PooledSequenceGeneratorTest {
+
+    @Inject
+    private EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void shouldCreateEverySequenceWithThePoolSizeOfItsTable() {
+        //given
+        Map<String, Long> poolSizes = new HashMap<>();
+        for (EntityPersister persister : entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMetamodel().entityPersisters().values()) {
+            if (persister.getIdentifierGenerator() instanceof SequenceStyleGenerator) {
+                SequenceStyleGenerator generator = (SequenceStyleGenerator) persister.getIdentifierGenerator();
+                poolSizes.put(generator.getDatabaseStructure().getName().toUpperCase(), (long) generator.getOptimizer().getIncrementSize());
+            }
+        }
+
+        //when
+        Map<String, Long> sequenceIncrements = new HashMap<>();
+        jdbcTemplate.query("SELECT SEQUENCE_NAME, INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES",
+                rs -> { sequenceIncrements.put(rs.getString(1).toUpperCase(), rs.getLong(2)); });
+
+        //then
+        Assertions.assertThat(poolSizes)
+                .containsEntry("GRADE" + PooledSequenceGenerator.SEQUENCE_SUFFIX, 5L)
+                .containsEntry("STUDENT" + PooledSequenceGenerator.SEQUENCE_SUFFIX, 1L)
+                .hasSize(6);
+        Assertions.assertThat(sequenceIncrements).containsAllEntriesOf(poolSizes);
+    }
+}
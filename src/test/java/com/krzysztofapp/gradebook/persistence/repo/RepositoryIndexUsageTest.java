@@ -0,0 +1,196 @@
+package com.krzysztofapp.gradebook.persistence.repo;
+
+import com.krzysztofapp.gradebook.DbCleanUpService;
+import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.inject.Inject;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@SpringBootTest
+class RepositoryIndexUsageTest extends TestEntityCreator {
+
+    private static final int SUBJECTS = 8;
+
+    private static final int STUDENTS = 10;
+
+    private static final int GRADES_PER_SUBJECT = 5;
+
+    private static final String GRADE_TABLE_SCAN = "PUBLIC.GRADE.TABLESCAN";
+
+    @Inject
+    private GradeRepo gRepo;
+
+    @Inject
+    private StudentRepo stRepo;
+
+    @Inject
+    private TeacherRepo tRepo;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private TransactionTemplate transactionTemplate;
+
+    @Inject
+    private DbCleanUpService cleanUpService;
+
+    @BeforeEach
+    private void seedAndAnalyze() {
+
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        List<SubjectEntity> subjects = new ArrayList<>();
+        for (int i = 0; i < SUBJECTS; i++) {
+            subjects.add(saveTestSubject(cy, te));
+        }
+        List<GradeEntity> grades = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            StudentEntity ste = saveTestStudent(cy);
+            for (SubjectEntity sue : subjects) {
+                for (int g = 0; g < GRADES_PER_SUBJECT; g++) {
+                    GradeEntity grade = new GradeEntity();
+                    grade.setTeacherEntity(te);
+                    grade.setStudentEntity(ste);
+                    grade.setSubjectEntity(sue);
+                    grade.setValue(1 + g);
+                    grade.setGradeType(GradeType.values()[g % GradeType.values().length]);
+                    grade.setDateOfGrade(LocalDate.parse("2022-09-01").plusDays(g * 7L + i));
+                    grades.add(grade);
+                }
+            }
+        }
+        gRepo.saveAll(grades);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    private void cleanDbBetweenTests() {
+        cleanUpService.resetDatabase();
+    }
+
+    @Test
+    public void findAllGradeByStudentAndSubjectShouldUseStudentSubjectIndex() {
+
+        //when
+        List<String> plans = explain(() -> gRepo.findAllGradeByStudentEntityIdAndSubjectEntityId(1L, 1L));
+
+        //then
+        Assertions.assertThat(plans).hasSize(1)
+                .allSatisfy(plan -> Assertions.assertThat(plan).contains("UK_GRADE_STUDENT_SUBJECT_DAY_TYPE").doesNotContain(GRADE_TABLE_SCAN));
+    }
+
+    @Test
+    public void duplicateGradeCheckShouldUseStudentSubjectIndex() {
+
+        //when
+        List<String> plans = explain(() -> gRepo.existsByStudentEntityIdAndSubjectEntityIdAndDateOfGradeAndGradeType(1L, 1L,
+                LocalDate.parse("2022-12-12"), GradeType.D));
+
+        //then
+        Assertions.assertThat(plans).hasSize(1)
+                .allSatisfy(plan -> Assertions.assertThat(plan).contains("UK_GRADE_STUDENT_SUBJECT_DAY_TYPE").doesNotContain(GRADE_TABLE_SCAN));
+    }
+
+    @Test
+    public void findByCriteriaWithStudentAndSubjectShouldUseStudentSubjectIndex() {
+
+        //given
+        GradeSearchCriteria criteria = new GradeSearchCriteria();
+        criteria.setStudentEntityId(1L);
+        criteria.setSubjectEntityId(1L);
+        criteria.setCreatedDateFrom(LocalDate.parse("2022-11-01"));
+        criteria.setCreatedDateTo(LocalDate.parse("2022-11-30"));
+
+        //when
+        List<String> plans = explain(() -> gRepo.findByCriteria(criteria));
+
+        //then
+        Assertions.assertThat(plans).hasSize(1)
+                .allSatisfy(plan -> Assertions.assertThat(plan).contains("UK_GRADE_STUDENT_SUBJECT_DAY_TYPE").doesNotContain(GRADE_TABLE_SCAN));
+    }
+
+    @Test
+    public void findAllByCertainGradeAtCertainDayShouldUseDateTypeIndex() {
+
+        //when
+        List<String> plans = explain(() -> stRepo.findAllByCertainGradeAtCertainDay(GradeType.C, LocalDate.parse("2022-11-18")));
+
+        //then
+        Assertions.assertThat(plans).hasSize(1)
+                .allSatisfy(plan -> Assertions.assertThat(plan).contains("IDX_GRADE_DATE_TYPE").doesNotContain(GRADE_TABLE_SCAN));
+    }
+
+    @Test
+    public void countStudentsByDayAndGradeTypeShouldUseDateTypeIndex() {
+
+        //when
+        List<String> plans = explain(() -> stRepo.countStudentsByDayAndGradeType(LocalDate.parse("2022-12-12"),
+                LocalDate.parse("2022-12-13"), List.of(GradeType.C, GradeType.F)));
+
+        //then
+        Assertions.assertThat(plans).hasSize(1)
+                .allSatisfy(plan -> Assertions.assertThat(plan).contains("IDX_GRADE_DATE_TYPE").doesNotContain(GRADE_TABLE_SCAN));
+    }
+
+    @Test
+    public void clearTeacherShouldNotScanGrades() {
+
+        //when
+        List<String> plans = explain(() -> transactionTemplate.execute(status -> gRepo.clearTeacher(1L)));
+
+        //then
+        Assertions.assertThat(plans).hasSize(1)
+                .allSatisfy(plan -> Assertions.assertThat(plan).contains("TEACHER_ENTITY_ID = ?").doesNotContain(GRADE_TABLE_SCAN));
+    }
+
+    @Test
+    public void findTeachersByLastNameShouldUseLastNameIndex() {
+
+        //when
+        List<String> plans = explain(() -> tRepo.findTeachersByLastName("Kowalski"));
+
+        //then
+        Assertions.assertThat(plans).hasSize(1)
+                .allSatisfy(plan -> Assertions.assertThat(plan).contains("IDX_TEACHER_LAST_NAME").doesNotContain("PUBLIC.TEACHER.TABLESCAN"));
+    }
+
+    private List<String> explain(Runnable repositoryCall) {
+
+        return RecordingStatementInspector.record(repositoryCall).stream()
+                .map(sql -> jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                        int parameterCount = statement.getParameterMetaData().getParameterCount();
+                        for (int i = 1; i <= parameterCount; i++) {
+                            statement.setNull(i, Types.NULL);
+                        }
+                        try (ResultSet plan = statement.executeQuery()) {
+                            plan.next();
+                            return plan.getString(1).replace("\"", "").toUpperCase();
+                        }
+                    }
+                }))
+                .collect(Collectors.toList());
+    }
+}
@@ -2,6 +2,7 @@ package com.krzysztofapp.gradebook.persistence.repo.custom;
 
 import com.krzysztofapp.gradebook.DbCleanUpService;
 import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.domain.GradeEto;
 import com.krzysztofapp.gradebook.domain.GradeSearchCriteria;
 import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
 import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
@@ -11,11 +12,14 @@ import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
 import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
 import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -32,6 +36,9 @@ class GradeRepoCustomTest extends TestEntityCreator {
     @Inject
     private GradeRepo gRepo;
 
+    @Inject
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     private void cleanDbBetweenTests() {
         cleanUpService.resetDatabase();
@@ -63,7 +70,7 @@ class GradeRepoCustomTest extends TestEntityCreator {
         criteria.setSubjectEntityId(1L);
 
         //When
-        List<GradeEntity> result = gRepo.findByCriteria(criteria);
+        List<GradeEto> result = gRepo.findByCriteria(criteria);
 
         //then
         Assertions.assertThat(result.size()).isEqualTo(2);
@@ -91,7 +98,7 @@ class GradeRepoCustomTest extends TestEntityCreator {
         criteria.setCreatedDateTo(LocalDate.parse("2022-11-29"));
 
         //When
-        List<GradeEntity> result = gRepo.findByCriteria(criteria);
+        List<GradeEto> result = gRepo.findByCriteria(criteria);
 
         //then
         Assertions.assertThat(result.size()).isEqualTo(3);
@@ -117,9 +124,9 @@ class GradeRepoCustomTest extends TestEntityCreator {
         criteria.setWeightTo(BigDecimal.valueOf(4.00));
 
         //When
-        List<GradeEntity> result = gRepo.findByCriteria(criteria);
+        List<GradeEto> result = gRepo.findByCriteria(criteria);
 
-        List<Long> listOfIds = result.stream().map(GradeEntity::getId).collect(Collectors.toList());
+        List<Long> listOfIds = result.stream().map(GradeEto::getId).collect(Collectors.toList());
 
         //then
         Assertions.assertThat(result.size()).isEqualTo(3);
@@ -144,15 +151,72 @@ class GradeRepoCustomTest extends TestEntityCreator {
         criteria.setValueTo(4);
 
         //When
-        List<GradeEntity> result = gRepo.findByCriteria(criteria);
+        List<GradeEto> result = gRepo.findByCriteria(criteria);
 
-        List<Long> listOfIds = result.stream().map(GradeEntity::getId).collect(Collectors.toList());
+        List<Long> listOfIds = result.stream().map(GradeEto::getId).collect(Collectors.toList());
 
         //then
         Assertions.assertThat(result.size()).isEqualTo(3);
         Assertions.assertThat(listOfIds).contains(3L, 2L, 5L);
     }
 
+    @Test
+    public void findByCriteriaShouldRunSingleSelectWithoutLoadingAssociations() {
+        //Given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        createGrade(te, ste, sue, GradeType.E, 2, LocalDate.parse("2022-11-11"), BigDecimal.valueOf(3.00));
+        createGrade(te, ste1, sue, GradeType.D, 3, LocalDate.parse("2022-11-12"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.C, 4, LocalDate.parse("2022-11-15"), BigDecimal.valueOf(4.00));
+
+        GradeSearchCriteria criteria = new GradeSearchCriteria();
+        criteria.setSubjectEntityId(sue.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //When
+        List<GradeEto> result = gRepo.findByCriteria(criteria);
+
+        //then
+        Assertions.assertThat(result).extracting(GradeEto::getStudentEntityId).containsExactlyInAnyOrder(ste.getId(), ste1.getId(), ste1.getId());
+        Assertions.assertThat(result).extracting(GradeEto::getTeacherEntityId).containsOnly(te.getId());
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void findByCriteriaWithSameFiltersShouldReuseParsedQuery() {
+        //Given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        createGrade(te, ste, sue, GradeType.E, 2, LocalDate.parse("2022-11-11"), BigDecimal.valueOf(1.00));
+        createGrade(te, ste, sue, GradeType.D, 3, LocalDate.parse("2022-11-12"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste, sue, GradeType.C, 4, LocalDate.parse("2022-11-15"), BigDecimal.valueOf(4.00));
+
+        GradeSearchCriteria first = new GradeSearchCriteria();
+        first.setStudentEntityId(ste.getId());
+        first.setValueFrom(2);
+        GradeSearchCriteria second = new GradeSearchCriteria();
+        second.setStudentEntityId(ste.getId());
+        second.setValueFrom(4);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        gRepo.findByCriteria(first);
+        statistics.clear();
+
+        //When
+        List<GradeEto> result = gRepo.findByCriteria(second);
+
+        //then
+        Assertions.assertThat(result).extracting(GradeEto::getValue).containsExactly(4);
+        Assertions.assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(0);
+        Assertions.assertThat(statistics.getQueryPlanCacheHitCount()).isPositive();
+    }
+
     private void createGrade(TeacherEntity te, StudentEntity ste, SubjectEntity sue, GradeType gt, Integer val, LocalDate date, BigDecimal wg) {
         GradeEntity grade = new GradeEntity();
         grade.setSubjectEntity(sue);
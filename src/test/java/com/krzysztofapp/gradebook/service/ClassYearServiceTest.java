@@ -3,20 +3,30 @@ package com.krzysztofapp.gradebook.service;
 import com.krzysztofapp.gradebook.DbCleanUpService;
 import com.krzysztofapp.gradebook.TestEntityCreator;
 import com.krzysztofapp.gradebook.domain.ClassYearEto;
+import com.krzysztofapp.gradebook.domain.ClassYearMatrixEto;
 import com.krzysztofapp.gradebook.exceptions.ClassYearNotFoundException;
+import com.krzysztofapp.gradebook.exceptions.ClassYearStillInUseException;
 import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
 import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
 import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import com.krzysztofapp.gradebook.persistence.repo.ClassYearRepo;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
 import com.krzysztofapp.gradebook.persistence.repo.SubjectRepo;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
 import javax.validation.ConstraintViolationException;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +47,12 @@ class ClassYearServiceTest extends TestEntityCreator {
     @Inject
     private ClassYearRepo cyRepo;
 
+    @Inject
+    private GradeRepo gRepo;
+
+    @Inject
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     private void cleanDbBetweenTests() {
         cleanUpService.resetDatabase();
@@ -224,5 +240,94 @@ class ClassYearServiceTest extends TestEntityCreator {
         Assertions.assertThat(classYears).isEmpty();
     }
 
+    @Test
+    public void deleteClassYearShouldRemoveSubjectsAndGradesWithConstantNumberOfStatements() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cye = saveTestClassYear();
+        ClassYearEntity otherCye = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cye, te);
+        SubjectEntity sue1 = saveTestSubject(cye, te);
+        SubjectEntity otherSue = saveTestSubject(otherCye, te);
+        StudentEntity otherSte = saveTestStudent(otherCye);
+        for (int i = 0; i < 10; i++) {
+            createGrade(te, otherSte, i % 2 == 0 ? sue : sue1, 3, BigDecimal.ONE);
+        }
+        createGrade(te, otherSte, otherSue, 3, BigDecimal.ONE);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        classYearService.delete(cye.getId());
+
+        //then
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+        Assertions.assertThat(suRepo.findAll()).extracting(SubjectEntity::getId).containsExactly(otherSue.getId());
+        Assertions.assertThat(gRepo.findAll()).extracting(grade -> grade.getSubjectEntity().getId()).containsExactly(otherSue.getId());
+        Assertions.assertThat(cyRepo.existsById(cye.getId())).isFalse();
+    }
+
+    @Test
+    public void deleteClassYearWithStudentsShouldThrowException() {
+        //given
+        ClassYearEntity cye = saveTestClassYear();
+        saveTestStudent(cye);
+
+        Assertions.assertThatThrownBy(() -> {
+                    //when
+                    classYearService.delete(cye.getId());
+                    //then
+                }).isInstanceOf(ClassYearStillInUseException.class)
+                .hasMessageContaining("ClassYear with ID: " + cye.getId() + " still has students and can't be removed");
+    }
+
+    @Test
+    public void getGradeMatrixShouldReturnAveragesAndCountsOfWholeClass() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cye = saveTestClassYear();
+        ClassYearEntity otherCye = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cye, te);
+        SubjectEntity sue1 = saveTestSubject(cye, te);
+        StudentEntity ste = saveTestStudent(cye);
+        StudentEntity ste1 = saveTestStudent(cye);
+        StudentEntity otherSte = saveTestStudent(otherCye);
+        createGrade(te, ste, sue, 5, BigDecimal.valueOf(1.00));
+        createGrade(te, ste, sue, 2, BigDecimal.valueOf(3.00));
+        createGrade(te, ste1, sue1, 4, BigDecimal.valueOf(2.00));
+        createGrade(te, otherSte, sue, 1, BigDecimal.valueOf(1.00));
+
+        //when
+        ClassYearMatrixEto result = classYearService.getGradeMatrix(cye.getId());
+
+        //then
+        Assertions.assertThat(result.getStudentIds()).containsExactly(ste.getId(), ste1.getId());
+        Assertions.assertThat(result.getSubjectIds()).containsExactly(sue.getId(), sue1.getId());
+        Assertions.assertThat(result.getWeightedAverages()).containsExactly(2.75, 0.0, 0.0, 4.00);
+        Assertions.assertThat(result.getGradeCounts()).containsExactly(2, 0, 0, 1);
+    }
+
+    @Test
+    public void getGradeMatrixShouldThrowExceptionIfClassYearNotExist() {
+
+        Assertions.assertThatThrownBy(() -> {
+                    //when
+                    classYearService.getGradeMatrix(1L);
+                    //then
+                }).isInstanceOf(ClassYearNotFoundException.class)
+                .hasMessageContaining("ClassYear with id: " + 1L + " could not be found");
+    }
+
+    private void createGrade(TeacherEntity te, StudentEntity ste, SubjectEntity sue, Integer val, BigDecimal wg) {
+        GradeEntity grade = new GradeEntity();
+        grade.setSubjectEntity(sue);
+        grade.setStudentEntity(ste);
+        grade.setTeacherEntity(te);
+        grade.setGradeType(GradeType.F);
+        grade.setValue(val);
+        grade.setWeight(wg);
+        gRepo.save(grade);
+    }
 
-}
\ No newline at end of file
+}
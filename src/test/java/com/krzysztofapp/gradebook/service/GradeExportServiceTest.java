@@ -0,0 +1,107 @@
+package com.krzysztofapp.gradebook.service;
+
+import com.krzysztofapp.gradebook.DbCleanUpService;
+import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.domain.GradeExportFormat;
+import com.krzysztofapp.gradebook.exceptions.InvalidRangeProvidedException;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+@SpringBootTest
+class GradeExportServiceTest extends TestEntityCreator {
+
+    @Inject
+    private GradeExportService gradeExportService;
+
+    @Inject
+    private GradeRepo gRepo;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private DbCleanUpService cleanUpService;
+
+    @AfterEach
+    private void cleanDbBetweenTests() {
+        cleanUpService.resetDatabase();
+    }
+
+    @Test
+    public void exportShouldWriteGradesOfRangeAsCsv() throws IOException {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        GradeEntity grade = saveTestGrade(te, ste, sue);
+        grade.setDateOfGrade(LocalDate.parse("2022-12-12"));
+        grade.setWeight(new BigDecimal("2.00"));
+        grade.setComment("Missing homework, again");
+        grade = gRepo.save(grade);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        gradeExportService.exportGrades(grade.getDateOfGrade(), grade.getDateOfGrade(), GradeExportFormat.CSV, outputStream);
+
+        //then
+        Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8).split("\n"))
+                .containsExactly("id,date_of_grade,grade_type,value,weight,student_id,subject_id,teacher_id,comment",
+                        grade.getId() + ",2022-12-12,F,1,2.00," + ste.getId() + "," + sue.getId() + "," + te.getId()
+                                + ",\"Missing homework, again\"");
+    }
+
+    @Test
+    public void exportShouldStreamOnlyGradesInsideRange() throws IOException {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        //one grade a day from 2015-01-02 on, unique per student, subject, day and grade type
+        jdbcTemplate.update("INSERT INTO grade (id, version, value, weight, grade_type, date_of_grade, teacher_entity_id, " +
+                "subject_entity_id, student_entity_id) SELECT NEXT VALUE FOR grade_seq, 0, 3, 1.00, 'D', " +
+                "DATEADD('DAY', X, DATE '2015-01-01'), ?, ?, ? FROM SYSTEM_RANGE(1, 5000)", te.getId(), sue.getId(), ste.getId());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        gradeExportService.exportGrades(LocalDate.parse("2015-01-02"), LocalDate.parse("2022-12-31"), GradeExportFormat.NDJSON, outputStream);
+
+        //then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertThat(lines).hasSize((int) (LocalDate.parse("2022-12-31").toEpochDay() - LocalDate.parse("2015-01-02").toEpochDay()) + 1);
+        Assertions.assertThat(lines).allSatisfy(line -> Assertions.assertThat(line).startsWith("{").endsWith("}"));
+    }
+
+    @Test
+    public void exportShouldThrowExceptionIfRangeIsReversed() {
+
+        Assertions.assertThatThrownBy(() -> {
+
+                    //when
+                    gradeExportService.exportGrades(LocalDate.parse("2022-12-31"), LocalDate.parse("2022-01-01"),
+                            GradeExportFormat.CSV, new ByteArrayOutputStream());
+
+                    //then
+                }).isInstanceOf(InvalidRangeProvidedException.class)
+                .hasMessageContaining("Export range ends before it starts");
+    }
+}
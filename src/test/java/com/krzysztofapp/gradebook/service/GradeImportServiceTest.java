@@ -0,0 +1,160 @@
+package com.krzysztofapp.gradebook.service;
+
+import com.krzysztofapp.gradebook.DbCleanUpService;
+import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.GradeImportEto;
+import com.krzysztofapp.gradebook.domain.GradeImportState;
+import com.krzysztofapp.gradebook.exceptions.GradeImportNotFoundException;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+class GradeImportServiceTest extends TestEntityCreator {
+
+    private static final String HEADER = "student_id,subject_id,value,weight,grade_type,date_of_grade,comment\n";
+
+    @Inject
+    private GradeImportService gradeImportService;
+
+    @Inject
+    private GradeService gradeService;
+
+    @Inject
+    private GradeRepo gRepo;
+
+    @Inject
+    private DbCleanUpService cleanUpService;
+
+    @AfterEach
+    private void cleanDbBetweenTests() {
+        cleanUpService.resetDatabase();
+    }
+
+    @Test
+    public void importShouldWriteGradesOfAllBatches() throws IOException {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        List<StudentEntity> students = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            students.add(saveTestStudent(cy));
+        }
+        //more rows than one batch holds, every row has its own student, day and grade type
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 2000; i++) {
+            csv.append(students.get(i % 10).getId()).append(',').append(sue.getId()).append(",4,2.00,D,")
+                    .append(LocalDate.parse("2015-01-01").plusDays(i / 10)).append(",\n");
+        }
+
+        //when
+        GradeImportEto result = gradeImportService.importGrades(csvOf(csv.toString()));
+
+        //then
+        Assertions.assertThat(result.getState()).isEqualTo(GradeImportState.COMPLETED);
+        Assertions.assertThat(result.getParsedCount()).isEqualTo(2000);
+        Assertions.assertThat(result.getWrittenCount()).isEqualTo(2000);
+        Assertions.assertThat(result.getRejectedCount()).isZero();
+        Assertions.assertThat(gRepo.count()).isEqualTo(2000);
+        Assertions.assertThat(gradeService.getWeightedAverage(students.get(3).getId(), sue.getId())).isEqualTo(4.0);
+        Assertions.assertThat(gradeImportService.findAllImports()).extracting(GradeImportEto::getImportId).contains(result.getImportId());
+    }
+
+    @Test
+    public void importShouldRejectInvalidRowsAndReportThem() throws IOException {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        GradeEto existing = new GradeEto();
+        existing.setStudentEntityId(ste.getId());
+        existing.setSubjectEntityId(sue.getId());
+        existing.setValue(3);
+        existing.setGradeType(GradeType.C);
+        existing.setDateOfGrade(LocalDate.parse("2022-12-12"));
+        gradeService.createNew(existing);
+        String csv = HEADER +
+                ste.getId() + "," + sue.getId() + ",6,1.00,D,2022-12-12,\"Best project, \"\"by far\"\"\nsecond line\"\n" +
+                ste.getId() + "," + sue.getId() + ",7,1.00,D,2022-12-13,\n" +
+                ste.getId() + "," + sue.getId() + ",1,1.00,D,2022-12-14,\n" +
+                "999," + sue.getId() + ",3,1.00,D,2022-12-15,\n" +
+                ste.getId() + ",999,3,1.00,D,2022-12-15,\n" +
+                ste.getId() + "," + sue.getId() + ",3,1.00,D,not-a-date,\n" +
+                ste.getId() + "," + sue.getId() + ",3,1.00,D,2022-12-12,\n" +
+                ste.getId() + "," + sue.getId() + ",3,1.00,C,2022-12-12,\n";
+
+        //when
+        GradeImportEto result = gradeImportService.importGrades(csvOf(csv));
+        ByteArrayOutputStream rejects = new ByteArrayOutputStream();
+        gradeImportService.writeRejects(result.getImportId(), rejects);
+
+        //then
+        Assertions.assertThat(result.getState()).isEqualTo(GradeImportState.COMPLETED);
+        Assertions.assertThat(result.getParsedCount()).isEqualTo(8);
+        Assertions.assertThat(result.getWrittenCount()).isEqualTo(1);
+        Assertions.assertThat(result.getRejectedCount()).isEqualTo(7);
+        Assertions.assertThat(gRepo.findAllGradeByStudentEntityIdAndSubjectEntityId(ste.getId(), sue.getId()))
+                .extracting(GradeEto::getComment)
+                .containsExactlyInAnyOrder(null, "Best project, \"by far\"\nsecond line");
+        Assertions.assertThat(rejects.toString(StandardCharsets.UTF_8))
+                .startsWith("line_number,reason,record\n")
+                .contains("4,\"Grade value must be between 1 and 6\"")
+                .contains("5,\"Comment field for this grade value can't be empty!\"")
+                .contains("6,\"Student with id: 999 could not be found\"")
+                .contains("7,\"Subject with id: 999 could not be found\"")
+                .contains("8,\"Invalid date_of_grade: not-a-date\"")
+                .contains("9,\"Grade of type: D has already been inserted today!\"")
+                .contains("10,\"Grade of type: C has already been inserted today!\"");
+    }
+
+    @Test
+    public void importShouldFailIfRequiredColumnIsMissing() throws IOException {
+
+        //when
+        GradeImportEto result = gradeImportService.importGrades(csvOf("student_id,value,date_of_grade\n1,3,2022-12-12\n"));
+
+        //then
+        Assertions.assertThat(result.getState()).isEqualTo(GradeImportState.FAILED);
+        Assertions.assertThat(result.getFailure()).contains("subject_id");
+        Assertions.assertThat(gRepo.count()).isZero();
+    }
+
+    @Test
+    public void findImportByIdShouldThrowExceptionIfImportIsUnknown() {
+
+        Assertions.assertThatThrownBy(() -> {
+
+                    //when
+                    gradeImportService.findImportById("unknown");
+
+                    //then
+                }).isInstanceOf(GradeImportNotFoundException.class)
+                .hasMessageContaining("Grade import with id: unknown could not be found");
+    }
+
+    private InputStream csvOf(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,13 +2,16 @@ package com.krzysztofapp.gradebook.service;
 
 import com.krzysztofapp.gradebook.DbCleanUpService;
 import com.krzysztofapp.gradebook.TestEntityCreator;
-import com.capgemini.gradebook.domain.*;
-import com.capgemini.gradebook.exceptions.*;
+import com.krzysztofapp.gradebook.domain.*;
+import com.krzysztofapp.gradebook.exceptions.*;
 import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentSubjectAggregateRepo;
 import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
 import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
 import com.krzysztofapp.gradebook.persistence.entity.GradeType;
 import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentSubjectAggregateId;
 import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
 import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import org.assertj.core.api.Assertions;
@@ -21,9 +24,18 @@ import javax.validation.ConstraintViolationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 
@@ -39,6 +51,12 @@ class GradeServiceTest extends TestEntityCreator {
     @Inject
     private GradeRepo gRepo;
 
+    @Inject
+    private StudentSubjectAggregateRepo aggregateRepo;
+
+    @Inject
+    private GradeAggregateService gradeAggregateService;
+
     @AfterEach
     private void cleanDbBetweenTests() {
         cleanUpService.resetDatabase();
@@ -218,6 +236,150 @@ class GradeServiceTest extends TestEntityCreator {
                 .hasMessageContaining("Grade weight To can't be lower than From");
     }
 
+    @Test
+    public void searchGradesByFilterShouldMatchListedStudentsAndGradeTypesInClassYear() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        TeacherEntity te1 = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        ClassYearEntity cy1 = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        SubjectEntity sue1 = saveTestSubject(cy1, te1);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        StudentEntity ste2 = saveTestStudent(cy);
+        createGrade(te, ste, sue, GradeType.F, 3, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.D, 4, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.C, 5, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste2, sue, GradeType.F, 2, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+        createGrade(te1, ste, sue1, GradeType.F, 4, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+
+        GradeFilterCriteria criteria = new GradeFilterCriteria();
+        criteria.setStudentEntityIds(List.of(ste.getId(), ste1.getId()));
+        criteria.setGradeTypes(List.of(GradeType.D, GradeType.F));
+        criteria.setClassYearId(cy.getId());
+
+        //when
+        List<GradeEto> result = gradeService.searchGradesByFilter(criteria);
+
+        //then
+        Assertions.assertThat(result).extracting(GradeEto::getStudentEntityId, GradeEto::getSubjectEntityId, GradeEto::getGradeType)
+                .containsExactly(Assertions.tuple(ste.getId(), sue.getId(), GradeType.F), Assertions.tuple(ste1.getId(), sue.getId(), GradeType.D));
+    }
+
+    @Test
+    public void searchGradesByFilterShouldSortByRequestedFieldAndLimitResults() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        TeacherEntity te1 = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        SubjectEntity sue1 = saveTestSubject(cy, te1);
+        StudentEntity ste = saveTestStudent(cy);
+        createGrade(te, ste, sue, GradeType.F, 3, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste, sue, GradeType.D, 5, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste, sue, GradeType.C, 4, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+        createGrade(te1, ste, sue1, GradeType.F, 5, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+
+        GradeFilterCriteria criteria = new GradeFilterCriteria();
+        criteria.setTeacherId(te.getId());
+        criteria.setSortBy(GradeSortField.VALUE);
+        criteria.setSortDescending(true);
+        criteria.setLimit(2);
+
+        //when
+        List<GradeEto> result = gradeService.searchGradesByFilter(criteria);
+
+        //then
+        Assertions.assertThat(result).extracting(GradeEto::getValue, GradeEto::getTeacherEntityId)
+                .containsExactly(Assertions.tuple(5, te.getId()), Assertions.tuple(4, te.getId()));
+    }
+
+    @Test
+    public void searchGradesByFilterShouldThrowExceptionIfInvalidValueRangeProvided() {
+        //given
+        GradeFilterCriteria criteria = new GradeFilterCriteria();
+        criteria.setValueFrom(5);
+        criteria.setValueTo(2);
+
+        Assertions.assertThatThrownBy(() -> {
+
+                    //when
+                    gradeService.searchGradesByFilter(criteria);
+
+                    //then
+                }).isInstanceOf(InvalidRangeProvidedException.class)
+                .hasMessageContaining("Grade value To can't be lower than From");
+    }
+
+    @Test
+    public void searchGradePageByCriteriaShouldWalkAllPagesInDateOrder() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        createGrade(te, ste, sue, GradeType.F, 2, LocalDate.parse("2022-12-13"), BigDecimal.valueOf(1.00));
+        createGrade(te, ste, sue, GradeType.E, 2, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(1.00));
+        createGrade(te, ste, sue, GradeType.D, 2, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(1.00));
+        createGrade(te, ste, sue, GradeType.C, 2, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(1.00));
+        createGrade(te, ste, sue, GradeType.B, 5, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(1.00));
+
+        GradeSearchCriteria criteria = new GradeSearchCriteria();
+        criteria.setValueTo(2);
+        criteria.setPageSize(3);
+
+        //when
+        GradePageEto firstPage = gradeService.searchGradePageByCriteria(criteria);
+        criteria.setContinuationToken(firstPage.getContinuationToken());
+        GradePageEto secondPage = gradeService.searchGradePageByCriteria(criteria);
+
+        //then
+        Assertions.assertThat(firstPage.getGrades()).extracting(GradeEto::getId).containsExactly(2L, 4L, 3L);
+        Assertions.assertThat(firstPage.getContinuationToken()).isNotNull();
+        Assertions.assertThat(secondPage.getGrades()).extracting(GradeEto::getId).containsExactly(1L);
+        Assertions.assertThat(secondPage.getContinuationToken()).isNull();
+    }
+
+    @Test
+    public void searchGradePageByCriteriaShouldThrowExceptionIfInvalidTokenProvided() {
+        //given
+        GradeSearchCriteria criteria = new GradeSearchCriteria();
+        criteria.setContinuationToken("not-a-token");
+
+        Assertions.assertThatThrownBy(() -> {
+
+                    //when
+                    gradeService.searchGradePageByCriteria(criteria);
+
+                    //then
+                }).isInstanceOf(InvalidContinuationTokenException.class)
+                .hasMessageContaining("Continuation token: not-a-token is not valid");
+    }
+
+    @Test
+    public void streamGradesByCriteriaShouldPassEveryMatchingGrade() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        createGrade(te, ste, sue, GradeType.F, 2, LocalDate.parse("2022-12-13"), BigDecimal.valueOf(1.00));
+        createGrade(te, ste, sue, GradeType.E, 4, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(1.00));
+        createGrade(te, ste, sue, GradeType.D, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(1.00));
+
+        GradeSearchCriteria criteria = new GradeSearchCriteria();
+        criteria.setValueTo(2);
+        List<GradeEto> result = new ArrayList<>();
+
+        //when
+        gradeService.streamGradesByCriteria(criteria, result::add);
+
+        //then
+        Assertions.assertThat(result).extracting(GradeEto::getId).containsExactly(3L, 1L);
+        Assertions.assertThat(result.get(0).getStudentEntityId()).isEqualTo(ste.getId());
+    }
+
     @Test
     public void getWeightedAverageShouldReturnCorrectRoundedToUpperValue() {
         //given
@@ -257,6 +419,198 @@ class GradeServiceTest extends TestEntityCreator {
 
 
 
+    @Test
+    public void getWeightedAverageShouldFollowGradeChangesMadeThroughService() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        SubjectEntity sue1 = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        createGrade(te, ste, sue, GradeType.F, 1, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(5.00));
+        GradeEto first = gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 5, BigDecimal.valueOf(4.00), GradeType.B));
+        GradeEto second = gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 3, BigDecimal.valueOf(2.00), GradeType.D));
+
+        Map<String, Object> info = new HashMap<>();
+        info.put("subjectEntityId", sue1.getId().intValue());
+
+        //when
+        Double beforeChanges = gradeService.getWeightedAverage(ste.getId(), sue.getId());
+        gradeService.partialUpdate(second.getId(), info);
+        gradeService.delete(first.getId());
+
+        //then
+        Assertions.assertThat(beforeChanges).isEqualTo(2.82);
+        Assertions.assertThat(gradeService.getWeightedAverage(ste.getId(), sue.getId())).isEqualTo(1.00);
+        Assertions.assertThat(gradeService.getWeightedAverage(ste.getId(), sue1.getId())).isEqualTo(3.00);
+        Assertions.assertThat(aggregateRepo.findAll()).extracting(StudentSubjectAggregateEntity::getGradeCount).containsExactlyInAnyOrder(1L, 1L);
+    }
+
+    @Test
+    public void getWeightedAverageShouldServeRepeatedReadsFromCacheUntilGradeChanges() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 2, BigDecimal.valueOf(5.00), GradeType.F));
+        CacheStatisticsEto before = gradeService.getWeightedAverageCacheStatistics();
+
+        //when
+        Double first = gradeService.getWeightedAverage(ste.getId(), sue.getId());
+        Double second = gradeService.getWeightedAverage(ste.getId(), sue.getId());
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 3, BigDecimal.valueOf(2.00), GradeType.D));
+        Double afterWrite = gradeService.getWeightedAverage(ste.getId(), sue.getId());
+        CacheStatisticsEto after = gradeService.getWeightedAverageCacheStatistics();
+
+        //then
+        Assertions.assertThat(first).isEqualTo(2.00);
+        Assertions.assertThat(second).isEqualTo(2.00);
+        Assertions.assertThat(afterWrite).isEqualTo(2.29);
+        Assertions.assertThat(after.getHitCount() - before.getHitCount()).isEqualTo(1L);
+        Assertions.assertThat(after.getMissCount() - before.getMissCount()).isEqualTo(2L);
+        Assertions.assertThat(after.getLoadCount() - before.getLoadCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void rebuildStudentSubjectAggregatesShouldRecalculateFromGrades() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 5, BigDecimal.valueOf(4.00), GradeType.B));
+        createGrade(te, ste, sue, GradeType.F, 1, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(5.00));
+        createGrade(te, ste1, sue, GradeType.D, 3, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(2.00));
+
+        //when
+        Long rebuilt = gradeAggregateService.rebuildStudentSubjectAggregates();
+
+        //then
+        Assertions.assertThat(rebuilt).isEqualTo(2L);
+        Assertions.assertThat(aggregateRepo.findById(new StudentSubjectAggregateId(ste.getId(), sue.getId())).get().getGradeCount()).isEqualTo(2L);
+        Assertions.assertThat(gradeService.getWeightedAverage(ste.getId(), sue.getId())).isEqualTo(2.78);
+        Assertions.assertThat(gradeService.getWeightedAverage(ste1.getId(), sue.getId())).isEqualTo(3.00);
+    }
+
+    @Test
+    public void rebuildStudentSubjectAggregatesShouldKeepGradesCreatedWhileItRuns() throws Exception {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        List<SubjectEntity> subjects = List.of(saveTestSubject(cy, te), saveTestSubject(cy, te));
+        List<StudentEntity> students = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            students.add(saveTestStudent(cy));
+        }
+        List<GradeEto> grades = new ArrayList<>();
+        for (GradeType gradeType : List.of(GradeType.B, GradeType.C, GradeType.D, GradeType.E, GradeType.F)) {
+            subjects.forEach(subject -> students.forEach(student ->
+                    grades.add(gradeEto(student.getId(), subject.getId(), 3, BigDecimal.valueOf(2.00), gradeType))));
+        }
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger pending = new AtomicInteger(grades.size());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        try {
+            Future<?> rebuilds = executor.submit(() -> {
+                while (pending.get() > 0) {
+                    gradeAggregateService.rebuildStudentSubjectAggregates();
+                }
+                return null;
+            });
+            List<Future<?>> creates = grades.stream()
+                    .map(grade -> executor.submit(() -> {
+                        try {
+                            gradeService.createNew(grade);
+                        } catch (RuntimeException e) {
+                            unexpected.add(e);
+                        } finally {
+                            pending.decrementAndGet();
+                        }
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> future : creates) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            rebuilds.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //then
+        Assertions.assertThat(unexpected).isEmpty();
+        List<StudentSubjectAggregateEntity> aggregates = aggregateRepo.findAll();
+        Assertions.assertThat(aggregates).hasSize(20);
+        aggregates.forEach(aggregate -> {
+            StudentSubjectAggregateEntity expected = aggregateRepo.calculateFromGrades(aggregate.getId().getStudentId(), aggregate.getId().getSubjectId());
+            Assertions.assertThat(aggregate.getGradeCount()).isEqualTo(5L);
+            Assertions.assertThat(aggregate.getWeightedSum()).isEqualByComparingTo(expected.getWeightedSum());
+            Assertions.assertThat(aggregate.getWeightSum()).isEqualByComparingTo(expected.getWeightSum());
+        });
+    }
+
+    @Test
+    public void findDailyGradeRollupShouldFollowGradeChangesMadeThroughService() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        GradeBulkResultEto bulkResult = gradeService.createNewForClass(createBulkEto(sue.getId(), bulkEntry(ste.getId(), 3, null), bulkEntry(ste1.getId(), 4, null)));
+        GradeEto single = gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 5, BigDecimal.valueOf(2.00), GradeType.B));
+
+        Map<String, Object> info = new HashMap<>();
+        info.put("dateOfGrade", "2022-12-13");
+        GradeStatisticsCriteria criteria = new GradeStatisticsCriteria();
+        criteria.setDateFrom(LocalDate.parse("2022-12-12"));
+        criteria.setDateTo(LocalDate.parse("2022-12-13"));
+
+        //when
+        gradeService.partialUpdate(bulkResult.getCreatedGrades().get(1).getId(), info);
+        gradeService.delete(single.getId());
+        List<GradeDayRollupEto> result = gradeService.findDailyGradeRollup(criteria);
+
+        //then
+        Assertions.assertThat(result).extracting(GradeDayRollupEto::getDateOfGrade, GradeDayRollupEto::getGradeType, GradeDayRollupEto::getClassYearId,
+                        GradeDayRollupEto::getGradeCount, GradeDayRollupEto::getStudentCount)
+                .containsExactly(
+                        Assertions.tuple(LocalDate.parse("2022-12-12"), GradeType.D, cy.getId(), 1L, 1L),
+                        Assertions.tuple(LocalDate.parse("2022-12-13"), GradeType.D, cy.getId(), 1L, 1L));
+    }
+
+    @Test
+    public void rebuildDailyGradeRollupShouldCountGradesAndDistinctStudents() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        SubjectEntity sue1 = saveTestSubject(cy, te);
+        createGrade(te, ste, sue, GradeType.F, 2, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste, sue1, GradeType.F, 3, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.F, 2, LocalDate.parse("2022-12-11"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.C, 4, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+
+        GradeStatisticsCriteria criteria = new GradeStatisticsCriteria();
+        criteria.setDateFrom(LocalDate.parse("2022-12-11"));
+        criteria.setDateTo(LocalDate.parse("2022-12-12"));
+        criteria.setGradeTypes(List.of(GradeType.F));
+
+        //when
+        Integer rebuilt = gradeAggregateService.rebuildDailyGradeRollup();
+        List<GradeDayRollupEto> result = gradeService.findDailyGradeRollup(criteria);
+
+        //then
+        Assertions.assertThat(rebuilt).isEqualTo(3);
+        Assertions.assertThat(result).extracting(GradeDayRollupEto::getSubjectId, GradeDayRollupEto::getGradeCount, GradeDayRollupEto::getStudentCount)
+                .containsExactlyInAnyOrder(Assertions.tuple(sue.getId(), 2L, 2L), Assertions.tuple(sue1.getId(), 1L, 1L));
+    }
+
     @Test
     public void createNewShouldReturnGradeWithMatchingFields() {
 
@@ -356,6 +710,86 @@ class GradeServiceTest extends TestEntityCreator {
                 .hasMessageContaining("Grade of type: " + GradeType.D + " has already been inserted today!");
     }
 
+    @Test
+    public void createAnotherGradeWithSameGradeTypeAtTheSameDayForAnotherStudentShouldSucceed() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        createGrade(te, ste, sue, GradeType.D, 3, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(4.00));
+
+        //when
+        GradeEto result = gradeService.createNew(gradeEto(ste1.getId(), sue.getId(), 3, BigDecimal.valueOf(4.00), GradeType.D));
+
+        //then
+        Assertions.assertThat(result.getId()).isNotNull();
+        Assertions.assertThat(gRepo.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void concurrentCreateNewShouldKeepOneGradePerStudentSubjectDayAndType() throws Exception {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        List<StudentEntity> students = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            students.add(saveTestStudent(cy));
+        }
+        List<GradeType> gradeTypes = List.of(GradeType.B, GradeType.C, GradeType.D, GradeType.E, GradeType.F);
+        List<GradeEto> attempts = new ArrayList<>();
+        for (int round = 0; round < 40; round++) {
+            students.forEach(student -> gradeTypes.forEach(gradeType ->
+                    attempts.add(gradeEto(student.getId(), sue.getId(), 3, BigDecimal.valueOf(2.00), gradeType))));
+        }
+        Collections.shuffle(attempts, new Random(42));
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        //when
+        try {
+            List<Future<?>> futures = attempts.stream()
+                    .map(attempt -> executor.submit(() -> {
+                        try {
+                            gradeService.createNew(attempt);
+                            created.incrementAndGet();
+                        } catch (GradeAlreadyCreatedTodayException e) {
+                            rejected.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            unexpected.add(e);
+                        }
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //then
+        GradeStatisticsCriteria criteria = new GradeStatisticsCriteria();
+        criteria.setDateFrom(LocalDate.parse("2022-12-12"));
+        criteria.setDateTo(LocalDate.parse("2022-12-12"));
+        criteria.setGradeTypes(gradeTypes);
+        Assertions.assertThat(unexpected).isEmpty();
+        Assertions.assertThat(created.get()).isEqualTo(50);
+        Assertions.assertThat(rejected.get()).isEqualTo(attempts.size() - 50);
+        Assertions.assertThat(gRepo.count()).isEqualTo(50);
+        Assertions.assertThat(aggregateRepo.findAll()).hasSize(10)
+                .extracting(StudentSubjectAggregateEntity::getGradeCount)
+                .containsOnly(5L);
+        Assertions.assertThat(gradeService.findDailyGradeRollup(criteria)).hasSize(5)
+                .extracting(GradeDayRollupEto::getGradeCount, GradeDayRollupEto::getStudentCount)
+                .containsOnly(Assertions.tuple(10L, 10L));
+    }
+
     @Test
     public void createNewGradeWithValueNotBetween1And6ShouldThrowException() {
         //given
@@ -532,6 +966,77 @@ class GradeServiceTest extends TestEntityCreator {
     }
 
 
+    @Test
+    public void createNewForClassShouldSaveAllValidEntries() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        GradeBulkEto bulkEto = createBulkEto(sue.getId(), bulkEntry(ste.getId(), 4, null), bulkEntry(ste1.getId(), 6, "Excellent"));
+
+        //when
+        GradeBulkResultEto result = gradeService.createNewForClass(bulkEto);
+
+        //then
+        Assertions.assertThat(result.getErrors()).isEmpty();
+        Assertions.assertThat(result.getCreatedGrades().size()).isEqualTo(2);
+        Assertions.assertThat(result.getCreatedGrades()).allMatch(grade -> grade.getTeacherEntityId().equals(te.getId()));
+        Assertions.assertThat(gRepo.findAll().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void createNewForClassShouldReportInvalidEntriesWithoutAbortingBatch() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        StudentEntity ste2 = saveTestStudent(cy);
+        createGrade(te, ste2, sue, GradeType.D, 3, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(1.00));
+        GradeBulkEto bulkEto = createBulkEto(sue.getId(),
+                bulkEntry(ste.getId(), 5, null),
+                bulkEntry(ste1.getId(), 1, null),
+                bulkEntry(ste2.getId(), 4, null),
+                bulkEntry(ste2.getId() + 1, 4, null),
+                bulkEntry(ste.getId(), 7, null));
+
+        //when
+        GradeBulkResultEto result = gradeService.createNewForClass(bulkEto);
+
+        //then
+        Assertions.assertThat(result.getCreatedGrades().size()).isEqualTo(1);
+        Assertions.assertThat(result.getCreatedGrades().get(0).getStudentEntityId()).isEqualTo(ste.getId());
+        Assertions.assertThat(result.getErrors()).extracting(GradeBulkErrorEto::getPosition).containsExactly(1, 2, 3, 4);
+        Assertions.assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Comment field for this grade value can't be empty!");
+        Assertions.assertThat(result.getErrors().get(1).getMessage()).isEqualTo("Grade of type: " + GradeType.D + " has already been inserted today!");
+        Assertions.assertThat(result.getErrors().get(2).getMessage()).isEqualTo("Student with id: " + (ste2.getId() + 1) + " could not be found");
+        Assertions.assertThat(result.getErrors().get(3).getMessage()).isEqualTo("Grade value must be between 1 and 6");
+        Assertions.assertThat(gRepo.findAll().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void createNewForClassShouldThrowExceptionWhenProvidedNotExistingSubjectID() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        GradeBulkEto bulkEto = createBulkEto(sue.getId() + 1, bulkEntry(ste.getId(), 4, null));
+
+        Assertions.assertThatThrownBy(() -> {
+                    //when
+                    gradeService.createNewForClass(bulkEto);
+                    //then
+                }).isInstanceOf(SubjectNotFoundException.class)
+                .hasMessageContaining("Subject with id: " + (sue.getId() + 1) + " could not be found");
+    }
+
     @Test
     public void partialUpdateShouldReturnStudentWithNewValues() {
         //given
@@ -557,6 +1062,52 @@ class GradeServiceTest extends TestEntityCreator {
         Assertions.assertThat(newStudentEntityId).isEqualTo(ste1.getId());
     }
 
+    @Test
+    public void partialUpdateShouldCoerceJsonValuesToPropertyTypes() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        GradeEntity ge = saveTestGrade(te, ste, sue);
+
+        Map<String, Object> info = new HashMap<>();
+        info.put("weight", 2.5);
+        info.put("gradeType", "B");
+        info.put("dateOfGrade", "2022-12-14");
+
+        //when
+        GradeEto gradeEto = gradeService.partialUpdate(ge.getId(), info);
+
+        //then
+        Assertions.assertThat(gradeEto.getWeight()).isEqualByComparingTo("2.5");
+        Assertions.assertThat(gradeEto.getGradeType()).isEqualTo(GradeType.B);
+        Assertions.assertThat(gradeEto.getDateOfGrade()).isEqualTo(LocalDate.parse("2022-12-14"));
+        Assertions.assertThat(gRepo.findById(ge.getId()).get().getGradeType()).isEqualTo(GradeType.B);
+    }
+
+    @Test
+    public void partialUpdateWithUnknownPropertyShouldThrowException() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        GradeEntity ge = saveTestGrade(te, ste, sue);
+
+        Map<String, Object> info = new HashMap<>();
+        info.put("grade", 3);
+
+        Assertions.assertThatThrownBy(() -> {
+
+                    //when
+                    gradeService.partialUpdate(ge.getId(), info);
+
+                    //then
+                }).isInstanceOf(InvalidPatchException.class)
+                .hasMessageContaining("Property: grade does not exist");
+    }
+
     @Test
     public void partialUpdateWithNotExistingStudentShouldThrowException() {
 
@@ -648,6 +1199,35 @@ class GradeServiceTest extends TestEntityCreator {
     }
 
 
+    private GradeEto gradeEto(Long studentId, Long subjectId, Integer value, BigDecimal weight, GradeType gradeType) {
+        GradeEto gradeEto = new GradeEto();
+        gradeEto.setStudentEntityId(studentId);
+        gradeEto.setSubjectEntityId(subjectId);
+        gradeEto.setValue(value);
+        gradeEto.setWeight(weight);
+        gradeEto.setGradeType(gradeType);
+        gradeEto.setDateOfGrade(LocalDate.parse("2022-12-12"));
+        return gradeEto;
+    }
+
+    private GradeBulkEto createBulkEto(Long subjectId, GradeBulkEntryEto... entries) {
+        GradeBulkEto bulkEto = new GradeBulkEto();
+        bulkEto.setSubjectEntityId(subjectId);
+        bulkEto.setGradeType(GradeType.D);
+        bulkEto.setDateOfGrade(LocalDate.parse("2022-12-12"));
+        bulkEto.setWeight(BigDecimal.valueOf(2.00));
+        bulkEto.setEntries(Arrays.asList(entries));
+        return bulkEto;
+    }
+
+    private GradeBulkEntryEto bulkEntry(Long studentId, Integer value, String comment) {
+        GradeBulkEntryEto entry = new GradeBulkEntryEto();
+        entry.setStudentEntityId(studentId);
+        entry.setValue(value);
+        entry.setComment(comment);
+        return entry;
+    }
+
     private void createGrade(TeacherEntity te, StudentEntity ste, SubjectEntity sue, GradeType gt, Integer val, LocalDate date, BigDecimal wg) {
         GradeEntity grade = new GradeEntity();
         grade.setSubjectEntity(sue);
@@ -0,0 +1,183 @@
+package com.krzysztofapp.gradebook.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.krzysztofapp.gradebook.DbCleanUpService;
+import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.NotificationStatisticsEto;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import com.krzysztofapp.gradebook.persistence.repo.StudentRepo;
+import com.krzysztofapp.gradebook.service.notification.ParentNotifier;
+import com.krzysztofapp.gradebook.service.outbox.GradeOutboxDispatcher;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.inject.Inject;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@SpringBootTest
+class NotificationServiceTest extends TestEntityCreator {
+
+    private static final GreenMail GREEN_MAIL = new GreenMail(ServerSetupTest.SMTP);
+
+    @Inject
+    private NotificationService notificationService;
+
+    @Inject
+    private GradeService gradeService;
+
+    @Inject
+    private GradeOutboxDispatcher dispatcher;
+
+    @Inject
+    private ParentNotifier parentNotifier;
+
+    @Inject
+    private StudentRepo stRepo;
+
+    @Inject
+    private DbCleanUpService cleanUpService;
+
+    @BeforeAll
+    static void startMailServer() {
+        GREEN_MAIL.start();
+    }
+
+    @AfterAll
+    static void stopMailServer() {
+        GREEN_MAIL.stop();
+    }
+
+    @AfterEach
+    private void cleanDbBetweenTests() throws Exception {
+        parentNotifier.flushAll();
+        cleanUpService.resetDatabase();
+        GREEN_MAIL.purgeEmailFromAllMailboxes();
+    }
+
+    @Test
+    public void onesAndSixesShouldBeSentAsOneDigestPerStudent() throws MessagingException {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudentWithParent(cy, "parent@example.com");
+        StudentEntity ste1 = saveTestStudentWithParent(cy, "parent1@example.com");
+        //value 1 and 6 need a comment
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 6, GradeType.D, "Excellent project"));
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 1, GradeType.C, "Missing homework"));
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 3, GradeType.B, "Average test"));
+        gradeService.createNew(gradeEto(ste1.getId(), sue.getId(), 6, GradeType.D, "Best in class"));
+
+        //when
+        dispatcher.dispatchPending();
+        int sent = parentNotifier.flushAll();
+
+        //then
+        Map<String, MimeMessage> messages = receivedMessagesByRecipient();
+        Assertions.assertThat(sent).isEqualTo(2);
+        Assertions.assertThat(messages).containsOnlyKeys("parent@example.com", "parent1@example.com");
+        Assertions.assertThat(GreenMailUtil.getBody(messages.get("parent@example.com")))
+                .contains("Excellent project", "Missing homework")
+                .doesNotContain("Average test");
+        Assertions.assertThat(messages.get("parent1@example.com").getSubject()).isEqualTo("Grades of Kamil Komar");
+    }
+
+    @Test
+    public void studentWithoutParentEmailShouldNotBeNotified() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        //value 6 needs a comment
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 6, GradeType.D, "Excellent project"));
+
+        //when
+        dispatcher.dispatchPending();
+        int sent = parentNotifier.flushAll();
+
+        //then
+        Assertions.assertThat(sent).isZero();
+        Assertions.assertThat(GREEN_MAIL.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    public void statisticsShouldCountAcceptedAndSentDigests() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudentWithParent(cy, "parent@example.com");
+        NotificationStatisticsEto before = notificationService.getStatistics();
+        //value 1 and 6 need a comment
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 6, GradeType.D, "Excellent project"));
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), 1, GradeType.C, "Missing homework"));
+        dispatcher.dispatchPending();
+
+        //when
+        NotificationStatisticsEto open = notificationService.getStatistics();
+        parentNotifier.flushAll();
+        NotificationStatisticsEto flushed = notificationService.getStatistics();
+
+        //then
+        Assertions.assertThat(open.getAcceptedCount() - before.getAcceptedCount()).isEqualTo(2);
+        Assertions.assertThat(open.getQueuedCount() + open.getOpenDigestCount()).isPositive();
+        Assertions.assertThat(flushed.getSentDigestCount() - before.getSentDigestCount()).isEqualTo(1);
+        Assertions.assertThat(flushed.getQueuedCount()).isZero();
+        Assertions.assertThat(flushed.getOpenDigestCount()).isZero();
+        Assertions.assertThat(flushed.getRejectedCount()).isEqualTo(before.getRejectedCount());
+    }
+
+    private StudentEntity saveTestStudentWithParent(ClassYearEntity classYear, String parentEmail) {
+        StudentEntity student = saveTestStudent(classYear);
+        student.setParentEmail(parentEmail);
+        return stRepo.save(student);
+    }
+
+    private Map<String, MimeMessage> receivedMessagesByRecipient() {
+        return Arrays.stream(GREEN_MAIL.getReceivedMessages())
+                .collect(Collectors.toMap(this::recipientOf, Function.identity()));
+    }
+
+    private String recipientOf(MimeMessage message) {
+        try {
+            return message.getRecipients(Message.RecipientType.TO)[0].toString();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private GradeEto gradeEto(Long studentId, Long subjectId, Integer value, GradeType gradeType, String comment) {
+        GradeEto gradeEto = new GradeEto();
+        gradeEto.setStudentEntityId(studentId);
+        gradeEto.setSubjectEntityId(subjectId);
+        gradeEto.setValue(value);
+        gradeEto.setWeight(BigDecimal.valueOf(2.00));
+        gradeEto.setGradeType(gradeType);
+        gradeEto.setComment(comment);
+        gradeEto.setDateOfGrade(LocalDate.parse("2022-12-12"));
+        return gradeEto;
+    }
+}
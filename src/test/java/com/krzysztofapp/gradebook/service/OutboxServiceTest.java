@@ -0,0 +1,303 @@
+package com.krzysztofapp.gradebook.service;
+
+import com.krzysztofapp.gradebook.DbCleanUpService;
+import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.domain.GradeEto;
+import com.krzysztofapp.gradebook.domain.OutboxStatisticsEto;
+import com.krzysztofapp.gradebook.exceptions.InvalidRangeProvidedException;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeChangeType;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import com.krzysztofapp.gradebook.persistence.entity.OutboxEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import com.krzysztofapp.gradebook.persistence.repo.OutboxRepo;
+import com.krzysztofapp.gradebook.service.outbox.GradeChangeEvent;
+import com.krzysztofapp.gradebook.service.outbox.GradeChangeListener;
+import com.krzysztofapp.gradebook.service.outbox.GradeOutboxDispatcher;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.inject.Inject;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+@SpringBootTest
+class OutboxServiceTest extends TestEntityCreator {
+
+    @Inject
+    private OutboxService outboxService;
+
+    @Inject
+    private GradeService gradeService;
+
+    @Inject
+    private GradeOutboxDispatcher dispatcher;
+
+    @Inject
+    private OutboxRepo outboxRepo;
+
+    @Inject
+    private RecordingGradeChangeListener listener;
+
+    @Inject
+    private DbCleanUpService cleanUpService;
+
+    @AfterEach
+    private void cleanDbBetweenTests() {
+        cleanUpService.resetDatabase();
+        //Dev Note: waits for a run woken up by the test's commits, it may still deliver rows read before the reset
+        dispatcher.dispatchPending();
+        listener.reset();
+    }
+
+    @Test
+    public void gradeChangesShouldBeDeliveredInCommitOrder() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        GradeEto grade = gradeService.createNew(gradeEto(ste.getId(), sue.getId(), GradeType.D));
+        gradeService.partialUpdate(grade.getId(), Map.of("value", 4));
+        gradeService.delete(grade.getId());
+
+        //when
+        dispatcher.dispatchPending();
+
+        //then
+        Assertions.assertThat(listener.eventsOf(ste.getId()))
+                .extracting(GradeChangeEvent::getGradeId, GradeChangeEvent::getSubjectId, GradeChangeEvent::getChangeType)
+                .containsExactly(Assertions.tuple(grade.getId(), sue.getId(), GradeChangeType.CREATED),
+                        Assertions.tuple(grade.getId(), sue.getId(), GradeChangeType.UPDATED),
+                        Assertions.tuple(grade.getId(), sue.getId(), GradeChangeType.DELETED));
+        Assertions.assertThat(outboxRepo.countByDispatchedAtIsNull()).isZero();
+    }
+
+    @Test
+    public void movingGradeToAnotherStudentShouldNotifyBothStudents() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        GradeEto grade = gradeService.createNew(gradeEto(ste.getId(), sue.getId(), GradeType.D));
+
+        //when
+        gradeService.partialUpdate(grade.getId(), Map.of("studentEntityId", ste1.getId()));
+        dispatcher.dispatchPending();
+
+        //then
+        Assertions.assertThat(listener.eventsOf(ste.getId())).extracting(GradeChangeEvent::getChangeType)
+                .containsExactly(GradeChangeType.CREATED, GradeChangeType.UPDATED);
+        Assertions.assertThat(listener.eventsOf(ste1.getId())).extracting(GradeChangeEvent::getChangeType)
+                .containsExactly(GradeChangeType.UPDATED);
+    }
+
+    @Test
+    public void failingEventShouldHoldBackLaterEventsOfSameStudentOnly() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        listener.failForStudent(ste.getId());
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), GradeType.D));
+        gradeService.createNew(gradeEto(ste.getId(), sue.getId(), GradeType.C));
+        GradeEto otherGrade = gradeService.createNew(gradeEto(ste1.getId(), sue.getId(), GradeType.D));
+
+        //when
+        dispatcher.dispatchPending();
+        OutboxStatisticsEto statistics = outboxService.getStatistics();
+
+        //then
+        Assertions.assertThat(listener.eventsOf(ste.getId())).isEmpty();
+        Assertions.assertThat(listener.eventsOf(ste1.getId())).extracting(GradeChangeEvent::getGradeId)
+                .containsExactly(otherGrade.getId());
+        Assertions.assertThat(statistics.getPendingCount()).isEqualTo(2);
+        Assertions.assertThat(statistics.getFailedCount()).isPositive();
+        Assertions.assertThat(statistics.getOldestPendingAgeMillis()).isNotNull();
+    }
+
+    @Test
+    public void studentHeldBackForMoreThanOneBatchShouldNotHoldBackOtherStudents() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        listener.failForStudent(ste.getId());
+        List<OutboxEntity> heldBack = new ArrayList<>();
+        for (long gradeId = 1; gradeId <= 150; gradeId++) {
+            heldBack.add(outboxEntity(gradeId, ste.getId(), sue.getId()));
+        }
+        outboxRepo.saveAll(heldBack);
+        GradeEto otherGrade = gradeService.createNew(gradeEto(ste1.getId(), sue.getId(), GradeType.D));
+
+        //when
+        dispatcher.dispatchPending();
+
+        //then
+        Assertions.assertThat(listener.eventsOf(ste.getId())).isEmpty();
+        Assertions.assertThat(listener.eventsOf(ste1.getId())).extracting(GradeChangeEvent::getGradeId)
+                .containsExactly(otherGrade.getId());
+        Assertions.assertThat(outboxRepo.countByDispatchedAtIsNull()).isEqualTo(150);
+    }
+
+    @Test
+    public void eventFailingTooOftenShouldBeGivenUpAndReleaseLaterEvents() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        SubjectEntity sue1 = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        long deadLetteredBefore = dispatcher.getDeadLetteredCount();
+        listener.failForSubject(sue.getId());
+        GradeEto poisonedGrade = gradeService.createNew(gradeEto(ste.getId(), sue.getId(), GradeType.D));
+        GradeEto nextGrade = gradeService.createNew(gradeEto(ste.getId(), sue1.getId(), GradeType.D));
+
+        //when
+        for (int run = 0; run < 10 && dispatcher.getDeadLetteredCount() == deadLetteredBefore; run++) {
+            dispatcher.dispatchPending();
+        }
+        dispatcher.dispatchPending();
+
+        //then
+        Assertions.assertThat(dispatcher.getDeadLetteredCount()).isEqualTo(deadLetteredBefore + 1);
+        Assertions.assertThat(listener.eventsOf(ste.getId())).extracting(GradeChangeEvent::getGradeId)
+                .containsExactly(nextGrade.getId());
+        Assertions.assertThat(outboxRepo.findAll())
+                .filteredOn(outbox -> outbox.getGradeId().equals(poisonedGrade.getId()))
+                .hasSize(1)
+                .allSatisfy(outbox -> {
+                    Assertions.assertThat(outbox.getDispatchedAt()).isNotNull();
+                    Assertions.assertThat(outbox.getLastError()).contains("Listener failed");
+                });
+    }
+
+    @Test
+    public void replayShouldDeliverDispatchedEventsOfStudentAgain() {
+
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        GradeEto grade = gradeService.createNew(gradeEto(ste.getId(), sue.getId(), GradeType.D));
+        gradeService.createNew(gradeEto(ste1.getId(), sue.getId(), GradeType.D));
+        dispatcher.dispatchPending();
+        Long firstOutboxId = listener.eventsOf(ste.getId()).get(0).getOutboxId();
+        listener.reset();
+
+        //when
+        Integer replayed = outboxService.replay(firstOutboxId, ste.getId());
+        dispatcher.dispatchPending();
+
+        //then
+        Assertions.assertThat(replayed).isEqualTo(1);
+        Assertions.assertThat(listener.eventsOf(ste.getId())).extracting(GradeChangeEvent::getGradeId)
+                .containsExactly(grade.getId());
+        Assertions.assertThat(listener.eventsOf(ste1.getId())).isEmpty();
+    }
+
+    @Test
+    public void replayShouldThrowExceptionIfStartIsMissing() {
+
+        Assertions.assertThatThrownBy(() -> {
+
+                    //when
+                    outboxService.replay(null, null);
+
+                    //then
+                }).isInstanceOf(InvalidRangeProvidedException.class)
+                .hasMessageContaining("Outbox id to replay from is required");
+    }
+
+    private GradeEto gradeEto(Long studentId, Long subjectId, GradeType gradeType) {
+        GradeEto gradeEto = new GradeEto();
+        gradeEto.setStudentEntityId(studentId);
+        gradeEto.setSubjectEntityId(subjectId);
+        gradeEto.setValue(3);
+        gradeEto.setWeight(BigDecimal.valueOf(2.00));
+        gradeEto.setGradeType(gradeType);
+        gradeEto.setDateOfGrade(LocalDate.parse("2022-12-12"));
+        return gradeEto;
+    }
+
+    private OutboxEntity outboxEntity(Long gradeId, Long studentId, Long subjectId) {
+        OutboxEntity outbox = new OutboxEntity();
+        outbox.setGradeId(gradeId);
+        outbox.setStudentId(studentId);
+        outbox.setSubjectId(subjectId);
+        outbox.setChangeType(GradeChangeType.CREATED);
+        outbox.setCreatedAt(LocalDateTime.now());
+        return outbox;
+    }
+
+    @TestConfiguration
+    static class RecordingListenerConfiguration {
+
+        @Bean
+        RecordingGradeChangeListener recordingGradeChangeListener() {
+            return new RecordingGradeChangeListener();
+        }
+    }
+
+    static class RecordingGradeChangeListener implements GradeChangeListener {
+
+        private final List<GradeChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        private final Set<Long> failingStudentIds = ConcurrentHashMap.newKeySet();
+
+        private final Set<Long> failingSubjectIds = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void onGradeChange(GradeChangeEvent event) {
+            if (failingStudentIds.contains(event.getStudentId()) || failingSubjectIds.contains(event.getSubjectId())) {
+                throw new IllegalStateException("Listener failed for grade " + event.getGradeId());
+            }
+            events.add(event);
+        }
+
+        void failForStudent(Long studentId) {
+            failingStudentIds.add(studentId);
+        }
+
+        void failForSubject(Long subjectId) {
+            failingSubjectIds.add(subjectId);
+        }
+
+        List<GradeChangeEvent> eventsOf(Long studentId) {
+            return events.stream().filter(event -> event.getStudentId().equals(studentId)).collect(Collectors.toList());
+        }
+
+        void reset() {
+            events.clear();
+            failingStudentIds.clear();
+            failingSubjectIds.clear();
+        }
+    }
+}
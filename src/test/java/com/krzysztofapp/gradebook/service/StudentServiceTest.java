@@ -2,8 +2,9 @@ package com.krzysztofapp.gradebook.service;
 
 import com.krzysztofapp.gradebook.DbCleanUpService;
 import com.krzysztofapp.gradebook.TestEntityCreator;
-import com.capgemini.gradebook.domain.*;
+import com.krzysztofapp.gradebook.domain.*;
 import com.krzysztofapp.gradebook.exceptions.ClassYearNotFoundException;
+import com.krzysztofapp.gradebook.exceptions.InvalidRangeProvidedException;
 import com.krzysztofapp.gradebook.exceptions.StudentNotFoundException;
 import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
 import com.krzysztofapp.gradebook.persistence.repo.StudentRepo;
@@ -43,6 +44,12 @@ class StudentServiceTest extends TestEntityCreator {
     @Inject
     private GradeRepo gRepo;
 
+    @Inject
+    private GradeAggregateService gradeAggregateService;
+
+    @Inject
+    private GradeService gradeService;
+
     @AfterEach
     private void cleanDbBetweenTests() {
         cleanUpService.resetDatabase();
@@ -89,6 +96,7 @@ class StudentServiceTest extends TestEntityCreator {
         createGrade(te, ste, sue, GradeType.F, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(3.00));
         createGrade(te, ste1, sue, GradeType.F, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
         createGrade(te, ste1, sue, GradeType.C, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+        gradeAggregateService.rebuildDailyGradeRollup();
         //when
         List<StudentEto> result = studentService.findAllStudentsWithGradeFAtCertainDay(LocalDate.parse("2022-12-12"));
 
@@ -107,6 +115,7 @@ class StudentServiceTest extends TestEntityCreator {
         StudentEntity ste = saveTestStudent(cy);
         SubjectEntity sue = saveTestSubject(cy,te);
         createGrade(te, ste, sue, GradeType.F, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(3.00));
+        gradeAggregateService.rebuildDailyGradeRollup();
         //when
         List<StudentEto> result = studentService.findAllStudentsWithGradeFAtCertainDay(LocalDate.parse("2022-11-12"));
         //then
@@ -153,6 +162,68 @@ class StudentServiceTest extends TestEntityCreator {
         Assertions.assertThat(count).isEqualTo(0);
     }
 
+    @Test
+    public void getNumberOfStudentsShouldCountStudentWithTwoMatchingGradesOnce() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        StudentEntity ste = saveTestStudent(cy);
+        SubjectEntity sue = saveTestSubject(cy,te);
+        SubjectEntity sue1 = saveTestSubject(cy,te);
+        createGrade(te, ste, sue, GradeType.F, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(3.00));
+        createGrade(te, ste, sue1, GradeType.F, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+        GradeContext context = new GradeContext();
+        context.setGradeType(GradeType.F);
+        context.setDateOfGrade(LocalDate.parse("2022-12-12"));
+        //when
+        Integer count = studentService.getNumberOfStudents(context);
+        //then
+        Assertions.assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    public void countStudentsWithGradesShouldReturnDistinctCountsPerDayAndGradeType() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        SubjectEntity sue = saveTestSubject(cy,te);
+        SubjectEntity sue1 = saveTestSubject(cy,te);
+        createGrade(te, ste, sue, GradeType.F, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(3.00));
+        createGrade(te, ste, sue1, GradeType.F, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.F, 1, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.C, 4, LocalDate.parse("2022-12-13"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.D, 4, LocalDate.parse("2022-12-13"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.F, 1, LocalDate.parse("2022-12-20"), BigDecimal.valueOf(2.00));
+        GradeStatisticsCriteria criteria = new GradeStatisticsCriteria();
+        criteria.setDateFrom(LocalDate.parse("2022-12-12"));
+        criteria.setDateTo(LocalDate.parse("2022-12-13"));
+        criteria.setGradeTypes(List.of(GradeType.F, GradeType.C));
+        //when
+        List<GradeDayCountEto> result = studentService.countStudentsWithGrades(criteria);
+        //then
+        Assertions.assertThat(result).extracting(GradeDayCountEto::getDateOfGrade, GradeDayCountEto::getGradeType, GradeDayCountEto::getStudentCount)
+                .containsExactly(
+                        Assertions.tuple(LocalDate.parse("2022-12-12"), GradeType.F, 2L),
+                        Assertions.tuple(LocalDate.parse("2022-12-13"), GradeType.C, 1L));
+    }
+
+    @Test
+    public void countStudentsWithGradesShouldThrowExceptionIfRangeIsInvalid() {
+        //given
+        GradeStatisticsCriteria criteria = new GradeStatisticsCriteria();
+        criteria.setDateFrom(LocalDate.parse("2022-12-13"));
+        criteria.setDateTo(LocalDate.parse("2022-12-12"));
+
+        Assertions.assertThatThrownBy(() -> {
+                    //when
+                    studentService.countStudentsWithGrades(criteria);
+                    //then
+                }).isInstanceOf(InvalidRangeProvidedException.class)
+                .hasMessageContaining("Grade date To can't be before From");
+    }
+
     @Test
     public void createNewShouldReturnStudentWithMatchingFields() {
         //given
@@ -189,6 +260,24 @@ class StudentServiceTest extends TestEntityCreator {
     }
 
 
+    @Test
+    public void createNewShouldThrowExceptionWhenParentEmailIsInvalid() {
+        //given
+        ClassYearEntity cye = saveTestClassYear();
+        StudentEto studentEto = new StudentEto();
+        studentEto.setClassYearEntityId(cye.getId());
+        studentEto.setFirstName("Kamil");
+        studentEto.setLastName("Slimak");
+        studentEto.setParentEmail("not an email");
+
+        Assertions.assertThatThrownBy(() -> {
+            //when
+            studentService.createNew(studentEto);
+            //then
+        }).isInstanceOf(ConstraintViolationException.class);
+    }
+
+
     @Test
     public void createNewShouldThrowExceptionWhenClassYearIdNotProvided() {
         //given
@@ -290,6 +379,33 @@ class StudentServiceTest extends TestEntityCreator {
 
     }
 
+    @Test
+    public void deleteStudentShouldTakeItsGradesOutOfDailyGradeRollup() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        StudentEntity ste = saveTestStudent(cy);
+        StudentEntity ste1 = saveTestStudent(cy);
+        SubjectEntity sue = saveTestSubject(cy,te);
+        SubjectEntity sue1 = saveTestSubject(cy,te);
+        createGrade(te, ste, sue, GradeType.F, 2, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue, GradeType.F, 3, LocalDate.parse("2022-12-12"), BigDecimal.valueOf(2.00));
+        createGrade(te, ste1, sue1, GradeType.C, 4, LocalDate.parse("2022-12-13"), BigDecimal.valueOf(2.00));
+        gradeAggregateService.rebuildDailyGradeRollup();
+        GradeStatisticsCriteria criteria = new GradeStatisticsCriteria();
+        criteria.setDateFrom(LocalDate.parse("2022-12-12"));
+        criteria.setDateTo(LocalDate.parse("2022-12-13"));
+
+        //when
+        studentService.delete(ste1.getId());
+        List<GradeDayRollupEto> result = gradeService.findDailyGradeRollup(criteria);
+
+        //then
+        Assertions.assertThat(result).extracting(GradeDayRollupEto::getSubjectId, GradeDayRollupEto::getGradeType,
+                        GradeDayRollupEto::getGradeCount, GradeDayRollupEto::getStudentCount)
+                .containsExactly(Assertions.tuple(sue.getId(), GradeType.F, 1L, 1L));
+    }
+
 
     private void createGrade(TeacherEntity te, StudentEntity ste, SubjectEntity sue, GradeType gt, Integer val, LocalDate date, BigDecimal wg) {
         GradeEntity grade = new GradeEntity();
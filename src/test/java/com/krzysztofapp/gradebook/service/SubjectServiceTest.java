@@ -2,23 +2,30 @@ package com.krzysztofapp.gradebook.service;
 
 import com.krzysztofapp.gradebook.DbCleanUpService;
 import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.domain.CacheRegionEto;
 import com.krzysztofapp.gradebook.domain.SubjectEto;
 import com.krzysztofapp.gradebook.exceptions.ClassYearNotFoundException;
 import com.krzysztofapp.gradebook.exceptions.SubjectNotFoundException;
 import com.krzysztofapp.gradebook.exceptions.TeacherNotFoundException;
+import com.krzysztofapp.gradebook.persistence.cache.CacheRegions;
 import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
 import com.krzysztofapp.gradebook.persistence.repo.SubjectRepo;
+import com.krzysztofapp.gradebook.persistence.repo.TeacherRepo;
 import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
 import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
 import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
 import com.krzysztofapp.gradebook.persistence.entity.SubjectType;
 import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
 import javax.validation.ConstraintViolationException;
 
 import java.util.List;
@@ -39,6 +46,18 @@ class SubjectServiceTest extends TestEntityCreator {
     @Inject
     private GradeRepo gRepo;
 
+    @Inject
+    private CacheService cacheService;
+
+    @Inject
+    private EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    private TeacherRepo tRepo;
+
+    @Inject
+    private TransactionTemplate transactionTemplate;
+
     @AfterEach
     private void cleanDbBetweenTests() {
         cleanUpService.resetDatabase();
@@ -193,6 +212,71 @@ class SubjectServiceTest extends TestEntityCreator {
         Assertions.assertThat(updatedSubject.getTeacherEntityId()).isEqualTo(newID);
     }
 
+    @Test
+    public void teacherSubjectListsShouldFollowSubjectMovedToOtherTeacher() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        TeacherEntity te1 = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        countSubjectsOf(te.getId());
+        countSubjectsOf(te1.getId());
+
+        //when
+        subjectService.updateSubjectTeacher(sue.getId(), te1.getId());
+
+        //then
+        Assertions.assertThat(countSubjectsOf(te.getId())).isEqualTo(0);
+        Assertions.assertThat(countSubjectsOf(te1.getId())).isEqualTo(1);
+    }
+
+    @Test
+    public void findAllByTeacherShouldBeServedFromCacheUntilSubjectIsAdded() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        saveTestSubject(cy, te);
+        suRepo.findAllByTeacherEntityId(te.getId());
+        SubjectEto subjectEto = new SubjectEto();
+        subjectEto.setTeacherEntityId(te.getId());
+        subjectEto.setClassYearEntityId(cy.getId());
+        subjectEto.setSubjectType(SubjectType.CHEMISTRY);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        List<SubjectEntity> cached = suRepo.findAllByTeacherEntityId(te.getId());
+        long statementsWhenCached = statistics.getPrepareStatementCount();
+        subjectService.createNew(subjectEto);
+        List<SubjectEntity> afterWrite = suRepo.findAllByTeacherEntityId(te.getId());
+
+        //then
+        Assertions.assertThat(statementsWhenCached).isEqualTo(0);
+        Assertions.assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        Assertions.assertThat(cached).hasSize(1);
+        Assertions.assertThat(afterWrite).hasSize(2);
+    }
+
+    @Test
+    public void getSecondLevelCacheRegionsShouldExposeSettingsOfEveryRegion() {
+        //given
+        TeacherEntity te = saveTestTeacher();
+        ClassYearEntity cy = saveTestClassYear();
+        SubjectEntity sue = saveTestSubject(cy, te);
+        subjectService.findSubjectById(sue.getId());
+
+        //when
+        List<CacheRegionEto> regions = cacheService.getSecondLevelCacheRegions();
+
+        //then
+        Assertions.assertThat(regions).extracting(CacheRegionEto::getRegionName).contains(CacheRegions.TEACHER, CacheRegions.SUBJECT,
+                CacheRegions.CLASS_YEAR, CacheRegions.SUBJECTS_BY_TEACHER, CacheRegions.UPDATE_TIMESTAMPS);
+        CacheRegionEto subjectRegion = regions.stream().filter(region -> region.getRegionName().equals(CacheRegions.SUBJECT)).findFirst().get();
+        Assertions.assertThat(subjectRegion.getMaximumSize()).isEqualTo(10000L);
+        Assertions.assertThat(subjectRegion.getExpireAfterWriteSeconds()).isEqualTo(3600L);
+        Assertions.assertThat(subjectRegion.getHitCount()).isGreaterThanOrEqualTo(1L);
+    }
+
     @Test
     public void updateSubjectTeacherShouldThrowExceptionWhenProvideNotExistingTeacherID() {
         //given
@@ -259,5 +343,7 @@ class SubjectServiceTest extends TestEntityCreator {
 
     }
 
-
+    private int countSubjectsOf(Long teacherId) {
+        return transactionTemplate.execute(status -> tRepo.findById(teacherId).get().getSubjectList().size());
     }
+}
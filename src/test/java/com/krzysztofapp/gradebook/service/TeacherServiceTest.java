@@ -6,13 +6,14 @@ import java.util.Map;
 import java.util.Optional;
 
 import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
 import javax.validation.ConstraintViolationException;
 
 import com.krzysztofapp.gradebook.DbCleanUpService;
 import com.krzysztofapp.gradebook.TestEntityCreator;
 import com.krzysztofapp.gradebook.exceptions.TeacherNotFoundException;
 import com.krzysztofapp.gradebook.exceptions.TeacherStillInUseException;
-import com.capgemini.gradebook.persistence.repo.*;
+import com.krzysztofapp.gradebook.persistence.repo.*;
 import com.krzysztofapp.gradebook.domain.TeacherEto;
 import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
 import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
@@ -20,6 +21,8 @@ import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
 import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
 import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -43,6 +46,9 @@ class TeacherServiceTest extends TestEntityCreator {
   @Inject
   private DbCleanUpService testDbService;
 
+  @Inject
+  private EntityManagerFactory entityManagerFactory;
+
 
   @AfterEach
   private void cleanDbBetweenTests() {
@@ -253,6 +259,36 @@ class TeacherServiceTest extends TestEntityCreator {
     Assertions.assertThat(newId).isEqualTo(te2.getId());
   }
 
+  @Test
+  public void deleteTeacherWithNewIdShouldReassignWithConstantNumberOfStatements() {
+    //Given
+    TeacherEntity te = saveTestTeacher();
+    TeacherEntity te2 = saveTestTeacher();
+    TeacherEntity te3 = saveTestTeacher();
+    ClassYearEntity cy = saveTestClassYear();
+    SubjectEntity sue = saveTestSubject(cy, te);
+    SubjectEntity sue1 = saveTestSubject(cy, te);
+    SubjectEntity otherSue = saveTestSubject(cy, te3);
+    StudentEntity ste = saveTestStudent(cy);
+    for (int i = 0; i < 10; i++) {
+      saveTestGrade(te, ste, i % 2 == 0 ? sue : sue1);
+    }
+    GradeEntity otherGe = saveTestGrade(te3, ste, otherSue);
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    //when
+    teacherService.delete(te.getId(), Optional.of(te2.getId()));
+
+    //then - the new teacher comes from the second-level cache
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    Assertions.assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+    Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    Assertions.assertThat(suRepo.findAllByTeacherEntityId(te2.getId())).extracting(SubjectEntity::getId).containsExactlyInAnyOrder(sue.getId(), sue1.getId());
+    Assertions.assertThat(gRepo.findById(otherGe.getId()).get().getTeacherEntity().getId()).isEqualTo(te3.getId());
+    Assertions.assertThat(tRepo.existsById(te.getId())).isFalse();
+  }
+
   @Test
   public void deleteTeacherWithNotExistingNewIdShouldThrowException() {
     //Given
@@ -0,0 +1,141 @@
+package com.krzysztofapp.gradebook.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.krzysztofapp.gradebook.domain.GradeExportFormat;
+import com.krzysztofapp.gradebook.domain.GradeExportRow;
+import com.krzysztofapp.gradebook.persistence.entity.GradeType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+class GradeExportWriterTest {
+
+    private static final int ROWS = 5_000_000;
+
+    private static final long ALLOWED_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    private final ObjectWriter rowWriter = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .writerFor(GradeExportRow.class);
+
+    @Test
+    public void exportingFiveMillionRowsShouldKeepHeapFlat() throws IOException {
+
+        //given
+        CountingOutputStream outputStream = new CountingOutputStream();
+        GradeExportWriter writer = GradeExportWriter.of(GradeExportFormat.CSV, outputStream, rowWriter);
+        long baseline = usedHeapAfterGc();
+        long maxGrowth = 0;
+
+        //when
+        for (int i = 1; i <= ROWS; i++) {
+            writer.write(row(i));
+            if (i % 1_000_000 == 0) {
+                maxGrowth = Math.max(maxGrowth, usedHeapAfterGc() - baseline);
+            }
+        }
+        writer.finish();
+
+        //then
+        Assertions.assertThat(outputStream.getLines()).isEqualTo(ROWS + 1);
+        Assertions.assertThat(maxGrowth).isLessThan(ALLOWED_HEAP_GROWTH);
+    }
+
+    @Test
+    public void csvShouldQuoteCommentsAndLeaveMissingValuesEmpty() throws IOException {
+
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        GradeExportWriter writer = GradeExportWriter.of(GradeExportFormat.CSV, outputStream, rowWriter);
+        GradeExportRow row = row(7);
+        row.setTeacherId(null);
+        row.setComment("Good, but \"late\"");
+
+        //when
+        writer.write(row);
+        writer.finish();
+
+        //then
+        Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,date_of_grade,grade_type,value,weight,student_id,subject_id,teacher_id,comment\n" +
+                "7,2022-09-08,D,3,2.00,7,1,,\"Good, but \"\"late\"\"\"\n");
+    }
+
+    @Test
+    public void emptyCsvExportShouldStillHaveHeader() throws IOException {
+
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        GradeExportWriter writer = GradeExportWriter.of(GradeExportFormat.CSV, outputStream, rowWriter);
+
+        //when
+        writer.finish();
+
+        //then
+        Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8))
+                .isEqualTo("id,date_of_grade,grade_type,value,weight,student_id,subject_id,teacher_id,comment\n");
+    }
+
+    @Test
+    public void ndjsonShouldWriteOneObjectPerLine() throws IOException {
+
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        GradeExportWriter writer = GradeExportWriter.of(GradeExportFormat.NDJSON, outputStream, rowWriter);
+
+        //when
+        writer.write(row(1));
+        writer.write(row(2));
+        writer.finish();
+
+        //then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(lines[0]).contains("\"id\":1", "\"dateOfGrade\":\"2022-09-02\"", "\"gradeType\":\"D\"");
+        Assertions.assertThat(lines[1]).contains("\"id\":2");
+    }
+
+    private GradeExportRow row(long id) {
+        return new GradeExportRow(id, LocalDate.of(2022, 9, 1).plusDays(id % 300), GradeType.D, 3,
+                new BigDecimal("2.00"), id % 1000, 1L, 1L, null);
+    }
+
+    private long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+
+        long getLines() {
+            return lines;
+        }
+    }
+}
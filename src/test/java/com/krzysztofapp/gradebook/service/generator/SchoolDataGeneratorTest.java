@@ -0,0 +1,180 @@
+package com.krzysztofapp.gradebook.service.generator;
+
+import com.krzysztofapp.gradebook.DbCleanUpService;
+import com.krzysztofapp.gradebook.TestEntityCreator;
+import com.krzysztofapp.gradebook.persistence.entity.ClassYearEntity;
+import com.krzysztofapp.gradebook.persistence.entity.GradeEntity;
+import com.krzysztofapp.gradebook.persistence.entity.StudentEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectEntity;
+import com.krzysztofapp.gradebook.persistence.entity.SubjectType;
+import com.krzysztofapp.gradebook.persistence.entity.TeacherEntity;
+import com.krzysztofapp.gradebook.persistence.repo.ClassYearRepo;
+import com.krzysztofapp.gradebook.persistence.repo.GradeRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentRepo;
+import com.krzysztofapp.gradebook.persistence.repo.StudentSubjectAggregateRepo;
+import com.krzysztofapp.gradebook.persistence.repo.TeacherRepo;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.inject.Inject;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@SpringBootTest
+class SchoolDataGeneratorTest extends TestEntityCreator {
+
+    private static final String GRADES_FINGERPRINT = "SELECT COUNT(*), SUM(value), SUM(student_entity_id * value), SUM(subject_entity_id), "
+            + "SUM(DATEDIFF('DAY', DATE '2020-01-01', date_of_grade)), COUNT(comment) FROM GRADE";
+
+    @Inject
+    private SchoolDataGenerator generator;
+
+    @Inject
+    private TeacherRepo tRepo;
+
+    @Inject
+    private ClassYearRepo cyRepo;
+
+    @Inject
+    private StudentRepo stRepo;
+
+    @Inject
+    private GradeRepo gRepo;
+
+    @Inject
+    private StudentSubjectAggregateRepo aggregateRepo;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private DbCleanUpService cleanUpService;
+
+    @AfterEach
+    private void cleanDbBetweenTests() {
+        cleanUpService.resetDatabase();
+    }
+
+    @Test
+    public void generatedSchoolShouldHaveRequestedSizeAndAggregates() {
+
+        //given
+        SchoolDataSpec spec = smallSchool(42);
+
+        //when
+        GeneratedSchool school = generator.generate(spec);
+
+        //then
+        long studentSubjects = school.getClassYearIds().stream()
+                .mapToLong(classYearId -> (long) school.getStudentIds(classYearId).size() * school.getSubjectIds(classYearId).size())
+                .sum();
+        Assertions.assertThat(tRepo.count()).isEqualTo(12);
+        Assertions.assertThat(cyRepo.count()).isEqualTo(6);
+        Assertions.assertThat(stRepo.count()).isEqualTo(120);
+        Assertions.assertThat(gRepo.count()).isEqualTo(school.getGradeCount());
+        Assertions.assertThat(school.getGradeCount()).isBetween(10_000L, 14_000L);
+        Assertions.assertThat(aggregateRepo.count()).isEqualTo(studentSubjects);
+    }
+
+    @Test
+    public void generatedGradesShouldFollowTheGradeRules() {
+
+        //given
+        SchoolDataSpec spec = smallSchool(42);
+
+        //when
+        generator.generate(spec);
+
+        //then
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM GRADE WHERE value IN (1, 6) AND comment IS NULL", Long.class))
+                .isZero();
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM GRADE WHERE value NOT BETWEEN 1 AND 6", Long.class))
+                .isZero();
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT MIN(date_of_grade) FROM GRADE", LocalDate.class))
+                .isAfterOrEqualTo(LocalDate.parse("2022-09-01"));
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT MAX(date_of_grade) FROM GRADE", LocalDate.class))
+                .isBeforeOrEqualTo(LocalDate.parse("2023-06-20"));
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM GRADE g JOIN SUBJECT s ON s.id = g.subject_entity_id "
+                + "JOIN STUDENT st ON st.id = g.student_entity_id WHERE s.class_year_entity_id <> st.class_year_entity_id", Long.class))
+                .isZero();
+    }
+
+    @Test
+    public void sameSeedShouldGenerateSameGrades() {
+
+        //given
+        generator.generate(smallSchool(42));
+        Map<String, Object> first = jdbcTemplate.queryForMap(GRADES_FINGERPRINT);
+        cleanUpService.resetDatabase();
+        generator.generate(smallSchool(42));
+        Map<String, Object> second = jdbcTemplate.queryForMap(GRADES_FINGERPRINT);
+        cleanUpService.resetDatabase();
+
+        //when
+        generator.generate(smallSchool(7));
+        Map<String, Object> otherSeed = jdbcTemplate.queryForMap(GRADES_FINGERPRINT);
+
+        //then
+        Assertions.assertThat(second).isEqualTo(first);
+        Assertions.assertThat(otherSeed).isNotEqualTo(first);
+    }
+
+    @Test
+    public void entitiesSavedAfterGenerationShouldGetNewIds() {
+
+        //given
+        GeneratedSchool school = generator.generate(smallSchool(42));
+        Long classYearId = school.getClassYearIds().get(0);
+        ClassYearEntity cy = cyRepo.findById(classYearId).get();
+        List<Long> lastClassStudentIds = school.getStudentIds(school.getClassYearIds().get(school.getClassYearIds().size() - 1));
+
+        //when
+        TeacherEntity te = saveTestTeacher();
+        StudentEntity ste = saveTestStudent(cy);
+        SubjectEntity sue = saveTestSubject(cy, te);
+        GradeEntity ge = saveTestGrade(te, ste, sue);
+
+        //then
+        Assertions.assertThat(te.getId()).isGreaterThan(school.getTeacherIds().get(school.getTeacherIds().size() - 1));
+        Assertions.assertThat(ste.getId()).isGreaterThan(lastClassStudentIds.get(lastClassStudentIds.size() - 1));
+        Assertions.assertThat(sue.getId()).isGreaterThan(school.getSubjectIds(school.getClassYearIds().get(school.getClassYearIds().size() - 1))
+                .get(SubjectType.MATHEMATICS));
+        Assertions.assertThat(gRepo.count()).isEqualTo(school.getGradeCount() + 1);
+        Assertions.assertThat(ge.getId()).isGreaterThan(school.getGradeCount());
+    }
+
+    @Test
+    public void moreGradesThanSchoolDaysShouldBeRejected() {
+
+        //given
+        SchoolDataSpec spec = smallSchool(42);
+        spec.setGrades(100_000_000L);
+
+        Assertions.assertThatThrownBy(() -> {
+
+                    //when
+                    generator.generate(spec);
+
+                    //then
+                }).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("one per school day and grade type");
+        Assertions.assertThat(tRepo.count()).isZero();
+    }
+
+    private SchoolDataSpec smallSchool(long seed) {
+        SchoolDataSpec spec = new SchoolDataSpec();
+        spec.setSeed(seed);
+        spec.setStudents(120);
+        spec.setTeachers(12);
+        spec.setClassYears(6);
+        spec.setYears(1);
+        spec.setFirstYear(2022);
+        spec.setGrades(12_000);
+        spec.setBatchSize(1000);
+        return spec;
+    }
+}